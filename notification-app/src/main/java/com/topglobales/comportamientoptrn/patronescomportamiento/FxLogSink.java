@@ -0,0 +1,109 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogRingBuffer;
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import javafx.animation.AnimationTimer;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LogSink for the JavaFX UI.
+ * Producers only write into a lock-free ring buffer. Once per FX pulse, an AnimationTimer moves everything
+ * buffered into the ListView in a single update, and trims the view so it keeps only the last maxLines lines.
+ * This replaces one Platform.runLater + appendText per log call, and the ListView only renders visible rows.
+ */
+public class FxLogSink implements LogSink {
+    private final LogRingBuffer buffer;
+    private final ListView<String> view;
+    private final int maxLines;
+    private final StringBuilder partialLine = new StringBuilder(); // Text after the last '\n', FX thread only
+    private final List<String> pendingLines = new ArrayList<>(); // Reused on every pulse, FX thread only
+
+    private final AnimationTimer drainTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drain();
+        }
+    };
+
+    /**
+     * @param view           The ListView that shows the log.
+     * @param maxLines       Max number of lines kept in the view, older lines are discarded.
+     * @param bufferCapacity Max number of entries buffered between two pulses, further entries are dropped and counted.
+     */
+    public FxLogSink(ListView<String> view, int maxLines, int bufferCapacity) {
+        if (maxLines <= 0) {
+            throw new IllegalArgumentException("maxLines must be positive");
+        }
+        this.view = view;
+        this.maxLines = maxLines;
+        this.buffer = new LogRingBuffer(bufferCapacity);
+    }
+
+    @Override
+    public void append(String text) {
+        buffer.offer(text);
+    }
+
+    /**
+     * Starts draining the buffer on every pulse. Must be called on the JavaFX Application Thread.
+     */
+    public void start() {
+        drainTimer.start();
+    }
+
+    /**
+     * Stops draining. Must be called on the JavaFX Application Thread.
+     */
+    public void stop() {
+        drainTimer.stop();
+    }
+
+    // Runs on the JavaFX Application Thread
+    private void drain() {
+        String text;
+        while ((text = buffer.poll()) != null) {
+            splitLines(text);
+        }
+        long dropped = buffer.takeDroppedCount();
+        if (dropped > 0) {
+            pendingLines.add(String.format("... %d log entries dropped, the log is producing faster than the UI can show ...", dropped));
+        }
+        if (pendingLines.isEmpty()) {
+            return;
+        }
+
+        ObservableList<String> items = view.getItems();
+        // Only the last maxLines of this batch can survive anyway
+        int from = Math.max(0, pendingLines.size() - maxLines);
+        items.addAll(pendingLines.subList(from, pendingLines.size()));
+        pendingLines.clear();
+        int excess = items.size() - maxLines;
+        if (excess > 0) {
+            items.remove(0, excess);
+        }
+        view.scrollTo(items.size() - 1);
+    }
+
+    // Cuts the text at line breaks; a trailing piece without '\n' waits for the next append
+    private void splitLines(String text) {
+        int start = 0;
+        int newline;
+        while ((newline = text.indexOf('\n', start)) >= 0) {
+            if (partialLine.isEmpty()) {
+                pendingLines.add(text.substring(start, newline));
+            } else {
+                partialLine.append(text, start, newline);
+                pendingLines.add(partialLine.toString());
+                partialLine.setLength(0);
+            }
+            start = newline + 1;
+        }
+        if (start < text.length()) {
+            partialLine.append(text, start, text.length());
+        }
+    }
+}
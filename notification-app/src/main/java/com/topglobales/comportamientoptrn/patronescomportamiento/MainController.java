@@ -0,0 +1,381 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.metrics.PipelineMetrics;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.*;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.BatchingDispatcher;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.ChannelBatchConfig;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.ChannelQueueConfig;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.ChannelQueueDispatcher;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.CommandJournal;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.HashedWheelTimer;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.NotificationInvoker;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.NotificationScheduler;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.Priority;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.PriorityPolicy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.PublishEventCodec;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.PublishEventCommand;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.RateLimit;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.RateLimiter;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.RetryPolicy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.SendNotificationCodec;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.BlockedUserValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.DuplicateSuppressionValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.MessageNotEmptyValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ProfanityFilterValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ValidationHandler;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.layout.FlowPane;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class MainController {
+
+    @FXML private ListView<User> userListView;
+    @FXML private Label lblUserName;
+    @FXML private Label lblUserEmail;
+    @FXML private Label lblUserPhone;
+    @FXML private ComboBox<NotificationStrategy> cmbStrategies;
+    @FXML private Button btnUpdateStrategy;
+
+    @FXML private TextField txtEventMessage;
+    @FXML private TextField txtDelaySeconds;
+    @FXML private Button btnTriggerSecurity;
+    @FXML private Button btnTriggerProfile;
+    @FXML private Button btnTriggerPromo;
+    @FXML private Button btnTriggerSystem;
+
+    @FXML private ListView<String> lstLogOutput;
+    @FXML private FlowPane metricsPane;
+
+    private static final int INVOKER_QUEUE_CAPACITY = 10_000;
+    private static final int INVOKER_WORKERS = 4;
+    private static final int INVOKER_BATCH_SIZE = 64;
+    private static final int CHANNEL_QUEUE_CAPACITY = 5_000;
+    private static final int LOG_MAX_LINES = 5_000;
+    private static final int LOG_BUFFER_CAPACITY = 65_536;
+    private static final Path JOURNAL_DIRECTORY = Path.of(System.getProperty("user.home"), ".notification-system", "journal");
+    private static final int JOURNAL_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final Duration JOURNAL_SYNC_INTERVAL = Duration.ofMillis(10);
+    private static final Path SCHEDULE_DIRECTORY = Path.of(System.getProperty("user.home"), ".notification-system", "schedule");
+    private static final int SCHEDULE_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final RetryPolicy RETRY_POLICY = new RetryPolicy(5, Duration.ofMillis(200), Duration.ofSeconds(30), 2.0);
+    private static final int CIRCUIT_BREAKER_FAILURES = 5;
+    private static final Duration CIRCUIT_BREAKER_OPEN = Duration.ofSeconds(10);
+    private static final Duration DUPLICATE_WINDOW = Duration.ofMinutes(5);
+    private static final int DUPLICATE_CAPACITY = 1 << 16;
+    private static final Duration DIGEST_INTERVAL = Duration.ofMinutes(1);
+    private static final int DIGEST_MAX_ITEMS = 20;
+    private static final int AUDIT_STREAM_BATCH_SIZE = 16;
+
+    // Event types resolved once, the dispatch path works with their ids
+    private static final EventType SECURITY_ALERT = EventType.of("securityAlert");
+    private static final EventType PROFILE_UPDATE = EventType.of("profileUpdate");
+    private static final EventType PROMOTION = EventType.of("promotion");
+    private static final EventType SYSTEM_UPDATE = EventType.of("systemUpdate");
+
+    // --- Backend System Components ---
+    private FxLogSink logSink; // Every component logs here, the view is refreshed once per pulse
+    private MetricsPanel metricsPanel;
+    private EventManager eventManager;
+    private NotificationInvoker notificationInvoker;
+    private CommandJournal journal; // null if it couldn't be opened
+    private HashedWheelTimer retryTimer;
+    private HashedWheelTimer schedulerTimer;
+    private CommandJournal scheduleJournal; // null if it couldn't be opened
+    private NotificationScheduler scheduler;
+    private Digester digester;
+    private EventStream securityAudit; // Reactive feed of security alerts
+    private final ObservableList<User> users = FXCollections.observableArrayList();
+    private final ObservableList<NotificationStrategy> strategies = FXCollections.observableArrayList();
+
+    @FXML
+    public void initialize() {
+        logSink = new FxLogSink(lstLogOutput, LOG_MAX_LINES, LOG_BUFFER_CAPACITY);
+        logSink.start();
+
+        // Setup Backend Logic (This will now populate 'strategies' list too), simplicity.
+        setupNotificationSystem();
+
+        // Live latency and throughput tiles, fed by the same metrics exported over JMX
+        metricsPanel = new MetricsPanel(metricsPane);
+        metricsPanel.start();
+
+        // Populate UI Controls
+        userListView.setItems(users);
+        // Set ComboBox items after strategies list has been populated by setupNotificationSystem
+        cmbStrategies.setItems(strategies);
+
+        // Setup Listeners
+        userListView.getSelectionModel().selectedItemProperty().addListener(
+                (observable, oldValue, newValue) -> displayUserDetails(newValue)
+        );
+
+        // Initial Log Message
+        log("Notification System Initialized. Select a user.\n");
+    }
+
+    private void setupNotificationSystem() {
+        // --- Create Notification Invoker ---
+        // Queued mode: sends run on the invoker's workers, in batches, instead of on the dispatching thread
+        // Security alerts jump the queue, promotions only get what's left (but always some of it)
+        PriorityPolicy priorities = new PriorityPolicy();
+        priorities.assign(SECURITY_ALERT, Priority.HIGH);
+        priorities.assign(PROMOTION, Priority.LOW);
+        this.notificationInvoker = new NotificationInvoker(logSink, INVOKER_QUEUE_CAPACITY, INVOKER_WORKERS, INVOKER_BATCH_SIZE, priorities);
+        // Flush whatever is still queued when the app closes
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                schedulerTimer.close(); // Scheduled events stay in their journal until the next start
+                digester.close(); // Waiting digests go out with the rest of the queue
+                securityAudit.close();
+                notificationInvoker.shutdown(5, TimeUnit.SECONDS);
+                retryTimer.close(); // Retries still waiting stay pending in the journal
+                if (journal != null) {
+                    journal.close(); // Whatever didn't make it out is replayed on the next start
+                }
+                if (scheduleJournal != null) {
+                    scheduleJournal.close();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                System.err.println("Could not close the command journal: " + e);
+            }
+        }, "notification-invoker-shutdown"));
+        log("NotificationInvoker initialized.\n");
+
+        try {
+            PipelineMetrics.registerMBean();
+            log("Pipeline metrics exported over JMX as " + PipelineMetrics.OBJECT_NAME + "\n");
+        } catch (IllegalStateException e) {
+            log("Pipeline metrics not exported over JMX: " + e.getMessage() + "\n");
+        }
+
+        // --- Create Validation Chain (Chain of Responsibility) ---
+        // Remembers what passes the chain, so it goes last; what's then dropped or fails for good is forgotten again
+        DuplicateSuppressionValidator duplicateSuppression = new DuplicateSuppressionValidator(DUPLICATE_WINDOW, DUPLICATE_CAPACITY);
+        notificationInvoker.setUndeliveredHandler(send ->
+                duplicateSuppression.forget(send.getRecipient(), send.getEventTypeName(), send.getSourceMessage()));
+        ValidationHandler validationChain = new MessageNotEmptyValidator();
+        validationChain.setNext(new ProfanityFilterValidator())
+                .setNext(new BlockedUserValidator()) // Added BlockedUserValidator
+                .setNext(duplicateSuppression);
+
+        // Pass the head of the chain to EventManager
+        eventManager = new EventManager(validationChain);
+        log("EventManager initialized with validation chain.\n");
+
+
+        // --- Create and Populate Strategies first ---
+        NotificationStrategy emailStrategy = new EmailNotification();
+        NotificationStrategy smsStrategy = new SMSNotification();
+        NotificationStrategy pushStrategy = new PushNotification();
+
+        // Add them to the list that the ComboBox will use
+        strategies.addAll(emailStrategy, smsStrategy, pushStrategy);
+
+        // --- Group sends per channel into bulk calls (size- or time-bounded batches) ---
+        BatchingDispatcher dispatcher = new BatchingDispatcher(new ChannelBatchConfig(50, Duration.ofMillis(100)), logSink);
+        dispatcher.configureChannel(emailStrategy, new ChannelBatchConfig(100, Duration.ofMillis(200)));
+        dispatcher.configureChannel(smsStrategy, new ChannelBatchConfig(50, Duration.ofMillis(100)));
+        dispatcher.configureChannel(pushStrategy, new ChannelBatchConfig(500, Duration.ofMillis(50)));
+        notificationInvoker.setDispatcher(dispatcher);
+        log("BatchingDispatcher configured for Email, SMS and Push channels.\n");
+
+        // --- Bounded queue per channel in front of the batches: a slow provider sheds or diverts instead of piling up ---
+        ChannelQueueDispatcher channelQueues = new ChannelQueueDispatcher(
+                new ChannelQueueConfig(CHANNEL_QUEUE_CAPACITY, ChannelQueueConfig.Overload.BLOCK), dispatcher, priorities, logSink);
+        channelQueues.configureChannel(smsStrategy, new ChannelQueueConfig(CHANNEL_QUEUE_CAPACITY, ChannelQueueConfig.Overload.DIVERT, emailStrategy));
+        channelQueues.configureChannel(emailStrategy, new ChannelQueueConfig(CHANNEL_QUEUE_CAPACITY, ChannelQueueConfig.Overload.DROP_LOWEST_PRIORITY));
+        channelQueues.configureChannel(pushStrategy, new ChannelQueueConfig(CHANNEL_QUEUE_CAPACITY, ChannelQueueConfig.Overload.DROP_OLDEST)); // A stale push is worthless
+        notificationInvoker.setChannelQueues(channelQueues);
+        try {
+            channelQueues.registerMBean();
+        } catch (IllegalStateException e) {
+            log("Channel queues not exported over JMX: " + e.getMessage() + "\n");
+        }
+        log("Channel queues: SMS overflows to Email, Email sheds promotions first, Push sheds the oldest.\n");
+
+        // --- Retry failed sends with backoff, and stop calling a channel that keeps failing ---
+        retryTimer = new HashedWheelTimer("notification-retry-timer", Duration.ofMillis(10), 512, logSink);
+        notificationInvoker.setRetryPolicy(RETRY_POLICY, retryTimer);
+        notificationInvoker.setCircuitBreakers(CIRCUIT_BREAKER_FAILURES, CIRCUIT_BREAKER_OPEN);
+        log(String.format("Retries: up to %d attempts; circuit breakers open after %d failures.\n",
+                RETRY_POLICY.maxAttempts(), CIRCUIT_BREAKER_FAILURES));
+
+        // --- Rate limits: promotions are dropped past a few per user, provider quotas hold sends back ---
+        RateLimiter rateLimiter = new RateLimiter();
+        rateLimiter.limitRecipients(PROMOTION, new RateLimit(3, Duration.ofMinutes(1), RateLimit.OverLimit.DROP));
+        rateLimiter.limitRecipients(PROFILE_UPDATE, new RateLimit(10, Duration.ofMinutes(1), RateLimit.OverLimit.DEFER));
+        rateLimiter.limitChannel(smsStrategy, new RateLimit(10, Duration.ofSeconds(1), RateLimit.OverLimit.DEFER));
+        rateLimiter.limitChannel(emailStrategy, new RateLimit(100, Duration.ofSeconds(1), RateLimit.OverLimit.DEFER));
+        notificationInvoker.setRateLimiter(rateLimiter, retryTimer);
+        log(String.format("Rate limits: %s promotions per user, %s SMS.\n",
+                rateLimiter.getRecipientLimit(PROMOTION), rateLimiter.getChannelLimit(smsStrategy)));
+
+        // --- Now Create Users using the created strategies (Example data, hardcoded) ---
+        AdminUser admin = new AdminUser("Alice Admin", "admin@test.com", "555-0101", emailStrategy);
+        ClientUser client1 = new ClientUser("Bob Client", "bob@test.com", "555-0102", smsStrategy);
+        ClientUser client2 = new ClientUser("Charlie Client", "charlie@test.com", "555-0103", pushStrategy);
+        GuestUser guest = new GuestUser("Diana Guest", "guest@test.com", "555-0104", emailStrategy);
+
+        users.addAll(admin, client1, client2, guest);
+
+        // Link users to the log sink and set invoker
+        for (User user : users) {
+            user.setLogTarget(logSink);
+            user.setInvoker(this.notificationInvoker); // Set invoker for each user
+        }
+
+        // --- Journal every send, and replay the ones a previous run didn't finish ---
+        try {
+            journal = new CommandJournal(JOURNAL_DIRECTORY, JOURNAL_SEGMENT_SIZE, JOURNAL_SYNC_INTERVAL, logSink);
+            SendNotificationCodec codec = new SendNotificationCodec(
+                    name -> users.stream().filter(user -> user.getName().equals(name)).findFirst().orElse(null),
+                    channel -> strategies.stream().filter(strategy -> strategy.toString().equals(channel)).findFirst().orElse(null),
+                    logSink);
+            notificationInvoker.setJournal(journal, codec);
+            notificationInvoker.replayJournal();
+        } catch (IOException e) {
+            log("Command journal unavailable, notifications won't survive a crash: " + e + "\n");
+        }
+
+        // --- Delayed events wait on a coarse timing wheel, and are kept on disk until they're published ---
+        schedulerTimer = new HashedWheelTimer("notification-scheduler-timer", Duration.ofMillis(100), 4096, logSink);
+        scheduler = new NotificationScheduler(schedulerTimer, notificationInvoker, logSink);
+        try {
+            scheduleJournal = new CommandJournal(SCHEDULE_DIRECTORY, SCHEDULE_SEGMENT_SIZE, JOURNAL_SYNC_INTERVAL, logSink);
+            scheduler.setJournal(scheduleJournal, new PublishEventCodec(eventManager, logSink));
+            scheduler.recover();
+        } catch (IOException e) {
+            log("Schedule journal unavailable, delayed events won't survive a restart: " + e + "\n");
+        }
+
+        // Example: Set a user as blocked for demonstration (Hardcoded)
+        client2.setBlocked(true); // Charlie Client is now blocked
+        // Log initial status - user.setBlocked() already logs to UI if logTarget is set.
+
+        // Subscribe Users to Events (Example data, hardcoded)
+        eventManager.subscribe(SECURITY_ALERT, admin);
+        eventManager.subscribe(SYSTEM_UPDATE, admin);
+        eventManager.subscribe(PROFILE_UPDATE, client1);
+        eventManager.subscribe(PROMOTION, client1);
+        eventManager.subscribe(PROFILE_UPDATE, client2); // Charlie (blocked) is subscribed
+        digester = new Digester(DIGEST_INTERVAL, DIGEST_MAX_ITEMS, logSink);
+        eventManager.subscribe(PROMOTION, digester.digestFor(guest)); // Guests get promotions as a digest
+        // Audit feed: pulls security alerts in batches on its own thread, a slow consumer only loses its own events
+        securityAudit = eventManager.publisher(SECURITY_ALERT.getName());
+        securityAudit.subscribe(EventStream.batchedSubscriber(event ->
+                log(String.format("--- Audit stream: [%s] %s ---\n", event.eventType(), event.message())), AUDIT_STREAM_BATCH_SIZE, logSink));
+
+        log("Validation chain configured: MessageNotEmptyValidator -> ProfanityFilterValidator -> BlockedUserValidator -> DuplicateSuppressionValidator\n");
+        log("Event-level checks (MessageNotEmpty, ProfanityFilter) run once per event; BlockedUser and DuplicateSuppression run per recipient.\n");
+        log(String.format("Digest mode: %s gets promotions every %d s or every %d promotions.\n",
+                guest.getName(), DIGEST_INTERVAL.toSeconds(), DIGEST_MAX_ITEMS));
+        log(String.format("Audit stream: %s events published with a buffer of %d per subscriber.\n",
+                SECURITY_ALERT.getName(), securityAudit.getBufferCapacity()));
+        log(String.format("Initial status: User %s is %s.\n", client2.getName(), client2.isBlocked() ? "blocked" : "not blocked"));
+    }
+
+    private void displayUserDetails(User user) {
+        if (user != null) {
+            lblUserName.setText(user.getName());
+            lblUserEmail.setText(user.getEmail());
+            lblUserPhone.setText(user.getPhoneNumber());
+            cmbStrategies.setValue(user.getPreferredStrategy());
+            btnUpdateStrategy.setDisable(false);
+            // Could add a display for user.isBlocked() here if someone wants...
+        } else {
+            lblUserName.setText("-");
+            lblUserEmail.setText("-");
+            lblUserPhone.setText("-");
+            cmbStrategies.setValue(null);
+            btnUpdateStrategy.setDisable(true);
+        }
+    }
+
+    @FXML
+    void handleUpdateStrategy(ActionEvent event) {
+        User selectedUser = userListView.getSelectionModel().getSelectedItem();
+        NotificationStrategy selectedStrategy = cmbStrategies.getValue();
+
+        if (selectedUser != null && selectedStrategy != null) {
+            if (selectedUser.getPreferredStrategy() != selectedStrategy) {
+                selectedUser.setPreferredStrategy(selectedStrategy);
+                // Log already handled by setPreferredStrategy
+            } else {
+                log(String.format("User %s already prefers %s. No change made.\n", selectedUser.getName(), selectedStrategy));
+            }
+        } else {
+            log("Please select a user and a notification strategy.\n");
+        }
+    }
+
+    @FXML
+    void handleTriggerEvent(ActionEvent event) {
+        String message = txtEventMessage.getText();
+
+        EventType eventType;
+        Object source = event.getSource();
+
+        if (source == btnTriggerSecurity) eventType = SECURITY_ALERT;
+        else if (source == btnTriggerProfile) eventType = PROFILE_UPDATE;
+        else if (source == btnTriggerPromo) eventType = PROMOTION;
+        else if (source == btnTriggerSystem) eventType = SYSTEM_UPDATE;
+        else { log("Error: Unknown event trigger source.\n"); return; }
+
+        Duration delay = readDelay();
+        if (delay == null) {
+            return;
+        }
+        if (!delay.isZero()) {
+            // Published later through the invoker, like any other command
+            scheduler.schedule(new PublishEventCommand(eventManager, eventType, message, Map.of(), logSink), delay);
+            return;
+        }
+
+        // logSink is passed to EventManager.notify for CoR validators and EventManager itself to log.
+        // User objects (Observers) already have their logTarget set.
+        // NotificationInvoker also uses this logSink.
+        // Dispatch runs on virtual threads so a slow channel never freezes the UI thread.
+        eventManager.notifyAsync(eventType, message, logSink) // Pass raw message
+                .whenComplete((report, error) -> {
+                    if (error != null) {
+                        log("Error while dispatching event: " + error + "\n");
+                    } else {
+                        log("--- " + report + " ---\n\n");
+                    }
+                });
+    }
+
+    // Empty means now; null (after logging why) if it isn't a valid number of seconds
+    private Duration readDelay() {
+        String text = txtDelaySeconds.getText();
+        if (text == null || text.isBlank()) {
+            return Duration.ZERO;
+        }
+        try {
+            long seconds = Long.parseLong(text.strip());
+            if (seconds >= 0) {
+                return Duration.ofSeconds(seconds);
+            }
+        } catch (NumberFormatException e) {
+            // Logged below
+        }
+        log("Delay must be a whole number of seconds, e.g. 30.\n");
+        return null;
+    }
+
+    private void log(String message) {
+        // The sink is thread-safe, so this works from the FX thread and from dispatch callbacks alike.
+        logSink.append(message); // Expecting message to have its own newlines if needed or be part of a sequence.
+    }
+}
\ No newline at end of file
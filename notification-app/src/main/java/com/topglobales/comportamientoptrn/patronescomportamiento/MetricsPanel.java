@@ -0,0 +1,119 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.metrics.LatencyHistogram;
+import com.topglobales.comportamientoptrn.patronescomportamiento.metrics.PipelineMetrics;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.TileBuilder;
+import javafx.animation.AnimationTimer;
+import javafx.scene.layout.Pane;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live view of {@link PipelineMetrics} with TilesFX tiles.
+ * One tile per pipeline stage shows its p99 latency over the last refresh interval, plus tiles for the counters
+ * and for each channel's send latency. Refreshed once per interval from an AnimationTimer, on the FX thread;
+ * reading the histograms never blocks the threads recording into them.
+ */
+public class MetricsPanel {
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double TILE_SIZE = 150;
+
+    private final PipelineMetrics metrics = PipelineMetrics.get();
+    private final Tile[] stageTiles = new Tile[PipelineMetrics.Stage.values().length];
+    private final LatencyHistogram.Snapshot[] previousStages = new LatencyHistogram.Snapshot[stageTiles.length];
+    private final Map<NotificationStrategy, LatencyHistogram.Snapshot> previousChannels = new HashMap<>();
+    private final Tile eventsTile;
+    private final Tile sentTile;
+    private final Tile channelsTile;
+    private long lastRefresh;
+
+    private final AnimationTimer refreshTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (now - lastRefresh >= REFRESH_NANOS) {
+                lastRefresh = now;
+                refresh();
+            }
+        }
+    };
+
+    /**
+     * Creates the tiles and adds them to a container.
+     */
+    public MetricsPanel(Pane container) {
+        for (PipelineMetrics.Stage stage : PipelineMetrics.Stage.values()) {
+            stageTiles[stage.ordinal()] = TileBuilder.create()
+                    .skinType(Tile.SkinType.SPARK_LINE)
+                    .prefSize(TILE_SIZE, TILE_SIZE)
+                    .title(stage.name() + " p99")
+                    .unit("µs")
+                    .decimals(1)
+                    .build();
+            previousStages[stage.ordinal()] = metrics.stage(stage).snapshot();
+            container.getChildren().add(stageTiles[stage.ordinal()]);
+        }
+        eventsTile = TileBuilder.create()
+                .skinType(Tile.SkinType.NUMBER)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Events published")
+                .decimals(0)
+                .build();
+        sentTile = TileBuilder.create()
+                .skinType(Tile.SkinType.NUMBER)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Notifications sent")
+                .decimals(0)
+                .build();
+        channelsTile = TileBuilder.create()
+                .skinType(Tile.SkinType.TEXT)
+                .prefSize(TILE_SIZE * 2, TILE_SIZE)
+                .title("Send p99 per channel")
+                .build();
+        container.getChildren().addAll(eventsTile, sentTile, channelsTile);
+    }
+
+    /**
+     * Starts refreshing. Must be called on the JavaFX Application Thread.
+     */
+    public void start() {
+        refreshTimer.start();
+    }
+
+    /**
+     * Stops refreshing. Must be called on the JavaFX Application Thread.
+     */
+    public void stop() {
+        refreshTimer.stop();
+    }
+
+    // Runs on the JavaFX Application Thread
+    private void refresh() {
+        for (PipelineMetrics.Stage stage : PipelineMetrics.Stage.values()) {
+            LatencyHistogram.Snapshot current = metrics.stage(stage).snapshot();
+            LatencyHistogram.Snapshot window = current.since(previousStages[stage.ordinal()]);
+            previousStages[stage.ordinal()] = current;
+            Tile tile = stageTiles[stage.ordinal()];
+            tile.setValue(window.getValueAtQuantile(0.99) / 1_000.0);
+            tile.setDescription(String.format("p50 %.1f µs, %d/s", window.getValueAtQuantile(0.50) / 1_000.0, window.getCount()));
+        }
+
+        eventsTile.setValue(metrics.getCount(PipelineMetrics.Counter.EVENTS_PUBLISHED));
+        eventsTile.setDescription(String.format("%d rejected", metrics.getCount(PipelineMetrics.Counter.NOTIFICATIONS_REJECTED)));
+        sentTile.setValue(metrics.getCount(PipelineMetrics.Counter.NOTIFICATIONS_SENT));
+        sentTile.setDescription(String.format("%d failed, %d dropped",
+                metrics.getCount(PipelineMetrics.Counter.SENDS_FAILED), metrics.getCount(PipelineMetrics.Counter.NOTIFICATIONS_DROPPED)));
+
+        StringBuilder channels = new StringBuilder();
+        for (Map.Entry<NotificationStrategy, LatencyHistogram> entry : metrics.getChannels().entrySet()) {
+            LatencyHistogram.Snapshot current = entry.getValue().snapshot();
+            LatencyHistogram.Snapshot previous = previousChannels.put(entry.getKey(), current);
+            LatencyHistogram.Snapshot window = previous == null ? current : current.since(previous);
+            channels.append(String.format("%s: %.1f µs (%d)%n", entry.getKey(), window.getValueAtQuantile(0.99) / 1_000.0, window.getCount()));
+        }
+        channelsTile.setDescription(channels.length() == 0 ? "No sends yet" : channels.toString());
+    }
+}
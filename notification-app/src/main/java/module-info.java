@@ -1,4 +1,6 @@
 module com.topglobales.comportamientoptrn.patronescomportamiento {
+    requires com.topglobales.comportamientoptrn.patronescomportamiento.core;
+
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.web;
@@ -10,7 +12,6 @@ module com.topglobales.comportamientoptrn.patronescomportamiento {
     requires org.kordamp.bootstrapfx.core;
     requires eu.hansolo.tilesfx;
     requires com.almasb.fxgl.all;
-    requires static lombok;
 
     opens com.topglobales.comportamientoptrn.patronescomportamiento to javafx.fxml;
     exports com.topglobales.comportamientoptrn.patronescomportamiento;
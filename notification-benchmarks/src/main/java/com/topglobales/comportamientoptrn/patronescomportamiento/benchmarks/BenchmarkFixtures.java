@@ -0,0 +1,110 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.benchmarks;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.NotificationInvoker;
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.AdminUser;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.ClientUser;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EmailNotification;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.GuestUser;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.PushNotification;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.SMSNotification;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared test data for the benchmarks. Everything is deterministic (fixed seeds) so runs are comparable.
+ * Nothing here touches JavaFX: logs go to a sink that discards them.
+ */
+final class BenchmarkFixtures {
+    /** Discards every log line, so the benchmarks measure dispatch and not logging. */
+    static final LogSink DISCARD = text -> { };
+
+    private static final String WORDS = "the quick brown fox jumps over lazy dog system update security alert promotion profile";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * @return A clean message of exactly the given length, built from ordinary words.
+     */
+    static String message(int length, long seed) {
+        Random random = new Random(seed);
+        String[] words = WORDS.split(" ");
+        StringBuilder message = new StringBuilder(length + 16);
+        while (message.length() < length) {
+            message.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        message.setLength(length);
+        return message.toString();
+    }
+
+    /**
+     * @return Random lowercase words of 4 to 10 letters, used as a profanity dictionary.
+     */
+    static List<String> dictionary(int size, long seed) {
+        Random random = new Random(seed);
+        List<String> words = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int length = 4 + random.nextInt(7);
+            StringBuilder word = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * @return A strategy by short name: email, sms or push.
+     */
+    static NotificationStrategy strategy(String channel) {
+        return switch (channel) {
+            case "email" -> new EmailNotification();
+            case "sms" -> new SMSNotification();
+            case "push" -> new PushNotification();
+            default -> throw new IllegalArgumentException("Unknown channel: " + channel);
+        };
+    }
+
+    /**
+     * @return A user by short type name: admin, client or guest.
+     */
+    static User user(String type, int index, NotificationStrategy strategy) {
+        String name = type + "-" + index;
+        String email = name + "@bench.test";
+        String phone = "555-" + index;
+        return switch (type) {
+            case "admin" -> new AdminUser(name, email, phone, strategy);
+            case "client" -> new ClientUser(name, email, phone, strategy);
+            case "guest" -> new GuestUser(name, email, phone, strategy);
+            default -> throw new IllegalArgumentException("Unknown user type: " + type);
+        };
+    }
+
+    /**
+     * Creates users of all three types and channels, with the given share of them blocked.
+     * Every user logs to {@link #DISCARD} and executes its commands through an immediate invoker.
+     */
+    static List<User> users(int count, double blockedRatio, long seed) {
+        Random random = new Random(seed);
+        String[] types = {"admin", "client", "guest"};
+        NotificationStrategy[] strategies = {new EmailNotification(), new SMSNotification(), new PushNotification()};
+        NotificationInvoker invoker = new NotificationInvoker(DISCARD);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = user(types[i % types.length], i, strategies[i % strategies.length]);
+            user.setLogTarget(DISCARD);
+            user.setInvoker(invoker);
+            if (random.nextDouble() < blockedRatio) {
+                user.setBlocked(true);
+            }
+            users.add(user);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,81 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.benchmarks;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.DispatchReport;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventManager;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.BlockedUserValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.MessageNotEmptyValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ProfanityFilterValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ValidationHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full dispatch path: EventManager.notify -> validation chain -> User.update -> formatting -> command -> strategy.
+ * One event is published to {@code fanOut} subscribers, while {@code eventTypes - 1} other types keep the
+ * subscriber registry populated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+    private static final EventType PUBLISHED_TYPE = EventType.of("event-0");
+
+    @Param({"10", "1000", "100000"})
+    public int fanOut;
+
+    @Param({"1", "1000"})
+    public int eventTypes;
+
+    @Param({"32", "512"})
+    public int messageLength;
+
+    @Param({"0.0", "0.1"})
+    public double blockedRatio;
+
+    private EventManager eventManager;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        ValidationHandler chain = new MessageNotEmptyValidator();
+        chain.setNext(new ProfanityFilterValidator()).setNext(new BlockedUserValidator());
+        eventManager = new EventManager(chain);
+
+        List<User> users = BenchmarkFixtures.users(fanOut, blockedRatio, 42);
+        for (User user : users) {
+            eventManager.subscribe(PUBLISHED_TYPE, user);
+        }
+        // Other event types, one subscriber each
+        for (int type = 1; type < eventTypes; type++) {
+            eventManager.subscribe(EventType.of("event-" + type), users.get(type % users.size()));
+        }
+        message = BenchmarkFixtures.message(messageLength, 7);
+    }
+
+    @Benchmark
+    public void notifySync() {
+        eventManager.notify(PUBLISHED_TYPE, message, BenchmarkFixtures.DISCARD);
+    }
+
+    @Benchmark
+    public DispatchReport notifyAsync() {
+        return eventManager.notifyAsync(PUBLISHED_TYPE, message, BenchmarkFixtures.DISCARD).join();
+    }
+}
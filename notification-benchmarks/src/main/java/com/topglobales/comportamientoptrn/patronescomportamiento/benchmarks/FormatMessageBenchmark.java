@@ -0,0 +1,64 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.benchmarks;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EmailNotification;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.RenderedMessage;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User.formatMessage (Template Method) on its own, for each user type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatMessageBenchmark {
+    @Param({"admin", "client", "guest"})
+    public String userType;
+
+    @Param({"32", "512", "4096"})
+    public int messageLength;
+
+    private User user;
+    private String message;
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(userType, 0, new EmailNotification());
+        message = BenchmarkFixtures.message(messageLength, 7);
+    }
+
+    /** Materialized String, as returned by formatMessage(String). */
+    @Benchmark
+    public String formatMessage() {
+        return user.formatMessage(message);
+    }
+
+    /** What the dispatch path does: a view over the cached parts, no concatenation. */
+    @Benchmark
+    public RenderedMessage renderMessage() {
+        return user.renderMessage(message);
+    }
+
+    /** Rendering into a reusable buffer. */
+    @Benchmark
+    public int formatIntoReusableBuffer() {
+        buffer.setLength(0);
+        return user.formatMessage(message, buffer).length();
+    }
+}
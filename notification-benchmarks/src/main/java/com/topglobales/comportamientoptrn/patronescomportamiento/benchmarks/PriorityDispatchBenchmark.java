@@ -0,0 +1,119 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.benchmarks;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.NotificationInvoker;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.Priority;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.PriorityPolicy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.SendNotificationCommand;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a security alert to an admin while a promotion to {@code promotionRecipients} users is being sent
+ * through the same queued invoker: a producer thread keeps the invoker's queue full of promotion sends
+ * (each one burning a little CPU, like a provider call) and every benchmark call sends one alert and waits for it.
+ * With {@code prioritized} the alert goes into the HIGH lane of a PriorityCommandQueue, otherwise it waits in FIFO order
+ * behind up to {@code queueCapacity} promotions. Sample mode, so the percentiles show whether the alert's latency stays flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriorityDispatchBenchmark {
+    private static final EventType SECURITY_ALERT = EventType.of("securityAlert");
+    private static final EventType PROMOTION = EventType.of("promotion");
+
+    @Param({"false", "true"})
+    public boolean prioritized;
+
+    @Param({"1000000"})
+    public int promotionRecipients;
+
+    @Param({"10000"})
+    public int queueCapacity;
+
+    @Param({"500"})
+    public int sendCostTokens;
+
+    private NotificationInvoker invoker;
+    private Thread promotionProducer;
+    private volatile boolean producing;
+    private User admin;
+    private String alertMessage;
+    private volatile CompletableFuture<Void> alertDelivered;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        PriorityPolicy priorities = null;
+        if (prioritized) {
+            priorities = new PriorityPolicy();
+            priorities.assign(SECURITY_ALERT, Priority.HIGH);
+            priorities.assign(PROMOTION, Priority.LOW);
+        }
+        invoker = new NotificationInvoker(BenchmarkFixtures.DISCARD, queueCapacity, 2, 64, priorities);
+
+        NotificationStrategy alertChannel = new NotificationStrategy() {
+            @Override
+            public String send(User user, String message) {
+                alertDelivered.complete(null);
+                return "";
+            }
+        };
+        admin = BenchmarkFixtures.user("admin", 0, alertChannel);
+        alertMessage = admin.renderMessage(BenchmarkFixtures.message(64, 7)).toString();
+
+        NotificationStrategy promotionChannel = new NotificationStrategy() {
+            @Override
+            public String send(User user, String message) {
+                Blackhole.consumeCPU(sendCostTokens);
+                return "";
+            }
+        };
+        User client = BenchmarkFixtures.user("client", 1, promotionChannel);
+        String promotion = client.renderMessage(BenchmarkFixtures.message(64, 11)).toString();
+
+        // Blocks on the full queue, so the promotion is always queued ahead of the alerts
+        producing = true;
+        promotionProducer = new Thread(() -> {
+            for (int i = 0; i < promotionRecipients && producing; i++) {
+                invoker.setCommand(new SendNotificationCommand(client, promotion, promotionChannel, PROMOTION, BenchmarkFixtures.DISCARD));
+            }
+        }, "promotion-producer");
+        promotionProducer.setDaemon(true);
+        promotionProducer.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        producing = false;
+        promotionProducer.join();
+        invoker.shutdown(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public void securityAlertDuringPromotion() {
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        alertDelivered = delivered;
+        invoker.setCommand(new SendNotificationCommand(admin, alertMessage, admin.getPreferredStrategy(), SECURITY_ALERT, BenchmarkFixtures.DISCARD));
+        delivered.join();
+    }
+}
@@ -0,0 +1,62 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.benchmarks;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ProfanityMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProfanityMatcher (Aho-Corasick) against the approach it replaced: lowercase the message,
+ * then one contains() per dictionary word. Messages are clean, the worst case for both (full scan).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfanityBenchmark {
+    @Param({"1", "1000", "10000"})
+    public int dictionarySize;
+
+    @Param({"64", "1024"})
+    public int messageLength;
+
+    private List<String> words;
+    private ProfanityMatcher matcher;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        words = BenchmarkFixtures.dictionary(dictionarySize, 3);
+        matcher = ProfanityMatcher.compile(words, false);
+        message = BenchmarkFixtures.message(messageLength, 7).toUpperCase();
+    }
+
+    @Benchmark
+    public String ahoCorasick() {
+        return matcher.findFirst(message);
+    }
+
+    @Benchmark
+    public String lowercaseContains() {
+        String lowered = message.toLowerCase();
+        for (String word : words) {
+            if (lowered.contains(word)) {
+                return word;
+            }
+        }
+        return null;
+    }
+}
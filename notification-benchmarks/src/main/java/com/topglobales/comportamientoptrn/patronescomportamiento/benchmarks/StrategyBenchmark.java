@@ -0,0 +1,67 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.benchmarks;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.SendNotificationCommand;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationStrategy on its own: one send per notification vs. one sendBatch for the whole group.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+    @Param({"email", "sms", "push"})
+    public String channel;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    @Param({"32", "512"})
+    public int messageLength;
+
+    private NotificationStrategy strategy;
+    private List<SendNotificationCommand> batch;
+
+    @Setup
+    public void setUp() {
+        strategy = BenchmarkFixtures.strategy(channel);
+        String message = BenchmarkFixtures.message(messageLength, 7);
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            User user = BenchmarkFixtures.user("client", i, strategy);
+            batch.add(new SendNotificationCommand(user, user.renderMessage(message), strategy, BenchmarkFixtures.DISCARD));
+        }
+    }
+
+    @Benchmark
+    public void sendEach(Blackhole blackhole) {
+        for (SendNotificationCommand command : batch) {
+            blackhole.consume(strategy.send(command.getRecipient(), command.getMessage().toString()));
+        }
+    }
+
+    @Benchmark
+    public String sendBatch() {
+        return strategy.sendBatch(batch);
+    }
+}
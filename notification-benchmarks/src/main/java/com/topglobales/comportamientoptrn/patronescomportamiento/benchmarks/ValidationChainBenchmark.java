@@ -0,0 +1,91 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.benchmarks;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.AbstractValidationHandler;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.BlockedUserValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.MessageNotEmptyValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.NotificationContext;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ProfanityFilterValidator;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ValidationHandler;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ValidationScope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The AbstractValidationHandler chain on its own, for one recipient per operation.
+ * The chain cycles through MessageNotEmpty -> ProfanityFilter -> BlockedUser until it has {@code chainLength} handlers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationChainBenchmark {
+    private static final List<Supplier<AbstractValidationHandler>> HANDLERS = List.of(
+            MessageNotEmptyValidator::new, ProfanityFilterValidator::new, BlockedUserValidator::new);
+
+    @Param({"1", "3", "9"})
+    public int chainLength;
+
+    @Param({"32", "512"})
+    public int messageLength;
+
+    @Param({"0.0", "0.1"})
+    public double blockedRatio;
+
+    private ValidationHandler chain;
+    private User[] recipients;
+    private String message;
+    private NotificationContext context;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        chain = HANDLERS.get(0).get();
+        ValidationHandler tail = chain;
+        for (int i = 1; i < chainLength; i++) {
+            tail = tail.setNext(HANDLERS.get(i % HANDLERS.size()).get());
+        }
+        recipients = BenchmarkFixtures.users(1024, blockedRatio, 42).toArray(new User[0]);
+        message = BenchmarkFixtures.message(messageLength, 7);
+        context = new NotificationContext("event-0", message, BenchmarkFixtures.DISCARD, null);
+    }
+
+    private User nextRecipient() {
+        User recipient = recipients[next];
+        next = (next + 1) % recipients.length;
+        return recipient;
+    }
+
+    /** Every handler for every recipient (the chain as it ran before scopes existed). */
+    @Benchmark
+    public boolean wholeChain() {
+        return chain.validate(context.reset("event-0", message, BenchmarkFixtures.DISCARD, nextRecipient()));
+    }
+
+    /** Event-level handlers only: what notify pays once per event. */
+    @Benchmark
+    public boolean eventScope() {
+        return chain.validate(context.reset("event-0", message, BenchmarkFixtures.DISCARD, null), ValidationScope.EVENT);
+    }
+
+    /** Recipient-level handlers only: what notify pays per subscriber. */
+    @Benchmark
+    public boolean recipientScope() {
+        return chain.validate(context.reset("event-0", message, BenchmarkFixtures.DISCARD, nextRecipient()), ValidationScope.RECIPIENT);
+    }
+}
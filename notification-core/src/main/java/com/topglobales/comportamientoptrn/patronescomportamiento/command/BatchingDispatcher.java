@@ -0,0 +1,204 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.jfr.ChannelSendEvent;
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.metrics.PipelineMetrics;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.DeliveryResult;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatcher stage between the invoker and the channels.
+ * Pending SendNotificationCommands are grouped by strategy, and each group is sent with one
+ * {@link NotificationStrategy#sendBatch} call when it reaches the channel's max batch size or when its
+ * oldest command has waited the channel's linger time, whichever comes first.
+ * A full batch is sent by the thread that filled it. A lingering batch is sent by its channel's own sender thread,
+ * so a slow provider only delays the batches of its own channel.
+ */
+public class BatchingDispatcher implements AutoCloseable {
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final ChannelBatchConfig defaultConfig;
+    private final Map<NotificationStrategy, ChannelBatchConfig> channelConfigs = new ConcurrentHashMap<>();
+    private final Map<NotificationStrategy, ChannelBatch> batches = new ConcurrentHashMap<>();
+    // One timer for all channels; a task is scheduled per batch window, not per command.
+    // It only takes the expired batch, the bulk call runs on the channel's sender.
+    private final ScheduledExecutorService lingerTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "batching-dispatcher-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LogSink logTarget;
+
+    /**
+     * @param defaultConfig Batching used by channels without their own configuration.
+     * @param logTarget     The LogSink for logging, can be null.
+     */
+    public BatchingDispatcher(ChannelBatchConfig defaultConfig, LogSink logTarget) {
+        this.defaultConfig = Objects.requireNonNull(defaultConfig, "defaultConfig cannot be null");
+        this.logTarget = logTarget;
+    }
+
+    /**
+     * Sets the batching of one channel. Applies to batches started after the call.
+     */
+    public void configureChannel(NotificationStrategy strategy, ChannelBatchConfig config) {
+        channelConfigs.put(Objects.requireNonNull(strategy, "strategy cannot be null"),
+                Objects.requireNonNull(config, "config cannot be null"));
+    }
+
+    /**
+     * Adds a command to the batch of its channel. May send the batch on the caller's thread if it's full.
+     */
+    public void submit(SendNotificationCommand command) {
+        NotificationStrategy strategy = command.getStrategy();
+        ChannelBatch batch = batches.computeIfAbsent(strategy, ChannelBatch::new);
+        List<SendNotificationCommand> full = batch.add(command);
+        if (full != null) {
+            send(strategy, full);
+        }
+    }
+
+    /**
+     * Sends every pending batch now.
+     */
+    public void flush() {
+        for (Map.Entry<NotificationStrategy, ChannelBatch> entry : batches.entrySet()) {
+            List<SendNotificationCommand> pending = entry.getValue().takeAll();
+            if (pending != null) {
+                send(entry.getKey(), pending);
+            }
+        }
+    }
+
+    /**
+     * Stops the linger timer, waits for the lingering batches already being sent and sends what is pending.
+     */
+    @Override
+    public void close() {
+        lingerTimer.shutdownNow();
+        for (ChannelBatch batch : batches.values()) {
+            batch.sender.shutdown();
+        }
+        try {
+            for (ChannelBatch batch : batches.values()) {
+                if (!batch.sender.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log(String.format("--- Dispatcher: %s is still sending a batch, not waiting for it ---", batch.strategy));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void send(NotificationStrategy strategy, List<SendNotificationCommand> commands) {
+        log(String.format(">>> Dispatcher: Sending batch of %d notification(s) via %s...", commands.size(), strategy));
+        ChannelSendEvent send = new ChannelSendEvent();
+        send.begin();
+        long start = System.nanoTime();
+        DeliveryResult result = strategy.deliverBatch(commands);
+        PipelineMetrics.get().recordSend(strategy, start); // One bulk call
+        send.batchSize = commands.size();
+        send.status = result.status().name();
+        if (commands.size() == 1) {
+            SendNotificationCommand command = commands.get(0);
+            send.commitFor(command.getEventTypeName(), command.getRecipient(), strategy);
+        } else {
+            send.commitFor(null, null, strategy); // Recipients and event types may be mixed, one event per bulk call
+        }
+        PipelineMetrics.get().add(result.successful() ? PipelineMetrics.Counter.NOTIFICATIONS_SENT : PipelineMetrics.Counter.SENDS_FAILED, commands.size());
+        if (result.successful()) {
+            log(result.detail());
+        } else {
+            log(String.format("--- Dispatcher: Batch of %d notification(s) via %s failed: %s ---", commands.size(), strategy, result.detail()));
+        }
+        for (SendNotificationCommand command : commands) {
+            command.reportResult(result); // The whole batch shares the outcome
+        }
+    }
+
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n\n");
+        } else {
+            System.out.println(message); // Fallback
+        }
+    }
+
+    // Pending commands of one channel. A "generation" identifies the current batch window,
+    // so a linger task that fires after its batch was already sent does nothing.
+    private final class ChannelBatch {
+        private final NotificationStrategy strategy;
+        // Sends this channel's expired batches, one at a time; its thread is only started by the first one
+        private final ExecutorService sender;
+        private List<SendNotificationCommand> pending = new ArrayList<>();
+        private long generation;
+        private int maxBatchSize;
+
+        private ChannelBatch(NotificationStrategy strategy) {
+            this.strategy = strategy;
+            this.sender = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "batching-dispatcher-" + strategy);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        // Returns the batch to send if this command filled it, null otherwise
+        private synchronized List<SendNotificationCommand> add(SendNotificationCommand command) {
+            if (pending.isEmpty()) {
+                ChannelBatchConfig config = channelConfigs.getOrDefault(strategy, defaultConfig);
+                maxBatchSize = config.maxBatchSize();
+                if (maxBatchSize > 1) {
+                    long window = generation;
+                    lingerTimer.schedule(() -> onLingerExpired(window), config.linger().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            pending.add(command);
+            return pending.size() >= maxBatchSize ? swap() : null;
+        }
+
+        private synchronized List<SendNotificationCommand> takeAll() {
+            return pending.isEmpty() ? null : swap();
+        }
+
+        // Timer thread: only takes the batch, so a slow provider can't hold up the other channels' timers
+        private void onLingerExpired(long window) {
+            List<SendNotificationCommand> expired;
+            synchronized (this) {
+                expired = (window == generation && !pending.isEmpty()) ? swap() : null;
+            }
+            if (expired == null) {
+                return;
+            }
+            try {
+                sender.execute(() -> send(strategy, expired));
+            } catch (RejectedExecutionException e) {
+                send(strategy, expired); // Closing: the sender is gone, the batch still goes out
+            }
+        }
+
+        private List<SendNotificationCommand> swap() {
+            List<SendNotificationCommand> taken = pending;
+            pending = new ArrayList<>(Math.min(taken.size(), 1024));
+            generation++;
+            return taken;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchingDispatcher";
+    }
+}
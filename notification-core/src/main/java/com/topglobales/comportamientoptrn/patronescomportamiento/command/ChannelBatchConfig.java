@@ -0,0 +1,22 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How a channel's notifications are grouped by the {@link BatchingDispatcher}.
+ *
+ * @param maxBatchSize A batch is sent as soon as it has this many notifications.
+ * @param linger       Max time the first notification of a batch waits for others before the batch is sent anyway.
+ */
+public record ChannelBatchConfig(int maxBatchSize, Duration linger) {
+    public ChannelBatchConfig {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        Objects.requireNonNull(linger, "linger cannot be null");
+        if (linger.isNegative()) {
+            throw new IllegalArgumentException("linger cannot be negative");
+        }
+    }
+}
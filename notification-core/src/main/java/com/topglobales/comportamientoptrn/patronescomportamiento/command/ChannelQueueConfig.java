@@ -0,0 +1,47 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+
+import java.util.Objects;
+
+/**
+ * Bound of a channel's queue in the {@link ChannelQueueDispatcher}, and what happens when it's full.
+ *
+ * @param capacity Max number of notifications waiting for the channel.
+ * @param overload What a full queue does with one more notification.
+ * @param fallback Channel that takes the overflow with {@link Overload#DIVERT}, null with any other policy.
+ */
+public record ChannelQueueConfig(int capacity, Overload overload, NotificationStrategy fallback) {
+
+    public enum Overload {
+        /** The producer waits for room: backpressure all the way up to the invoker's queue and its producers. */
+        BLOCK,
+        /** The oldest waiting notification is shed to make room. */
+        DROP_OLDEST,
+        /** The oldest waiting notification of the lowest priority is shed, or the new one if nothing waiting is less urgent. */
+        DROP_LOWEST_PRIORITY,
+        /** The new notification goes to the fallback channel's queue instead, and is shed if that one is full too. */
+        DIVERT
+    }
+
+    public ChannelQueueConfig {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        Objects.requireNonNull(overload, "overload cannot be null");
+        if ((overload == Overload.DIVERT) != (fallback != null)) {
+            throw new IllegalArgumentException("A fallback channel is required with DIVERT, and only with DIVERT");
+        }
+    }
+
+    public ChannelQueueConfig(int capacity, Overload overload) {
+        this(capacity, overload, null);
+    }
+
+    @Override
+    public String toString() {
+        return overload == Overload.DIVERT
+                ? String.format("%d, then %s to %s", capacity, overload, fallback)
+                : String.format("%d, then %s", capacity, overload);
+    }
+}
@@ -0,0 +1,377 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.DeliveryResult;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Dispatcher stage between the invoker and the channels: one bounded queue per channel, drained by the channel's own sender thread.
+ * A slow channel only fills its own queue, and once that is full its {@link ChannelQueueConfig.Overload} policy decides:
+ * block the producer, shed a waiting notification, or divert the new one to a fallback channel.
+ * So a burst degrades predictably instead of piling up until memory runs out, and the other channels keep going.
+ * <p>
+ * A shed notification is reported as {@link DeliveryResult#dropped}, so the invoker completes it in the journal and counts it.
+ * Senders hand what they take to the {@link BatchingDispatcher}, if there is one, or execute it.
+ * Depth, shed and diverted counts per channel are readable here and over JMX ({@link #registerMBean()}).
+ */
+public class ChannelQueueDispatcher implements ChannelQueueDispatcherMXBean, AutoCloseable {
+    public static final String OBJECT_NAME = "com.topglobales.comportamientoptrn.patronescomportamiento:type=ChannelQueues";
+    // Max commands a sender takes per wake-up
+    private static final int DRAIN_BATCH = 64;
+
+    private final ChannelQueueConfig defaultConfig;
+    private final Map<NotificationStrategy, ChannelQueueConfig> channelConfigs = new ConcurrentHashMap<>();
+    private final Map<NotificationStrategy, ChannelQueue> queues = new ConcurrentHashMap<>();
+    private final BatchingDispatcher batching;
+    private final PriorityPolicy priorities;
+    private final LogSink logTarget;
+    private volatile Predicate<SendNotificationCommand> admission; // Set by the invoker: rate limit and circuit breaker of a fallback
+    private volatile boolean closed = false;
+
+    /**
+     * @param defaultConfig Bound and policy of channels without their own configuration.
+     * @param batching      Where senders hand their commands, or null to execute them one by one.
+     * @param priorities    Priorities for {@link ChannelQueueConfig.Overload#DROP_LOWEST_PRIORITY}, or null if all are equal.
+     * @param logTarget     The LogSink for logging, can be null.
+     */
+    public ChannelQueueDispatcher(ChannelQueueConfig defaultConfig, BatchingDispatcher batching, PriorityPolicy priorities, LogSink logTarget) {
+        this.defaultConfig = Objects.requireNonNull(defaultConfig, "defaultConfig cannot be null");
+        this.batching = batching;
+        this.priorities = priorities != null ? priorities : new PriorityPolicy();
+        this.logTarget = logTarget;
+    }
+
+    /**
+     * Sets the bound and policy of one channel. Must be called before the channel's first notification.
+     */
+    public void configureChannel(NotificationStrategy strategy, ChannelQueueConfig config) {
+        channelConfigs.put(Objects.requireNonNull(strategy, "strategy cannot be null"),
+                Objects.requireNonNull(config, "config cannot be null"));
+    }
+
+    // A diverted send has to pass its fallback channel's rate limit and circuit breaker before it's queued there;
+    // when it doesn't, the gate has already dropped, deferred or failed it
+    void setAdmission(Predicate<SendNotificationCommand> admission) {
+        this.admission = admission;
+    }
+
+    /**
+     * Queues a command for its channel. With a full queue, the channel's policy applies:
+     * BLOCK waits here for room, the others return at once.
+     *
+     * @return true if the command was queued (on its channel or its fallback), false if it was shed.
+     * @throws RejectedExecutionException if interrupted while blocked.
+     */
+    public boolean submit(SendNotificationCommand command) {
+        if (closed) {
+            forward(command); // Stragglers after close, e.g. a retry firing: sent on the caller's thread
+            return true;
+        }
+        return queue(command.getStrategy()).offer(command, !command.isDiverted()); // A retry of a diverted send never bounces again
+    }
+
+    /**
+     * @return Number of notifications waiting for a channel.
+     */
+    public int getDepth(NotificationStrategy strategy) {
+        ChannelQueue queue = queues.get(strategy);
+        return queue == null ? 0 : queue.depth();
+    }
+
+    /**
+     * Backpressure signal for producers that would rather slow down than block or be shed.
+     * @return How many more notifications a channel's queue takes before its overload policy applies.
+     */
+    public int getRemainingCapacity(NotificationStrategy strategy) {
+        ChannelQueue queue = queues.get(strategy);
+        return queue == null ? channelConfigs.getOrDefault(strategy, defaultConfig).capacity() : Math.max(0, queue.config.capacity() - queue.depth());
+    }
+
+    /**
+     * @return Number of notifications of a channel shed because its queue was full.
+     */
+    public long getShedCount(NotificationStrategy strategy) {
+        ChannelQueue queue = queues.get(strategy);
+        return queue == null ? 0 : queue.shed.get();
+    }
+
+    /**
+     * @return Number of notifications of a channel diverted to its fallback because its queue was full.
+     */
+    public long getDivertedCount(NotificationStrategy strategy) {
+        ChannelQueue queue = queues.get(strategy);
+        return queue == null ? 0 : queue.diverted.get();
+    }
+
+    /**
+     * Stops the senders once they have sent everything already queued.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (ChannelQueue queue : queues.values()) {
+            queue.close();
+        }
+        for (ChannelQueue queue : queues.values()) {
+            try {
+                queue.sender.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Registers this dispatcher with the platform MBean server. Does nothing if one is already registered.
+     * @throws IllegalStateException if JMX refuses it.
+     */
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already exported
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    // --- ChannelQueueDispatcherMXBean ---
+
+    @Override
+    public Map<String, Integer> getDepths() {
+        Map<String, Integer> values = new LinkedHashMap<>();
+        queues.forEach((channel, queue) -> values.put(channel.toString(), queue.depth()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getShedCounts() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        queues.forEach((channel, queue) -> values.put(channel.toString(), queue.shed.get()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getDivertedCounts() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        queues.forEach((channel, queue) -> values.put(channel.toString(), queue.diverted.get()));
+        return values;
+    }
+
+    private ChannelQueue queue(NotificationStrategy strategy) {
+        ChannelQueue queue = queues.get(strategy); // No lambda allocated on the common path
+        return queue != null ? queue : queues.computeIfAbsent(strategy, ChannelQueue::new);
+    }
+
+    private void forward(SendNotificationCommand command) {
+        try {
+            if (batching != null) {
+                batching.submit(command);
+            } else {
+                command.execute();
+            }
+        } catch (RuntimeException e) {
+            log(String.format("--- ChannelQueues: Command [%s] failed: %s ---", command, e));
+        }
+    }
+
+    private void shed(ChannelQueue queue, SendNotificationCommand command) {
+        queue.shed.incrementAndGet();
+        log(String.format("--- ChannelQueues: Queue of %s full, [%s] shed (%s). ---", queue.strategy, command, queue.config.overload()));
+        command.reportResult(DeliveryResult.dropped("Queue of " + queue.strategy + " full"));
+    }
+
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n");
+        } else {
+            System.out.println(message); // Fallback
+        }
+    }
+
+    private record Entry(SendNotificationCommand command, int priority) {
+    }
+
+    // Bounded FIFO of one channel, with its sender thread. Config is fixed when the queue is created.
+    private final class ChannelQueue {
+        private final NotificationStrategy strategy;
+        private final ChannelQueueConfig config;
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        private final int[] waitingByPriority = new int[Priority.values().length];
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final AtomicLong shed = new AtomicLong();
+        private final AtomicLong diverted = new AtomicLong();
+        private final Thread sender;
+        private boolean stopping; // Lock held
+
+        private ChannelQueue(NotificationStrategy strategy) {
+            this.strategy = strategy;
+            this.config = channelConfigs.getOrDefault(strategy, defaultConfig);
+            this.sender = new Thread(this::runSender, "channel-sender-" + strategy);
+            this.sender.setDaemon(true);
+            this.sender.start();
+        }
+
+        // mayDivert: false for a command already diverted here, which is shed if this queue is full too, so overflow never bounces
+        private boolean offer(SendNotificationCommand command, boolean mayDivert) {
+            int priority = priorities.priorityOf(command).ordinal();
+            SendNotificationCommand victim = null;
+            boolean sendNow = false;
+            lock.lock();
+            try {
+                if (entries.size() >= config.capacity() && !stopping) {
+                    ChannelQueueConfig.Overload overload = mayDivert ? config.overload() : null;
+                    if (overload == ChannelQueueConfig.Overload.BLOCK) {
+                        awaitRoom(command);
+                    } else if (overload == ChannelQueueConfig.Overload.DROP_OLDEST) {
+                        victim = removeOldest(-1);
+                    } else if (overload == ChannelQueueConfig.Overload.DROP_LOWEST_PRIORITY) {
+                        int lowest = lowestWaitingPriority();
+                        // The new one goes if nothing waiting is less urgent
+                        victim = priority >= lowest ? command : removeOldest(lowest);
+                    } else {
+                        victim = command; // DIVERT, or already diverted
+                    }
+                }
+                if (stopping) {
+                    sendNow = true; // Its sender may be gone (nothing is shed while stopping)
+                } else if (victim != command) {
+                    entries.addLast(new Entry(command, priority));
+                    waitingByPriority[priority]++;
+                    notEmpty.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+            // Results are reported outside the lock, the result handler may log or schedule a retry
+            if (sendNow) {
+                forward(command); // Raced with close: sent on the caller's thread
+            }
+            if (victim == null) {
+                return true;
+            }
+            if (victim == command && mayDivert && config.overload() == ChannelQueueConfig.Overload.DIVERT) {
+                diverted.incrementAndGet();
+                SendNotificationCommand divertedCommand = command.divertTo(config.fallback());
+                Predicate<SendNotificationCommand> gate = admission;
+                if (gate != null && !gate.test(divertedCommand)) {
+                    return true; // Over the fallback's rate limit or its breaker is open, the gate has reported it
+                }
+                return queue(config.fallback()).offer(divertedCommand, false);
+            }
+            shed(this, victim);
+            return victim != command;
+        }
+
+        // Lock held
+        private void awaitRoom(SendNotificationCommand command) {
+            try {
+                while (entries.size() >= config.capacity() && !stopping) {
+                    notFull.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for room in the queue of " + strategy + ": " + command, e);
+            }
+        }
+
+        // Lock held. The oldest entry of a priority (ordinal), or of any if -1. Only on the shedding path,
+        // and the scan stops at the first match
+        private SendNotificationCommand removeOldest(int priority) {
+            Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (priority < 0 || entry.priority() == priority) {
+                    iterator.remove();
+                    waitingByPriority[entry.priority()]--;
+                    return entry.command();
+                }
+            }
+            return null;
+        }
+
+        // Lock held, queue not empty
+        private int lowestWaitingPriority() {
+            for (int i = waitingByPriority.length - 1; i > 0; i--) {
+                if (waitingByPriority[i] > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        private int depth() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                stopping = true;
+                notEmpty.signalAll();
+                notFull.signalAll(); // Blocked producers go over the bound, nothing accepted is lost
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Sender loop: take what's waiting (up to DRAIN_BATCH) and send it outside the lock, until stopped and empty
+        private void runSender() {
+            List<SendNotificationCommand> taken = new ArrayList<>(DRAIN_BATCH);
+            while (true) {
+                lock.lock();
+                try {
+                    while (entries.isEmpty()) {
+                        if (stopping) {
+                            return;
+                        }
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    for (int i = 0; i < DRAIN_BATCH && !entries.isEmpty(); i++) {
+                        Entry entry = entries.pollFirst();
+                        waitingByPriority[entry.priority()]--;
+                        taken.add(entry.command());
+                    }
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                for (SendNotificationCommand command : taken) {
+                    forward(command);
+                }
+                taken.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelQueueDispatcher";
+    }
+}
@@ -0,0 +1,16 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import java.util.Map;
+
+/**
+ * JMX view of a {@link ChannelQueueDispatcher}, registered as {@value ChannelQueueDispatcher#OBJECT_NAME}.
+ * Keyed by channel name.
+ */
+public interface ChannelQueueDispatcherMXBean {
+
+    Map<String, Integer> getDepths();
+
+    Map<String, Long> getShedCounts();
+
+    Map<String, Long> getDivertedCounts();
+}
@@ -0,0 +1,116 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker of one channel.
+ * CLOSED: sends go through; after {@code failureThreshold} consecutive failures it opens.
+ * OPEN: sends fail fast without calling the provider, for {@code openDuration}.
+ * HALF_OPEN: one probe send goes through; success closes the breaker, failure opens it again.
+ * The state is one immutable snapshot swapped with CAS, so the success path of a closed breaker is a single read.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // sinceNanos: when it opened (OPEN) or when the probe started (HALF_OPEN)
+    private record Snapshot(State state, int consecutiveFailures, long sinceNanos) {
+    }
+
+    private static final Snapshot CLOSED = new Snapshot(State.CLOSED, 0, 0);
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(CLOSED);
+
+    /**
+     * @param name             Name of the channel, for logs.
+     * @param failureThreshold Consecutive failures that open the breaker.
+     * @param openDuration     How long it stays open before letting a probe through.
+     */
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        if (openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("openDuration must be positive");
+        }
+        this.name = Objects.requireNonNull(name, "name cannot be null");
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Asks to send through the channel.
+     *
+     * @return true if the send may go ahead, false to fail fast.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current.state() == State.CLOSED) {
+                return true;
+            }
+            long now = System.nanoTime();
+            // OPEN long enough, or a probe that never reported back: let one caller probe
+            if (now - current.sinceNanos() < openNanos) {
+                return false;
+            }
+            if (snapshot.compareAndSet(current, new Snapshot(State.HALF_OPEN, current.consecutiveFailures(), now))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reports a successful send: closes the breaker.
+     */
+    public void onSuccess() {
+        if (snapshot.get() != CLOSED) {
+            snapshot.set(CLOSED);
+        }
+    }
+
+    /**
+     * Reports a failed send.
+     *
+     * @return true if this failure opened the breaker.
+     */
+    public boolean onFailure() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            Snapshot next = switch (current.state()) {
+                case OPEN -> current; // Late result of a send started before it opened
+                case HALF_OPEN -> new Snapshot(State.OPEN, current.consecutiveFailures() + 1, System.nanoTime());
+                case CLOSED -> current.consecutiveFailures() + 1 >= failureThreshold
+                        ? new Snapshot(State.OPEN, current.consecutiveFailures() + 1, System.nanoTime())
+                        : new Snapshot(State.CLOSED, current.consecutiveFailures() + 1, 0);
+            };
+            if (next == current || snapshot.compareAndSet(current, next)) {
+                return next != current && next.state() == State.OPEN;
+            }
+        }
+    }
+
+    public State getState() {
+        return snapshot.get().state();
+    }
+
+    /**
+     * @return How long until an open breaker lets a probe through, zero if it isn't open.
+     */
+    public Duration getRemainingOpenTime() {
+        Snapshot current = snapshot.get();
+        if (current.state() != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openNanos - (System.nanoTime() - current.sinceNanos())));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CircuitBreaker[%s, %s]", name, getState());
+    }
+}
@@ -0,0 +1,18 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+/**
+ * Turns commands into the compact binary payloads stored in a {@link CommandJournal}, and back.
+ */
+public interface CommandCodec {
+    /**
+     * @param command The command about to run.
+     * @return Its payload, or null if this kind of command is not journaled.
+     */
+    byte[] encode(Command command);
+
+    /**
+     * @param payload A payload produced by {@link #encode}.
+     * @return The command to run again, or null if it can't be rebuilt any more (e.g. its recipient no longer exists).
+     */
+    Command decode(byte[] payload);
+}
@@ -0,0 +1,451 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only write-ahead journal of commands, stored in memory-mapped segment files.
+ * A command is appended (as an opaque payload, see {@link CommandCodec}) before it runs and marked complete after;
+ * whatever is still pending when the journal is reopened is handed back by {@link #recover()} to be replayed.
+ * <p>
+ * Appends are copies into mapped memory, which the OS keeps even if the process dies. A background thread
+ * group-commits them to disk every {@code syncInterval} with one force() for everything appended since the
+ * previous one, so journaling a command costs microseconds instead of an fsync; a power loss can lose at most
+ * the last interval. The same thread deletes sealed segments once all their commands are complete, and moves
+ * the few still pending out of mostly-finished segments so those can be deleted too. Segments are only deleted
+ * oldest first: a COMPLETE record goes to whichever segment is active when its command finishes, so a newer
+ * segment may hold the only record that an APPEND in an older one is done.
+ * <p>
+ * Record layout: {@code [int length][byte type][long id][payload][int crc32c]}, where length covers type, id and payload.
+ * A zero length marks the end of a segment; a record with a bad checksum (torn write) ends recovery of its segment.
+ */
+public class CommandJournal implements AutoCloseable {
+    private static final byte APPEND = 1;
+    private static final byte COMPLETE = 2;
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Byte.BYTES + Long.BYTES + Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    // A sealed segment is compacted once this share of its commands or less is still pending
+    private static final double COMPACTION_THRESHOLD = 0.1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long syncIntervalNanos;
+    private final LogSink logTarget;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C(); // Guarded by lock
+
+    // Guarded by lock
+    private final TreeMap<Long, Segment> segments = new TreeMap<>(); // By sequence number, the last one is active
+    private final Map<Long, PendingEntry> pending = new LinkedHashMap<>(); // By command id, in append order
+    private List<PendingCommand> recovered; // Pending when the journal was opened, until recover() hands them out
+    private Segment active;
+    private long nextId;
+    private volatile boolean dirty; // Appended since the last force()
+    private volatile boolean closed;
+    private final Thread maintenance;
+
+    // A journal file. Counts are guarded by the journal lock.
+    private static final class Segment {
+        final long sequence;
+        final Path path;
+        final FileChannel channel;
+        MappedByteBuffer buffer; // Null once sealed and released
+        int appended; // APPEND records written
+        int live; // Of those, still pending
+
+        Segment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private record PendingEntry(Segment segment, byte[] payload) {
+    }
+
+    /**
+     * A command found pending on recovery.
+     *
+     * @param id      Journal id, to pass to {@link #complete(long)} once the command has run.
+     * @param payload The serialized command.
+     */
+    public record PendingCommand(long id, byte[] payload) {
+    }
+
+    /**
+     * Opens the journal in a directory, reading every existing segment, and starts the maintenance thread.
+     * Appends always go to a new segment, never after a possibly torn tail.
+     *
+     * @param directory    Directory of the segment files, created if needed.
+     * @param segmentSize  Size in bytes of each segment file.
+     * @param syncInterval Max time between two group commits.
+     * @param logTarget    The LogSink for logging, can be null.
+     * @throws IOException If the directory or a segment can't be read or created.
+     */
+    public CommandJournal(Path directory, int segmentSize, Duration syncInterval, LogSink logTarget) throws IOException {
+        this.directory = Objects.requireNonNull(directory, "directory cannot be null");
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("segmentSize must be at least 4096 bytes");
+        }
+        if (syncInterval.isNegative() || syncInterval.isZero()) {
+            throw new IllegalArgumentException("syncInterval must be positive");
+        }
+        this.segmentSize = segmentSize;
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.logTarget = logTarget;
+
+        Files.createDirectories(directory);
+        long lastSequence = readExistingSegments();
+        recovered = new ArrayList<>(pending.size());
+        pending.forEach((id, entry) -> recovered.add(new PendingCommand(id, entry.payload())));
+        active = openSegment(lastSequence + 1);
+        log(String.format("--- Journal: Opened %s, %d pending command(s) to replay. ---", directory, pending.size()));
+
+        maintenance = new Thread(this::runMaintenance, "command-journal-sync");
+        maintenance.setDaemon(true);
+        maintenance.start();
+    }
+
+    /**
+     * Appends a command before it runs.
+     *
+     * @param payload The serialized command.
+     * @return The id to pass to {@link #complete(long)}.
+     * @throws IllegalArgumentException If the payload doesn't fit in a segment.
+     */
+    public long append(byte[] payload) {
+        Objects.requireNonNull(payload, "payload cannot be null");
+        if (RECORD_OVERHEAD + payload.length > segmentSize - Integer.BYTES) {
+            throw new IllegalArgumentException("Command of " + payload.length + " bytes does not fit in a journal segment");
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            long id = nextId++;
+            writeAppend(id, payload.clone()); // Kept for replay and compaction, must not change under us
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks a command complete: it won't be replayed. Unknown or already completed ids are ignored.
+     *
+     * @throws IllegalStateException If the journal is closed; the command stays pending and is replayed on the next start.
+     */
+    public void complete(long id) {
+        lock.lock();
+        try {
+            ensureOpen();
+            PendingEntry entry = pending.remove(id);
+            if (entry == null) {
+                return;
+            }
+            entry.segment().live--;
+            writeRecord(COMPLETE, id, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands out the commands to replay, once: later calls return an empty list.
+     *
+     * @return The commands that were pending when the journal was opened and are not complete yet, in append order.
+     */
+    public List<PendingCommand> recover() {
+        lock.lock();
+        try {
+            List<PendingCommand> result = new ArrayList<>(recovered.size());
+            for (PendingCommand command : recovered) {
+                if (pending.containsKey(command.id())) {
+                    result.add(command);
+                }
+            }
+            recovered = List.of(); // The payloads are also kept in pending, no need for a second copy
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of appended commands not complete yet.
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk now, instead of waiting for the next group commit.
+     */
+    public void sync() {
+        MappedByteBuffer buffer;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            buffer = active.buffer;
+            dirty = false;
+        } finally {
+            lock.unlock();
+        }
+        buffer.force(); // Outside the lock, appends keep going while the pages are written
+    }
+
+    /**
+     * Forces the journal to disk, stops the maintenance thread and closes the files.
+     * Pending commands stay in the journal for the next start.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            active.buffer.force();
+            closed = true;
+            for (Segment segment : segments.values()) {
+                segment.buffer = null;
+                segment.channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+        LockSupport.unpark(maintenance);
+        try {
+            maintenance.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Group commit and background compaction
+    private void runMaintenance() {
+        long nextCompaction = System.nanoTime();
+        while (!closed) {
+            LockSupport.parkNanos(this, syncIntervalNanos);
+            try {
+                if (dirty) {
+                    sync();
+                }
+                if (System.nanoTime() - nextCompaction >= 0) {
+                    compact();
+                    nextCompaction = System.nanoTime() + 100 * syncIntervalNanos;
+                }
+            } catch (IOException | UncheckedIOException | IllegalStateException e) {
+                if (!closed) {
+                    log("--- Journal: Maintenance failed: " + e + " ---");
+                }
+            }
+        }
+    }
+
+    // Deletes the oldest sealed segments as long as none of their commands is pending; re-appends the few pending
+    // ones of a mostly-finished segment first. Stops at the first segment that must stay: a newer segment may hold
+    // the COMPLETE records of the commands appended to it, so deleting that one would bring them back on recovery.
+    private void compact() throws IOException {
+        List<Segment> obsolete = new ArrayList<>();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            // A copy: moving commands may roll a new segment into the map
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                if (segment == active) {
+                    break;
+                }
+                if (segment.live > 0 && segment.live <= segment.appended * COMPACTION_THRESHOLD) {
+                    moveToActive(segment);
+                }
+                if (segment.live > 0) {
+                    break;
+                }
+                segments.remove(segment.sequence);
+                segment.buffer = null;
+                segment.channel.close();
+                obsolete.add(segment);
+            }
+        } finally {
+            lock.unlock();
+        }
+        // The moved copies must be durable before their originals disappear
+        if (!obsolete.isEmpty()) {
+            sync();
+            for (Segment segment : obsolete) {
+                Files.deleteIfExists(segment.path);
+            }
+        }
+    }
+
+    // Same id, same payload, so recovery sees one command; guarded by lock
+    private void moveToActive(Segment segment) {
+        List<Map.Entry<Long, PendingEntry>> moving = new ArrayList<>(segment.live);
+        for (Map.Entry<Long, PendingEntry> entry : pending.entrySet()) {
+            if (entry.getValue().segment() == segment) {
+                moving.add(entry);
+            }
+        }
+        for (Map.Entry<Long, PendingEntry> entry : moving) {
+            pending.remove(entry.getKey());
+            segment.live--;
+            writeAppend(entry.getKey(), entry.getValue().payload());
+        }
+    }
+
+    // Guarded by lock
+    private void writeAppend(long id, byte[] payload) {
+        Segment target = writeRecord(APPEND, id, payload);
+        target.appended++;
+        target.live++;
+        pending.put(id, new PendingEntry(target, payload));
+    }
+
+    // Writes one record to the active segment, rolling to a new one if it doesn't fit; guarded by lock
+    private Segment writeRecord(byte type, long id, byte[] payload) {
+        int payloadLength = payload == null ? 0 : payload.length;
+        int bodyLength = Byte.BYTES + Long.BYTES + payloadLength;
+        int recordLength = Integer.BYTES + bodyLength + Integer.BYTES;
+        MappedByteBuffer buffer = active.buffer;
+        // Keeps room for the zero length that ends the segment
+        if (buffer.position() + recordLength > segmentSize - Integer.BYTES) {
+            roll();
+            buffer = active.buffer;
+        }
+        int start = buffer.position();
+        buffer.position(start + Integer.BYTES); // Length last: a crash mid-write leaves a zero length
+        buffer.put(type).putLong(id);
+        if (payload != null) {
+            buffer.put(payload);
+        }
+        crc.reset();
+        crc.update(buffer.slice(start + Integer.BYTES, bodyLength));
+        buffer.putInt((int) crc.getValue());
+        buffer.putInt(start, bodyLength);
+        dirty = true;
+        return active;
+    }
+
+    // Seals the active segment and starts the next one; guarded by lock
+    private void roll() {
+        Segment sealed = active;
+        sealed.buffer.force();
+        try {
+            active = openSegment(sealed.sequence + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment", e);
+        }
+        sealed.buffer = null; // Unmapped once collected, recovery reads it from disk if ever needed
+    }
+
+    private Segment openSegment(long sequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        Segment segment = new Segment(sequence, path, channel, buffer);
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    // Replays every segment in order into the pending map; returns the last sequence number, or -1
+    private long readExistingSegments() throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                files.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), path);
+            }
+        }
+        for (Map.Entry<Long, Path> file : files.entrySet()) {
+            FileChannel channel = FileChannel.open(file.getValue(), StandardOpenOption.READ);
+            Segment segment = new Segment(file.getKey(), file.getValue(), channel, null);
+            segments.put(file.getKey(), segment);
+            ByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            readSegment(segment, content);
+        }
+        return files.isEmpty() ? -1 : files.lastKey();
+    }
+
+    private void readSegment(Segment segment, ByteBuffer content) {
+        while (content.remaining() >= RECORD_OVERHEAD) {
+            int start = content.position();
+            int bodyLength = content.getInt();
+            if (bodyLength < Byte.BYTES + Long.BYTES || bodyLength > content.remaining() - Integer.BYTES) {
+                break; // End of segment, or a length that can't be right
+            }
+            crc.reset();
+            crc.update(content.slice(start + Integer.BYTES, bodyLength));
+            byte type = content.get();
+            long id = content.getLong();
+            byte[] payload = new byte[bodyLength - Byte.BYTES - Long.BYTES];
+            content.get(payload);
+            if (content.getInt() != (int) crc.getValue()) {
+                log(String.format("--- Journal: Torn record in %s at offset %d, ignoring the rest of the segment. ---", segment.path.getFileName(), start));
+                break;
+            }
+            nextId = Math.max(nextId, id + 1);
+            if (type == APPEND) {
+                PendingEntry previous = pending.put(id, new PendingEntry(segment, payload));
+                if (previous != null) {
+                    previous.segment().live--; // Moved by compaction, the newest copy wins
+                }
+                segment.appended++;
+                segment.live++;
+            } else if (type == COMPLETE) {
+                PendingEntry entry = pending.remove(id);
+                if (entry != null) {
+                    entry.segment().live--;
+                }
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("CommandJournal is closed");
+        }
+    }
+
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n");
+        } else {
+            System.out.println(message); // Fallback
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CommandJournal " + directory;
+    }
+}
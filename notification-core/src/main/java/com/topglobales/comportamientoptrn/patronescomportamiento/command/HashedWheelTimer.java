@@ -0,0 +1,309 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel: a ring of buckets, each a doubly-linked list of timeouts, advanced by one thread every tick.
+ * A timeout is hashed to the bucket of its deadline and counts the full turns ("rounds") it still has to wait,
+ * so millions of pending timeouts cost one small node each, not a thread or a ScheduledFuture.
+ * <ul>
+ *     <li>schedule: O(1), a lock-free queue hand-off to the wheel thread, which links it into its bucket on the next tick;</li>
+ *     <li>cancel: O(1), a CAS on the timeout, which the wheel thread then unlinks from its bucket;</li>
+ *     <li>expiry: a tick only visits one bucket.</li>
+ * </ul>
+ * Precision is one tick. Tasks run on the wheel thread, so they must be short: hand real work to another thread or queue.
+ */
+public class HashedWheelTimer implements AutoCloseable {
+    // Max new timeouts moved into the wheel per tick, so a flood of schedules can't stall expiry
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Entry> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final long startNanos;
+    private final Thread worker;
+    private final LogSink logTarget;
+    private volatile boolean stopped = false;
+    private long tick; // Wheel thread only
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public interface Timeout {
+        /**
+         * Cancels the task if it hasn't run yet. O(1).
+         *
+         * @return true if this call cancelled it.
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    /**
+     * Creates the wheel and starts its thread.
+     *
+     * @param name          Name of the wheel thread.
+     * @param tickDuration  Duration of a tick, the precision of the timer.
+     * @param ticksPerWheel Number of buckets, rounded up to a power of two.
+     * @param logTarget     The LogSink for logging failing tasks, can be null.
+     */
+    public HashedWheelTimer(String name, Duration tickDuration, int ticksPerWheel, LogSink logTarget) {
+        Objects.requireNonNull(name, "name cannot be null");
+        if (tickDuration.toNanos() < TimeUnit.MILLISECONDS.toNanos(1)) {
+            throw new IllegalArgumentException("tickDuration must be at least 1ms");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30");
+        }
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.logTarget = logTarget;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Runs a task once after a delay. O(1), callable from any thread.
+     *
+     * @throws RejectedExecutionException if the timer is stopped.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task cannot be null");
+        if (stopped) {
+            throw new RejectedExecutionException("HashedWheelTimer is stopped");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Entry entry = new Entry(this, task, deadline);
+        pending.incrementAndGet();
+        added.add(entry);
+        return entry;
+    }
+
+    /**
+     * Runs a task once after a delay. O(1), callable from any thread.
+     *
+     * @throws RejectedExecutionException if the timer is stopped.
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        return schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return Number of tasks scheduled that have neither run nor been cancelled.
+     */
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the wheel thread. Tasks not run yet are dropped.
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        LockSupport.unpark(worker);
+        if (Thread.currentThread() != worker) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            long now = waitForNextTick();
+            if (stopped) {
+                break;
+            }
+            removeCancelled();
+            transferAdded();
+            wheel[(int) (tick & mask)].expire(now, this);
+            tick++;
+        }
+    }
+
+    // Sleeps until the end of the current tick; returns the time elapsed since the start
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (!stopped) {
+            long now = System.nanoTime() - startNanos;
+            long sleep = deadline - now;
+            if (sleep <= 0) {
+                return now;
+            }
+            LockSupport.parkNanos(this, sleep);
+        }
+        return deadline;
+    }
+
+    private void transferAdded() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Entry entry = added.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.state != Entry.PENDING) {
+                continue; // Cancelled before it reached the wheel
+            }
+            long ticks = entry.deadline / tickNanos;
+            entry.remainingRounds = (ticks - tick) / wheel.length;
+            // Already late: the current bucket, so it runs on this tick
+            long target = Math.max(ticks, tick);
+            wheel[(int) (target & mask)].add(entry);
+        }
+    }
+
+    private void removeCancelled() {
+        Entry entry;
+        while ((entry = cancelled.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    private void runTask(Entry entry) {
+        try {
+            entry.task.run();
+        } catch (RuntimeException e) {
+            String message = "--- Timer: Scheduled task failed: " + e + " ---";
+            if (logTarget != null) {
+                logTarget.append(message + "\n");
+            } else {
+                System.out.println(message); // Fallback
+            }
+        }
+    }
+
+    private static final class Entry implements Timeout {
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Entry> STATE = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        final HashedWheelTimer timer;
+        final Runnable task;
+        final long deadline; // Nanos since the timer started
+        volatile int state = PENDING;
+        // Wheel thread only
+        long remainingRounds;
+        Bucket bucket;
+        Entry previous;
+        Entry next;
+
+        Entry(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            timer.cancelled.add(this); // Unlinked by the wheel thread, buckets are never touched concurrently
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        boolean expire() {
+            if (!STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            return true;
+        }
+    }
+
+    // Doubly-linked list of entries, wheel thread only
+    private static final class Bucket {
+        private Entry head;
+        private Entry tail;
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            if (head == null) {
+                head = tail = entry;
+            } else {
+                tail.next = entry;
+                entry.previous = tail;
+                tail = entry;
+            }
+        }
+
+        void remove(Entry entry) {
+            Entry next = entry.next;
+            if (entry.previous != null) {
+                entry.previous.next = next;
+            }
+            if (next != null) {
+                next.previous = entry.previous;
+            }
+            if (entry == head) {
+                head = next;
+            }
+            if (entry == tail) {
+                tail = entry.previous;
+            }
+            entry.previous = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        // Runs the entries due on this turn, the others wait one more round
+        void expire(long now, HashedWheelTimer timer) {
+            Entry entry = head;
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.remainingRounds <= 0 && entry.deadline <= now) {
+                    remove(entry);
+                    if (entry.expire()) { // Fails if it was cancelled meanwhile
+                        timer.runTask(entry);
+                    }
+                } else if (entry.remainingRounds > 0) {
+                    entry.remainingRounds--;
+                }
+                entry = next;
+            }
+        }
+    }
+}
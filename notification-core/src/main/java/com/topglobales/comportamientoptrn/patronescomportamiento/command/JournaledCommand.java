@@ -0,0 +1,30 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+/**
+ * Decorator: runs a command, then reports it complete to the journal.
+ * Not reported if the command throws, so it will be replayed.
+ */
+final class JournaledCommand implements Command {
+    private final Command command;
+    private final Runnable onCompleted;
+
+    JournaledCommand(Command command, Runnable onCompleted) {
+        this.command = command;
+        this.onCompleted = onCompleted;
+    }
+
+    @Override
+    public void execute() {
+        command.execute();
+        onCompleted.run();
+    }
+
+    Command getCommand() {
+        return command;
+    }
+
+    @Override
+    public String toString() {
+        return command.toString();
+    }
+}
@@ -0,0 +1,635 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.jfr.CommandExecutedEvent;
+import com.topglobales.comportamientoptrn.patronescomportamiento.jfr.CommandQueuedEvent;
+import com.topglobales.comportamientoptrn.patronescomportamiento.jfr.PipelineEvent;
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.metrics.PipelineMetrics;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.DeliveryResult;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Invoker: Responsible for executing commands.
+ * Works in one of two modes:
+ * - Immediate (no worker pool): every command is executed right away on the caller's thread.
+ * - Queued: commands go into a bounded queue that any thread can feed, and a pool of worker threads
+ *   drains it in batches of up to {@code maxBatchSize} commands per wake-up.
+ *   With a {@link PriorityPolicy} the queue has one lane per priority class, so urgent event types never
+ *   wait behind bulk ones (see {@link PriorityCommandQueue}).
+ * Failed sends can be retried with backoff ({@link #setRetryPolicy}), and each channel can get a
+ * circuit breaker that fails fast while its provider is down ({@link #setCircuitBreakers}).
+ * Sends over a rate limit are dropped or held back until they fit ({@link #setRateLimiter}).
+ * Each channel can get its own bounded queue and sender, with a policy for when it's full ({@link #setChannelQueues}).
+ */
+public class NotificationInvoker {
+    // How long an idle worker waits before re-checking whether the invoker is shutting down
+    private static final long IDLE_POLL_MILLIS = 50;
+    // How long a retry (or deferred send) that found the queue full waits on its timer before trying again
+    private static final long QUEUE_FULL_RETRY_MILLIS = 100;
+
+    private final BlockingQueue<Command> commandQueue; // null in immediate mode
+    private final Thread[] workers;
+    private final int maxBatchSize;
+    private volatile boolean shuttingDown = false;
+    private final LogSink logTarget; // For logging invoker actions
+    private volatile BatchingDispatcher dispatcher; // Optional, groups SendNotificationCommands per channel
+    private volatile ChannelQueueDispatcher channelQueues; // Optional, bounded queue per channel in front of the above
+    private volatile CommandJournal journal; // Optional, records commands before they run
+    private volatile CommandCodec codec;
+    private volatile RetryPolicy retryPolicy; // Optional, with the timer below
+    private volatile HashedWheelTimer retryTimer;
+    private final Map<NotificationStrategy, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private volatile int breakerFailureThreshold; // 0: no circuit breakers
+    private volatile Duration breakerOpenDuration;
+    private volatile RateLimiter rateLimiter; // Optional, with the timer deferred sends wait on
+    private volatile HashedWheelTimer rateLimitTimer;
+    private volatile Consumer<SendNotificationCommand> undeliveredHandler; // Optional, told about sends that won't go out
+
+    /**
+     * Creates an invoker in immediate mode.
+     * @param logTarget The LogSink for logging, can be null.
+     */
+    public NotificationInvoker(LogSink logTarget) {
+        this.logTarget = logTarget;
+        this.commandQueue = null;
+        this.workers = new Thread[0];
+        this.maxBatchSize = 1;
+    }
+
+    /**
+     * Creates an invoker in queued mode and starts its workers.
+     * @param logTarget     The LogSink for logging, can be null.
+     * @param queueCapacity Max number of pending commands. Producers block when the queue is full.
+     * @param workerCount   Number of consumer threads.
+     * @param maxBatchSize  Max number of commands a worker takes from the queue per wake-up.
+     */
+    public NotificationInvoker(LogSink logTarget, int queueCapacity, int workerCount, int maxBatchSize) {
+        this(logTarget, queueCapacity, workerCount, maxBatchSize, null);
+    }
+
+    /**
+     * Creates an invoker in queued mode with priority classes, and starts its workers.
+     * Commands are queued in a {@link PriorityCommandQueue}: one lane per priority, served by weighted fair share.
+     * @param logTarget     The LogSink for logging, can be null.
+     * @param queueCapacity Max number of pending commands per priority. Producers block when their priority's lane is full.
+     * @param workerCount   Number of consumer threads.
+     * @param maxBatchSize  Max number of commands a worker takes from the queue per wake-up.
+     * @param priorities    Priority of each event type, or null for a single FIFO queue.
+     */
+    public NotificationInvoker(LogSink logTarget, int queueCapacity, int workerCount, int maxBatchSize, PriorityPolicy priorities) {
+        if (queueCapacity <= 0 || workerCount <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("queueCapacity, workerCount and maxBatchSize must be positive");
+        }
+        this.logTarget = logTarget;
+        this.commandQueue = priorities == null ? new ArrayBlockingQueue<>(queueCapacity) : new PriorityCommandQueue(priorities, queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Thread(this::runWorker, "notification-invoker-" + i);
+            workers[i].setDaemon(true); // Never keeps the app alive, shutdown() is the way to flush
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Receives a command and executes it (immediate mode) or queues it for the workers (queued mode).
+     * @param command The command to be executed.
+     * @throws RejectedExecutionException if the invoker has been shut down.
+     */
+    public void setCommand(Command command) {
+        if (commandQueue == null) {
+            String invokerLog = String.format("--- Invoker: Received command [%s]. Executing immediately. ---", command.toString());
+            log(invokerLog);
+            run(journaled(command));
+        } else {
+            addCommandToQueue(command);
+        }
+    }
+
+    /**
+     * Adds a command to the queue, waiting for space if the queue is full (backpressure on the producer).
+     * In immediate mode there is no queue, so the command is executed right away.
+     * @param command The command to be queued.
+     * @throws RejectedExecutionException if the invoker has been shut down.
+     */
+    public void addCommandToQueue(Command command) {
+        if (shuttingDown) {
+            throw new RejectedExecutionException("NotificationInvoker is shut down, command rejected: " + command);
+        }
+        if (commandQueue == null) {
+            setCommand(command);
+            return;
+        }
+        enqueue(journaled(command), true);
+    }
+
+    /**
+     * Like {@link #addCommandToQueue}, but never waits: if the queue is full the command is not taken.
+     * For threads that must not block, e.g. a timer's. In immediate mode the command is executed right away.
+     * @param command The command to be queued.
+     * @return true if the command was taken, false if the queue is full.
+     * @throws RejectedExecutionException if the invoker has been shut down.
+     */
+    public boolean offerCommand(Command command) {
+        if (shuttingDown) {
+            throw new RejectedExecutionException("NotificationInvoker is shut down, command rejected: " + command);
+        }
+        if (commandQueue == null) {
+            setCommand(command);
+            return true;
+        }
+        CommandJournal current = journal;
+        long id = append(current, command);
+        if (!enqueue(track(command, current, id), false)) {
+            complete(current, id); // Not taken, the caller still has it: don't replay it on the next start
+            return false;
+        }
+        return true;
+    }
+
+    // false only if wait is false and the queue is full
+    private boolean enqueue(Command command, boolean wait) {
+        CommandQueuedEvent queued = new CommandQueuedEvent(); // Flight Recorder, a no-op unless recording
+        queued.begin();
+        if (wait) {
+            try {
+                commandQueue.put(command);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while queueing command: " + command, e);
+            }
+        } else if (!commandQueue.offer(command)) {
+            return false;
+        }
+        if (queued.shouldCommit()) {
+            queued.command = command.getClass().getSimpleName();
+            queued.queueSize = commandQueue.size();
+            commitFor(queued, command);
+        }
+        log("--- Invoker: Added command to queue: " + command + ". Queue size: " + commandQueue.size() + " ---");
+        return true;
+    }
+
+    /**
+     * Executes every pending command on the caller's thread, in batches.
+     * Useful to flush the queue without waiting for the workers.
+     */
+    public void executeQueue() {
+        if (commandQueue == null) {
+            return;
+        }
+        log("--- Invoker: Executing command queue. Size: " + commandQueue.size() + " ---");
+        List<Command> batch = new ArrayList<>(maxBatchSize);
+        while (commandQueue.drainTo(batch, maxBatchSize) > 0) {
+            executeBatch(batch);
+            batch.clear();
+        }
+        log("--- Invoker: Command queue executed and cleared. ---");
+    }
+
+    /**
+     * Stops accepting commands and waits until the workers have executed everything already queued.
+     * @param timeout Max time to wait.
+     * @param unit    Unit of the timeout.
+     * @return true if the queue was fully flushed and all workers stopped in time.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        shuttingDown = true;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        executeQueue(); // Commands that raced with the shutdown flag after the workers left
+        ChannelQueueDispatcher queues = channelQueues;
+        if (queues != null) {
+            queues.close(); // Waits for each channel's sender to send what it has queued
+        }
+        BatchingDispatcher batching = dispatcher;
+        if (batching != null) {
+            batching.flush(); // Batches still lingering
+        }
+        log("--- Invoker: Shut down, all pending commands executed. ---");
+        return true;
+    }
+
+    /**
+     * Routes SendNotificationCommands through a dispatcher that sends them in per-channel batches
+     * instead of executing them one by one. Other commands are still executed directly.
+     * @param dispatcher The dispatcher, or null to execute every command directly.
+     */
+    public void setDispatcher(BatchingDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Hands SendNotificationCommands to a bounded queue per channel, each sent by the channel's own thread,
+     * so a slow channel sheds or pushes back according to its overload policy instead of holding up the workers.
+     * Takes precedence over {@link #setDispatcher}: the queues pass commands on to their own BatchingDispatcher, if any.
+     * Closed by {@link #shutdown}.
+     * @param channelQueues The channel queues, or null to send from the workers.
+     */
+    public void setChannelQueues(ChannelQueueDispatcher channelQueues) {
+        if (channelQueues != null) {
+            channelQueues.setAdmission(this::admit); // A diverted send is checked against its fallback channel's limits
+        }
+        this.channelQueues = channelQueues;
+    }
+
+    /**
+     * Tells a handler about every SendNotificationCommand that won't go out: dropped (rate limit, full channel queue),
+     * failed without a retry policy, or given up on. Called once per command, on the thread that decided it.
+     * E.g. to forget it in a {@code DuplicateSuppressionValidator}, so its real repeat isn't suppressed.
+     * @param handler The handler, or null for none.
+     */
+    public void setUndeliveredHandler(Consumer<SendNotificationCommand> handler) {
+        this.undeliveredHandler = handler;
+    }
+
+    /**
+     * Journals every command before it runs and marks it complete once it has run (or, for a batched
+     * SendNotificationCommand, once its batch has been sent), so unfinished commands can be replayed after a crash.
+     * Commands the codec doesn't encode are not journaled.
+     * @param journal The journal, or null to stop journaling.
+     * @param codec   Serializes commands for the journal.
+     */
+    public void setJournal(CommandJournal journal, CommandCodec codec) {
+        if (journal != null) {
+            Objects.requireNonNull(codec, "codec cannot be null");
+        }
+        this.codec = codec;
+        this.journal = journal;
+    }
+
+    /**
+     * Retries failed SendNotificationCommands: each failure is rescheduled on the timer after the policy's backoff,
+     * until it succeeds or runs out of attempts. A command that gives up is marked complete in the journal.
+     * Without a policy a failed command is not retried, and stays pending in the journal until the next start.
+     * @param policy The retry policy, or null to stop retrying.
+     * @param timer  Timer the retries wait on. Not closed by the invoker.
+     */
+    public void setRetryPolicy(RetryPolicy policy, HashedWheelTimer timer) {
+        if (policy != null) {
+            Objects.requireNonNull(timer, "timer cannot be null");
+        }
+        this.retryTimer = timer;
+        this.retryPolicy = policy;
+    }
+
+    /**
+     * Gives every channel a circuit breaker: after {@code failureThreshold} consecutive failed sends the channel
+     * isn't called for {@code openDuration}, its commands fail fast (and are retried once it has recovered).
+     * @param failureThreshold Consecutive failures that open a breaker, or 0 to disable circuit breakers.
+     * @param openDuration     How long an open breaker fails fast before letting a probe through.
+     */
+    public void setCircuitBreakers(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 0) {
+            throw new IllegalArgumentException("failureThreshold cannot be negative");
+        }
+        if (failureThreshold > 0) {
+            Objects.requireNonNull(openDuration, "openDuration cannot be null");
+        }
+        circuitBreakers.clear();
+        this.breakerOpenDuration = openDuration;
+        this.breakerFailureThreshold = failureThreshold;
+    }
+
+    /**
+     * @return The circuit breaker of a channel, or null if circuit breakers are disabled.
+     */
+    public CircuitBreaker getCircuitBreaker(NotificationStrategy strategy) {
+        int threshold = breakerFailureThreshold;
+        if (threshold == 0) {
+            return null;
+        }
+        return circuitBreakers.computeIfAbsent(strategy,
+                channel -> new CircuitBreaker(channel.toString(), threshold, breakerOpenDuration));
+    }
+
+    /**
+     * Checks every SendNotificationCommand against per-recipient and per-channel rate limits before it's sent.
+     * Over a DROP limit the command is reported dropped (and completed in the journal);
+     * over a DEFER limit it waits on the timer until the bucket has a token for it, then is checked again.
+     * @param limiter The rate limiter, or null to stop limiting.
+     * @param timer   Timer deferred commands wait on. Not closed by the invoker.
+     */
+    public void setRateLimiter(RateLimiter limiter, HashedWheelTimer timer) {
+        if (limiter != null) {
+            Objects.requireNonNull(timer, "timer cannot be null");
+        }
+        this.rateLimitTimer = timer;
+        this.rateLimiter = limiter;
+    }
+
+    /**
+     * Runs (or queues) again every command the journal found unfinished when it was opened.
+     * Call once at startup, after {@link #setJournal}. Commands that can't be rebuilt are marked complete and skipped.
+     * @return Number of commands replayed.
+     */
+    public int replayJournal() {
+        CommandJournal current = journal;
+        if (current == null) {
+            return 0;
+        }
+        int replayed = 0;
+        for (CommandJournal.PendingCommand pending : current.recover()) {
+            Command command = codec.decode(pending.payload());
+            if (command == null) {
+                log("--- Invoker: Journaled command " + pending.id() + " can't be rebuilt, skipped. ---");
+                current.complete(pending.id());
+                continue;
+            }
+            Command tracked = track(command, current, pending.id());
+            if (commandQueue == null) {
+                run(tracked);
+            } else {
+                enqueue(tracked, true);
+            }
+            replayed++;
+        }
+        log("--- Invoker: Replayed " + replayed + " journaled command(s). ---");
+        return replayed;
+    }
+
+    /**
+     * @return Number of commands waiting in the queue (always 0 in immediate mode).
+     */
+    public int getPendingCount() {
+        return commandQueue == null ? 0 : commandQueue.size();
+    }
+
+    // Worker loop: wait for one command, then take whatever else is ready (up to maxBatchSize) in the same wake-up.
+    // Keeps running after shutdown() until the queue is empty, so nothing accepted is lost.
+    private void runWorker() {
+        List<Command> batch = new ArrayList<>(maxBatchSize);
+        while (!shuttingDown || !commandQueue.isEmpty()) {
+            Command first;
+            try {
+                first = commandQueue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            commandQueue.drainTo(batch, maxBatchSize - 1);
+            executeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Executes a batch of commands taken from the queue.
+     * A failing command is logged and does not prevent the rest of the batch from running.
+     * @param batch The commands, in queue order.
+     */
+    protected void executeBatch(List<Command> batch) {
+        for (Command command : batch) {
+            try {
+                run(command);
+            } catch (RuntimeException e) {
+                log(String.format("--- Invoker: Command [%s] failed: %s ---", command, e));
+            }
+        }
+    }
+
+    // Appends the command to the journal, if any, and arranges for its outcome to be handled after it runs
+    private Command journaled(Command command) {
+        CommandJournal current = journal;
+        return track(command, current, append(current, command));
+    }
+
+    // -1 if there's no journal or the codec doesn't encode the command
+    private long append(CommandJournal journal, Command command) {
+        if (journal == null) {
+            return -1;
+        }
+        byte[] payload = codec.encode(command);
+        return payload == null ? -1 : journal.append(payload);
+    }
+
+    // id is -1 for a command that isn't journaled
+    private Command track(Command command, CommandJournal journal, long id) {
+        if (command instanceof SendNotificationCommand send) {
+            send.onResult((attempt, result) -> onResult(attempt, result, journal, id)); // Stays a SendNotificationCommand, so it can still be batched
+            return send;
+        }
+        return id < 0 ? command : new JournaledCommand(command, () -> complete(journal, id));
+    }
+
+    private void run(Command command) {
+        CommandExecutedEvent executed = new CommandExecutedEvent();
+        executed.begin();
+        int attempt = command instanceof SendNotificationCommand send ? send.getAttempts() : 0; // Before it's reported
+        try {
+            dispatch(command);
+        } finally {
+            if (executed.shouldCommit()) {
+                executed.command = command.getClass().getSimpleName();
+                executed.attempt = attempt;
+                commitFor(executed, command);
+            }
+        }
+    }
+
+    // Rate limit, circuit breaker and batching for sends; anything else just runs
+    private void dispatch(Command command) {
+        if (command instanceof SendNotificationCommand send) {
+            if (send.getAttempts() == 0) {
+                PipelineMetrics.get().recordQueue(send.getEventType(), send.getCreatedNanos()); // Retries would count their backoff
+            }
+            if (!admit(send)) {
+                return;
+            }
+            ChannelQueueDispatcher queues = channelQueues;
+            if (queues != null) {
+                queues.submit(send);
+                return;
+            }
+            BatchingDispatcher batching = dispatcher;
+            if (batching != null) {
+                batching.submit(send);
+                return;
+            }
+        }
+        command.execute();
+    }
+
+    // Rate limit and circuit breaker of the command's channel. Also asked by the channel queues for a diverted send,
+    // which then goes to the fallback channel. false if the command has been dropped, deferred or failed fast
+    private boolean admit(SendNotificationCommand send) {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null && !withinRateLimit(send, limiter)) {
+            return false;
+        }
+        CircuitBreaker breaker = getCircuitBreaker(send.getStrategy());
+        if (breaker != null && !breaker.tryAcquire()) {
+            send.reportResult(DeliveryResult.rejectedByCircuitBreaker(send.getStrategy().toString()));
+            return false;
+        }
+        return true;
+    }
+
+    // false if the command is over a rate limit, then it has been dropped or deferred
+    private boolean withinRateLimit(SendNotificationCommand command, RateLimiter limiter) {
+        long verdict = limiter.acquire(command);
+        if (verdict == RateLimiter.ALLOWED) {
+            return true;
+        }
+        if (verdict == RateLimiter.DROPPED) {
+            command.reportResult(DeliveryResult.dropped("Rate limit exceeded"));
+            return false;
+        }
+        try {
+            HashedWheelTimer timer = rateLimitTimer;
+            timer.schedule(() -> resubmit(command, timer), verdict, TimeUnit.NANOSECONDS);
+            log(String.format("--- Invoker: [%s] over its rate limit, deferred %d ms. ---", command, TimeUnit.NANOSECONDS.toMillis(verdict)));
+        } catch (RejectedExecutionException e) {
+            command.reportResult(DeliveryResult.dropped("Rate limit exceeded and the timer is stopped"));
+        }
+        return false;
+    }
+
+    // Outcome of one attempt: feeds the channel's breaker, then completes the command or schedules its retry.
+    // For a diverted send, command is the diverted copy, so the fallback channel's breaker sees it and the retry goes there
+    private void onResult(SendNotificationCommand command, DeliveryResult result, CommandJournal journal, long id) {
+        if (result.dropped()) {
+            PipelineMetrics.get().increment(PipelineMetrics.Counter.NOTIFICATIONS_DROPPED);
+            log(String.format("--- Invoker: [%s] dropped: %s ---", command, result.detail()));
+            complete(journal, id);
+            undelivered(command);
+            return;
+        }
+        CircuitBreaker breaker = getCircuitBreaker(command.getStrategy());
+        if (result.successful()) {
+            if (breaker != null) {
+                breaker.onSuccess();
+            }
+            complete(journal, id);
+            return;
+        }
+        if (breaker != null && !result.circuitOpen() && breaker.onFailure()) {
+            log(String.format("--- Invoker: Circuit breaker opened for %s, failing fast for %d ms. ---",
+                    command.getStrategy(), breaker.getRemainingOpenTime().toMillis()));
+        }
+        RetryPolicy policy = retryPolicy;
+        HashedWheelTimer timer = retryTimer;
+        if (policy == null) {
+            undelivered(command);
+            return; // Stays pending in the journal, if any
+        }
+        int attempts = command.getAttempts();
+        if (attempts >= policy.maxAttempts()) {
+            log(String.format("--- Invoker: [%s] gave up after %d attempt(s): %s ---", command, attempts, result.detail()));
+            complete(journal, id);
+            undelivered(command);
+            return;
+        }
+        Duration delay = policy.backoff(attempts);
+        if (result.circuitOpen() && breaker != null && breaker.getRemainingOpenTime().compareTo(delay) > 0) {
+            delay = breaker.getRemainingOpenTime(); // No point retrying before the channel may be probed
+        }
+        try {
+            timer.schedule(() -> resubmit(command, timer), delay);
+            log(String.format("--- Invoker: [%s] attempt %d failed, retrying in %d ms. ---", command, attempts, delay.toMillis()));
+        } catch (RejectedExecutionException e) {
+            log(String.format("--- Invoker: [%s] can't be retried, the retry timer is stopped. ---", command));
+            undelivered(command);
+        }
+    }
+
+    // A failing handler must not stop the result handling of the send
+    private void undelivered(SendNotificationCommand command) {
+        Consumer<SendNotificationCommand> handler = undeliveredHandler;
+        if (handler == null) {
+            return;
+        }
+        try {
+            handler.accept(command);
+        } catch (RuntimeException e) {
+            log(String.format("--- Invoker: Undelivered handler failed for [%s]: %s ---", command, e));
+        }
+    }
+
+    // On a timer thread: hands the retry (or deferred send) back to the workers (in immediate mode it runs right here), it's already journaled.
+    // Never blocks the timer: if the queue is full it waits on the same timer and tries again.
+    private void resubmit(SendNotificationCommand command, HashedWheelTimer timer) {
+        if (shuttingDown) {
+            // The workers may already be gone, nobody would take it from the queue
+            log(String.format("--- Invoker: Shutting down, [%s] stays pending in the journal, if any. ---", command));
+            return;
+        }
+        try {
+            if (commandQueue == null) {
+                run(command);
+            } else if (!commandQueue.offer(command)) {
+                rearm(command, timer);
+            }
+        } catch (RuntimeException e) {
+            log(String.format("--- Invoker: Retry of [%s] failed: %s ---", command, e));
+        }
+    }
+
+    private void rearm(SendNotificationCommand command, HashedWheelTimer timer) {
+        try {
+            timer.schedule(() -> resubmit(command, timer), QUEUE_FULL_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            log(String.format("--- Invoker: Queue full, [%s] waits %d ms more. ---", command, QUEUE_FULL_RETRY_MILLIS));
+        } catch (RejectedExecutionException e) {
+            log(String.format("--- Invoker: Queue full and the timer is stopped, [%s] stays pending in the journal, if any. ---", command));
+        }
+    }
+
+    // Only a send has an event type, a recipient and a channel
+    private static void commitFor(PipelineEvent event, Command command) {
+        if (command instanceof SendNotificationCommand send) {
+            event.commitFor(send.getEventTypeName(), send.getRecipient(), send.getStrategy());
+        } else {
+            event.commitFor(null, null, null);
+        }
+    }
+
+    // The journal may already be closed during shutdown: the command then stays pending and is replayed on the next start
+    private void complete(CommandJournal journal, long id) {
+        if (id < 0) {
+            return;
+        }
+        try {
+            journal.complete(id);
+        } catch (IllegalStateException e) {
+            log(String.format("--- Invoker: Journal closed, command %d stays pending for the next start. ---", id));
+        }
+    }
+
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n");
+        } else {
+            System.out.println(message); // Fallback if logTarget is not set
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationInvoker";
+    }
+}
@@ -0,0 +1,264 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands commands to the invoker at a given time ("send at T") or after a delay ("send after D").
+ * Waiting commands sit on a {@link HashedWheelTimer}: no thread or ScheduledFuture per command, O(1) schedule and cancel.
+ * With a journal, every scheduled command is recorded with its due time until it's handed over or cancelled,
+ * and {@link #recover()} schedules again what a previous run left waiting; overdue ones go out right away.
+ * A scheduled SendNotificationCommand is complete once the invoker has it (the invoker journals it from there),
+ * any other command once it has run.
+ */
+public class NotificationScheduler {
+    // How long a due command waits on the timer before trying again when the invoker's queue is full
+    private static final long QUEUE_FULL_RETRY_MILLIS = 50;
+
+    private final HashedWheelTimer timer;
+    private final NotificationInvoker invoker;
+    private final LogSink logTarget;
+    private final AtomicLong pending = new AtomicLong();
+    private volatile CommandJournal journal; // Optional, records scheduled commands until they're handed over
+    private volatile CommandCodec codec;
+
+    /**
+     * Handle of a scheduled command.
+     */
+    public final class ScheduledCommand {
+        private static final int WAITING = 0; // On the timer, also again after finding the invoker's queue full
+        private static final int HANDING_OVER = 1; // fire() is offering it to the invoker
+        private static final int HANDED_OVER = 2; // The invoker has it, or it can't be handed over any more
+        private static final int CANCELLED = 3;
+        private static final AtomicIntegerFieldUpdater<ScheduledCommand> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(ScheduledCommand.class, "state");
+
+        private final Command command;
+        private final Instant dueAt;
+        private final CommandJournal journal;
+        private final long id; // -1 if not journaled
+        private volatile HashedWheelTimer.Timeout timeout;
+        private volatile int state = WAITING; // Decides between fire() and cancel(), the timeout alone can't once it's rearmed
+
+        private ScheduledCommand(Command command, Instant dueAt, CommandJournal journal, long id) {
+            this.command = command;
+            this.dueAt = dueAt;
+            this.journal = journal;
+            this.id = id;
+        }
+
+        /**
+         * Cancels the command if it hasn't been handed to the invoker yet. O(1).
+         * If it's being offered to the invoker right now, waits for the outcome (the offer never waits for room).
+         *
+         * @return true if this call cancelled it, false if it was already cancelled or handed to the invoker.
+         */
+        public boolean cancel() {
+            for (;;) {
+                int current = state;
+                if (current == HANDING_OVER) {
+                    Thread.yield();
+                } else if (current != WAITING) {
+                    return false;
+                } else if (STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                    break;
+                }
+            }
+            timeout.cancel(); // If it already expired, fire() sees the state and does nothing
+            pending.decrementAndGet();
+            complete(journal, id);
+            log(String.format("--- Scheduler: Cancelled [%s] due at %s. ---", command, dueAt));
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public Instant getDueAt() {
+            return dueAt;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ScheduledCommand [%s] at %s", command, dueAt);
+        }
+    }
+
+    /**
+     * @param timer     Timer the commands wait on. Not closed by the scheduler.
+     * @param invoker   Invoker the commands are handed to when due.
+     * @param logTarget The LogSink for logging, can be null.
+     */
+    public NotificationScheduler(HashedWheelTimer timer, NotificationInvoker invoker, LogSink logTarget) {
+        this.timer = Objects.requireNonNull(timer, "timer cannot be null");
+        this.invoker = Objects.requireNonNull(invoker, "invoker cannot be null");
+        this.logTarget = logTarget;
+    }
+
+    /**
+     * Records scheduled commands in a journal so they survive a restart.
+     * Commands the codec doesn't encode are still scheduled, but only in memory.
+     * @param journal The journal, or null to stop journaling. Should not be the invoker's journal.
+     * @param codec   Serializes commands for the journal.
+     */
+    public void setJournal(CommandJournal journal, CommandCodec codec) {
+        if (journal != null) {
+            Objects.requireNonNull(codec, "codec cannot be null");
+        }
+        this.codec = codec;
+        this.journal = journal;
+    }
+
+    /**
+     * Hands a command to the invoker at a given time, right away if it's in the past.
+     * @throws RejectedExecutionException if the timer is stopped.
+     */
+    public ScheduledCommand schedule(Command command, Instant dueAt) {
+        Objects.requireNonNull(command, "command cannot be null");
+        Objects.requireNonNull(dueAt, "dueAt cannot be null");
+        CommandJournal current = journal;
+        long id = -1;
+        if (current != null) {
+            byte[] payload = codec.encode(command);
+            if (payload != null) {
+                // [long due epoch millis][command payload]
+                id = current.append(ByteBuffer.allocate(Long.BYTES + payload.length)
+                        .putLong(dueAt.toEpochMilli()).put(payload).array());
+            }
+        }
+        return arm(command, dueAt, current, id); // Not logged, there may be millions
+    }
+
+    /**
+     * Hands a command to the invoker after a delay.
+     * @throws RejectedExecutionException if the timer is stopped.
+     */
+    public ScheduledCommand schedule(Command command, Duration delay) {
+        return schedule(command, Instant.now().plus(delay));
+    }
+
+    /**
+     * Schedules again every command the journal found waiting when it was opened.
+     * Call once at startup, after {@link #setJournal}. Commands that can't be rebuilt are dropped from the journal.
+     * @return Number of commands scheduled again.
+     */
+    public int recover() {
+        CommandJournal current = journal;
+        if (current == null) {
+            return 0;
+        }
+        int recovered = 0;
+        for (CommandJournal.PendingCommand entry : current.recover()) {
+            ByteBuffer payload = ByteBuffer.wrap(entry.payload());
+            Instant dueAt = Instant.ofEpochMilli(payload.getLong());
+            Command command = codec.decode(Arrays.copyOfRange(entry.payload(), Long.BYTES, entry.payload().length));
+            if (command == null) {
+                log("--- Scheduler: Scheduled command " + entry.id() + " can't be rebuilt, dropped. ---");
+                current.complete(entry.id());
+                continue;
+            }
+            arm(command, dueAt, current, entry.id());
+            recovered++;
+        }
+        log("--- Scheduler: Recovered " + recovered + " scheduled command(s). ---");
+        return recovered;
+    }
+
+    /**
+     * @return Number of commands waiting for their time.
+     */
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    private ScheduledCommand arm(Command command, Instant dueAt, CommandJournal journal, long id) {
+        ScheduledCommand scheduled = new ScheduledCommand(command, dueAt, journal, id);
+        Duration delay = Duration.between(Instant.now(), dueAt);
+        pending.incrementAndGet();
+        try {
+            scheduled.timeout = timer.schedule(() -> fire(scheduled), delay.isNegative() ? Duration.ZERO : delay);
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet(); // Stays in the journal, if any
+            throw e;
+        }
+        return scheduled;
+    }
+
+    // On the timer thread, so it never waits for the invoker: if its queue is full the command waits on the timer a bit longer
+    private void fire(ScheduledCommand scheduled) {
+        if (!ScheduledCommand.STATE.compareAndSet(scheduled, ScheduledCommand.WAITING, ScheduledCommand.HANDING_OVER)) {
+            return; // Cancelled after its timeout expired
+        }
+        Command command = scheduled.command;
+        if (scheduled.id >= 0 && !(command instanceof SendNotificationCommand)) {
+            command = new JournaledCommand(command, () -> complete(scheduled.journal, scheduled.id));
+        }
+        pending.decrementAndGet(); // Before the handover, the invoker may run it right away
+        try {
+            if (!invoker.offerCommand(command)) {
+                rearm(scheduled);
+                return;
+            }
+        } catch (RuntimeException e) {
+            scheduled.state = ScheduledCommand.HANDED_OVER;
+            log(String.format("--- Scheduler: [%s] could not be handed to the invoker: %s ---", scheduled.command, e));
+            return; // Stays in the journal, if any
+        }
+        scheduled.state = ScheduledCommand.HANDED_OVER;
+        if (command instanceof SendNotificationCommand) {
+            complete(scheduled.journal, scheduled.id);
+        }
+    }
+
+    // Still pending: from here on a cancel() wins, even before the new timeout is set
+    private void rearm(ScheduledCommand scheduled) {
+        pending.incrementAndGet();
+        scheduled.state = ScheduledCommand.WAITING;
+        try {
+            scheduled.timeout = timer.schedule(() -> fire(scheduled), QUEUE_FULL_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            if (scheduled.isCancelled()) {
+                scheduled.timeout.cancel(); // Cancelled in between, it had the old timeout
+            }
+        } catch (RejectedExecutionException e) {
+            if (ScheduledCommand.STATE.compareAndSet(scheduled, ScheduledCommand.WAITING, ScheduledCommand.HANDED_OVER)) {
+                pending.decrementAndGet();
+                log(String.format("--- Scheduler: Invoker queue full and the timer is stopped, [%s] stays in the journal, if any. ---", scheduled.command));
+            }
+        }
+    }
+
+    // The journal may already be closed during shutdown: the command then stays pending and is replayed on the next start
+    private void complete(CommandJournal journal, long id) {
+        if (id < 0) {
+            return;
+        }
+        try {
+            journal.complete(id);
+        } catch (IllegalStateException e) {
+            log(String.format("--- Scheduler: Journal closed, command %d stays pending for the next start. ---", id));
+        }
+    }
+
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n");
+        } else {
+            System.out.println(message); // Fallback
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationScheduler";
+    }
+}
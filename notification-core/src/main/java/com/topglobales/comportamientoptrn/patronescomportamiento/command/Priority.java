@@ -0,0 +1,13 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+/**
+ * Priority class of a command, assigned per event type by a {@link PriorityPolicy}. Most urgent first.
+ */
+public enum Priority {
+    /** Must not wait behind bulk traffic, e.g. security alerts. */
+    HIGH,
+    /** Everything that isn't classified. */
+    NORMAL,
+    /** Bulk traffic, e.g. promotions. */
+    LOW
+}
@@ -0,0 +1,276 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Multi-level command queue: one bounded FIFO lane per {@link Priority}, served by weighted fair share.
+ * <ul>
+ *     <li>Each lane has its own capacity, so a full LOW lane blocks the producers of LOW work only:
+ *     a million-recipient promotion can't keep a security alert from being queued.</li>
+ *     <li>Taking a command picks a lane by smooth weighted round-robin over the lanes that have work:
+ *     with the default weights a waiting HIGH command is taken next, and while every lane is backlogged
+ *     HIGH, NORMAL and LOW get 16:4:1 of the commands, so LOW work is slowed but never starved.</li>
+ * </ul>
+ * Order is FIFO within a lane. One lock for the whole queue, held for a few array operations per command.
+ */
+public class PriorityCommandQueue extends AbstractQueue<Command> implements BlockingQueue<Command> {
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final PriorityPolicy policy;
+    private final int capacityPerLane;
+    private final ArrayDeque<Command>[] lanes; // By Priority ordinal
+    private final int[] credits; // Smooth weighted round-robin state, by lane
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition[] notFull;
+    private int count;
+
+    /**
+     * @param policy          Gives the priority of each command and the weight of each lane.
+     * @param capacityPerLane Max number of commands waiting in each lane.
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityCommandQueue(PriorityPolicy policy, int capacityPerLane) {
+        this.policy = Objects.requireNonNull(policy, "policy cannot be null");
+        if (capacityPerLane <= 0) {
+            throw new IllegalArgumentException("capacityPerLane must be positive");
+        }
+        this.capacityPerLane = capacityPerLane;
+        this.lanes = new ArrayDeque[PRIORITIES.length];
+        this.credits = new int[PRIORITIES.length];
+        this.notFull = new Condition[PRIORITIES.length];
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+            notFull[i] = lock.newCondition();
+        }
+    }
+
+    /**
+     * @return Number of commands waiting in the lane of a priority.
+     */
+    public int size(Priority priority) {
+        lock.lock();
+        try {
+            return lanes[priority.ordinal()].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Command command) {
+        Objects.requireNonNull(command, "command cannot be null");
+        int lane = policy.priorityOf(command).ordinal();
+        lock.lock();
+        try {
+            if (lanes[lane].size() >= capacityPerLane) {
+                return false;
+            }
+            enqueue(lane, command);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Command command) throws InterruptedException {
+        Objects.requireNonNull(command, "command cannot be null");
+        int lane = policy.priorityOf(command).ordinal();
+        lock.lockInterruptibly();
+        try {
+            while (lanes[lane].size() >= capacityPerLane) {
+                notFull[lane].await();
+            }
+            enqueue(lane, command);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Command command, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(command, "command cannot be null");
+        int lane = policy.priorityOf(command).ordinal();
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (lanes[lane].size() >= capacityPerLane) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull[lane].awaitNanos(nanos);
+            }
+            enqueue(lane, command);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Command poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Command take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Command poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The head of the most urgent lane with work. Not necessarily what {@link #poll()} takes next,
+     * which also depends on the weights.
+     */
+    @Override
+    public Command peek() {
+        lock.lock();
+        try {
+            for (ArrayDeque<Command> lane : lanes) {
+                if (!lane.isEmpty()) {
+                    return lane.peekFirst();
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacityPerLane * lanes.length - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Command> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    // Same weighted order as poll, so a worker's batch is a fair mix too
+    @Override
+    public int drainTo(Collection<? super Command> target, int maxElements) {
+        Objects.requireNonNull(target, "target cannot be null");
+        if (target == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        lock.lock();
+        try {
+            int drained = 0;
+            while (drained < maxElements && count > 0) {
+                target.add(dequeue());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return A snapshot of the waiting commands, most urgent lane first. Doesn't support remove.
+     */
+    @Override
+    public Iterator<Command> iterator() {
+        lock.lock();
+        try {
+            List<Command> snapshot = new ArrayList<>(count);
+            for (ArrayDeque<Command> lane : lanes) {
+                snapshot.addAll(lane);
+            }
+            return Collections.unmodifiableList(snapshot).iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Lock held
+    private void enqueue(int lane, Command command) {
+        lanes[lane].addLast(command);
+        count++;
+        notEmpty.signal();
+    }
+
+    // Lock held, count > 0. Every lane with work earns its weight in credits, the richest lane is served
+    // and pays the total back: over time each lane is served in proportion to its weight, smoothly interleaved.
+    // Ties go to the more urgent lane.
+    private Command dequeue() {
+        int chosen = -1;
+        int total = 0;
+        for (int i = 0; i < lanes.length; i++) {
+            if (lanes[i].isEmpty()) {
+                continue;
+            }
+            int weight = policy.getWeight(PRIORITIES[i]);
+            credits[i] += weight;
+            total += weight;
+            if (chosen < 0 || credits[i] > credits[chosen]) {
+                chosen = i;
+            }
+        }
+        credits[chosen] -= total;
+        Command command = lanes[chosen].pollFirst();
+        if (lanes[chosen].isEmpty()) {
+            credits[chosen] = 0; // An idle lane neither saves credit nor keeps debt
+        }
+        count--;
+        notFull[chosen].signal();
+        return command;
+    }
+}
@@ -0,0 +1,72 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Which {@link Priority} each event type gets, and the share of the workers each priority gets when all of them are backlogged.
+ * Event types without a priority are {@link Priority#NORMAL}, as are commands without an event type.
+ * Default weights: HIGH 16, NORMAL 4, LOW 1, so a flood of LOW work still gets 1 of every 21 commands.
+ */
+public class PriorityPolicy {
+    private volatile Priority[] priorities = new Priority[0]; // By event type id, copy-on-write
+    private volatile int[] weights = {16, 4, 1}; // By Priority ordinal, copy-on-write
+
+    /**
+     * Assigns a priority class to an event type.
+     * @param priority The priority, or null to go back to NORMAL.
+     */
+    public synchronized void assign(EventType eventType, Priority priority) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        Priority[] assigned = Arrays.copyOf(priorities, Math.max(priorities.length, eventType.getId() + 1));
+        assigned[eventType.getId()] = priority;
+        priorities = assigned;
+    }
+
+    /**
+     * Sets the weight of a priority: while several priorities have work waiting, each is served in proportion to its weight.
+     * @param weight At least 1, so no priority can be starved.
+     */
+    public synchronized void setWeight(Priority priority, int weight) {
+        Objects.requireNonNull(priority, "priority cannot be null");
+        if (weight < 1) {
+            throw new IllegalArgumentException("weight must be at least 1");
+        }
+        int[] updated = weights.clone();
+        updated[priority.ordinal()] = weight;
+        weights = updated;
+    }
+
+    public int getWeight(Priority priority) {
+        return weights[priority.ordinal()];
+    }
+
+    /**
+     * @return The priority of an event type, NORMAL if it has none or is null.
+     */
+    public Priority getPriority(EventType eventType) {
+        Priority[] assigned = priorities;
+        if (eventType == null || eventType.getId() >= assigned.length || assigned[eventType.getId()] == null) {
+            return Priority.NORMAL;
+        }
+        return assigned[eventType.getId()];
+    }
+
+    /**
+     * @return The priority of the event type a command sends or publishes, NORMAL for any other command.
+     */
+    public Priority priorityOf(Command command) {
+        if (command instanceof JournaledCommand journaled) {
+            command = journaled.getCommand();
+        }
+        if (command instanceof SendNotificationCommand send) {
+            return getPriority(send.getEventType());
+        }
+        if (command instanceof PublishEventCommand publish) {
+            return getPriority(publish.getEventType());
+        }
+        return Priority.NORMAL;
+    }
+}
@@ -0,0 +1,139 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventManager;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.Severity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * CommandCodec for PublishEventCommands.
+ * A command is stored as its event type's name, its message and its attributes after a one-byte format version.
+ * Strings are stored as {@code [int length][UTF-8 bytes]}, so messages of any size fit.
+ * Version 1 records, with modified UTF-8 strings limited to 64 KB, are still read.
+ * Attribute values are tagged by type; only strings, booleans, ints, longs, doubles and severities are supported,
+ * a command with any other attribute value is not encoded.
+ */
+public class PublishEventCodec implements CommandCodec {
+    private static final byte VERSION = 2;
+    private static final byte VERSION_MODIFIED_UTF = 1;
+
+    private final EventManager eventManager;
+    private final LogSink logTarget;
+
+    /**
+     * @param eventManager The EventManager decoded commands publish to.
+     * @param logTarget    The LogSink given to decoded commands, can be null.
+     */
+    public PublishEventCodec(EventManager eventManager, LogSink logTarget) {
+        this.eventManager = Objects.requireNonNull(eventManager, "eventManager cannot be null");
+        this.logTarget = logTarget;
+    }
+
+    @Override
+    public byte[] encode(Command command) {
+        if (!(command instanceof PublishEventCommand publish)) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, publish.getEventType().getName());
+            out.writeBoolean(publish.getMessage() != null);
+            if (publish.getMessage() != null) {
+                writeString(out, publish.getMessage());
+            }
+            out.writeInt(publish.getAttributes().size());
+            for (Map.Entry<String, ?> attribute : publish.getAttributes().entrySet()) {
+                writeString(out, attribute.getKey());
+                if (!writeValue(out, attribute.getValue())) {
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // A ByteArrayOutputStream doesn't throw, and nothing here has a size limit
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Command decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_MODIFIED_UTF) {
+                return null;
+            }
+            boolean modifiedUtf = version == VERSION_MODIFIED_UTF;
+            EventType eventType = EventType.of(readString(in, modifiedUtf));
+            String message = in.readBoolean() ? readString(in, modifiedUtf) : null;
+            int count = in.readInt();
+            Map<String, Object> attributes = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String key = readString(in, modifiedUtf);
+                Object value = readValue(in, modifiedUtf);
+                if (value == null) {
+                    return null;
+                }
+                attributes.put(key, value);
+            }
+            return new PublishEventCommand(eventManager, eventType, message, attributes, logTarget);
+        } catch (IOException | IllegalArgumentException e) {
+            return null; // Corrupt or from a newer format
+        }
+    }
+
+    private static boolean writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case String s -> { out.writeByte('s'); writeString(out, s); }
+            case Boolean b -> { out.writeByte('b'); out.writeBoolean(b); }
+            case Integer i -> { out.writeByte('i'); out.writeInt(i); }
+            case Long l -> { out.writeByte('l'); out.writeLong(l); }
+            case Double d -> { out.writeByte('d'); out.writeDouble(d); }
+            case Severity severity -> { out.writeByte('v'); writeString(out, severity.name()); }
+            default -> { return false; }
+        }
+        return true;
+    }
+
+    private static Object readValue(DataInputStream in, boolean modifiedUtf) throws IOException {
+        return switch (in.readByte()) {
+            case 's' -> readString(in, modifiedUtf);
+            case 'b' -> in.readBoolean();
+            case 'i' -> in.readInt();
+            case 'l' -> in.readLong();
+            case 'd' -> in.readDouble();
+            case 'v' -> Severity.valueOf(readString(in, modifiedUtf));
+            default -> null;
+        };
+    }
+
+    // [int length][UTF-8 bytes], as in SendNotificationCodec. writeUTF would fail on strings over 64 KB
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, boolean modifiedUtf) throws IOException {
+        if (modifiedUtf) {
+            return in.readUTF();
+        }
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) { // Corrupt: don't allocate what isn't there
+            throw new IOException("Bad string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,52 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventManager;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Concrete Command: Encapsulates publishing an event, e.g. to publish it later through a {@link NotificationScheduler}.
+ * The event is dispatched asynchronously, so running it never blocks the invoker's workers on the recipients' sends.
+ */
+@Getter
+public class PublishEventCommand implements Command {
+    private final EventManager eventManager;
+    private final EventType eventType;
+    private final String message;
+    private final Map<String, ?> attributes;
+    private final LogSink logTarget;
+
+    public PublishEventCommand(EventManager eventManager, EventType eventType, String message, Map<String, ?> attributes, LogSink logTarget) {
+        this.eventManager = Objects.requireNonNull(eventManager, "eventManager cannot be null");
+        this.eventType = Objects.requireNonNull(eventType, "eventType cannot be null");
+        this.message = message;
+        this.attributes = Map.copyOf(Objects.requireNonNull(attributes, "attributes cannot be null"));
+        this.logTarget = logTarget;
+    }
+
+    @Override
+    public void execute() {
+        log(String.format(">>> Command: Publishing event [%s]...", eventType));
+        eventManager.notifyAsync(eventType, message, attributes, logTarget)
+                .whenComplete((report, error) -> log(error != null
+                        ? "--- Command: Publishing event [" + eventType + "] failed: " + error + " ---"
+                        : "--- " + report + " ---"));
+    }
+
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n\n");
+        } else {
+            System.out.println(message); // Fallback
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PublishEventCommand [%s]", eventType);
+    }
+}
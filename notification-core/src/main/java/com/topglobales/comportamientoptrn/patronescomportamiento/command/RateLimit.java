@@ -0,0 +1,36 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A token-bucket limit: at most {@code permits} notifications per {@code period}, all of which may go out in one burst.
+ *
+ * @param permits   Bucket size, and tokens refilled per period.
+ * @param period    Time to refill the whole bucket.
+ * @param overLimit What happens to a notification over the limit.
+ */
+public record RateLimit(int permits, Duration period, OverLimit overLimit) {
+
+    public enum OverLimit {
+        /** Given up on, reported as dropped. */
+        DROP,
+        /** Held back until the bucket has a token for it. */
+        DEFER
+    }
+
+    public RateLimit {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be positive");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        Objects.requireNonNull(overLimit, "overLimit cannot be null");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d per %s (%s)", permits, period, overLimit);
+    }
+}
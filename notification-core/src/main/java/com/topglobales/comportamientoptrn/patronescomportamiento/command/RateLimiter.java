@@ -0,0 +1,283 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token-bucket rate limiting at two levels, checked by the invoker before a SendNotificationCommand is sent:
+ * <ul>
+ *     <li>per recipient and event type, e.g. at most 3 promotions per user and minute;</li>
+ *     <li>per channel, for everyone, e.g. the SMS provider's quota.</li>
+ * </ul>
+ * Every bucket is a single long, its "theoretical arrival time" (GCRA): the bucket is full while it's in the past,
+ * and taking a token pushes it one emission interval forward with one CAS. No locks, no refill thread, no timestamps per token.
+ * A recipient's buckets are one AtomicLongArray with a slot per event type that has a recipient limit, so millions
+ * of users cost one small array each and checking one is an identity lookup plus a CAS.
+ * A recipient whose buckets are all full again holds no state, and is evicted by a sweep that starts once per
+ * sweep interval, so recipients that stop receiving don't stay forever. The sending threads share the sweep out,
+ * a few recipients per send, so no send pays for walking all of them.
+ */
+public class RateLimiter {
+    /** {@link #acquire} verdict: the notification may go out. */
+    public static final long ALLOWED = 0;
+    /** {@link #acquire} verdict: the notification is over a limit that drops. */
+    public static final long DROPPED = -1;
+
+    // How often idle recipients are looked for, unless given
+    private static final Duration DEFAULT_SWEEP_INTERVAL = Duration.ofMinutes(1);
+    // Recipients a send looks at while a sweep is under way
+    private static final int SWEEP_SLICE = 64;
+
+    private final long origin = System.nanoTime(); // Bucket times are relative to this, so a new bucket (0) is full
+    private volatile Limit[] recipientLimits = new Limit[0]; // By event type id, copy-on-write
+    private int[] slots = new int[0]; // Slot of each limited event type id in a recipient's array, -1 if none; guarded by this
+    private volatile int slotCount; // Event types that have (or had) a recipient limit
+    private final Map<User, AtomicLongArray> recipientBuckets = new ConcurrentHashMap<>();
+    private final Map<NotificationStrategy, ChannelBucket> channelBuckets = new ConcurrentHashMap<>();
+    private final long sweepInterval;
+    private final AtomicLong nextSweep;
+    private final AtomicBoolean sweeping = new AtomicBoolean(); // Held by the one sender doing a slice
+    private Iterator<Map.Entry<User, AtomicLongArray>> sweep; // Where the sweep under way is, null between sweeps; guarded by sweeping
+
+    // A RateLimit in nanos: one token every interval, at most period ahead of now, in the given slot of a recipient's array
+    private record Limit(RateLimit config, long interval, long period, int slot) {
+        static Limit of(RateLimit config, int slot) {
+            long period = config.period().toNanos();
+            return new Limit(config, Math.max(1, period / config.permits()), period, slot);
+        }
+    }
+
+    private record ChannelBucket(Limit limit, AtomicLongArray time) {
+    }
+
+    /**
+     * Looks for idle recipients once a minute.
+     */
+    public RateLimiter() {
+        this(DEFAULT_SWEEP_INTERVAL);
+    }
+
+    /**
+     * @param sweepInterval How often idle recipients are looked for.
+     */
+    public RateLimiter(Duration sweepInterval) {
+        Objects.requireNonNull(sweepInterval, "sweepInterval cannot be null");
+        if (sweepInterval.isNegative() || sweepInterval.isZero()) {
+            throw new IllegalArgumentException("sweepInterval must be positive");
+        }
+        this.sweepInterval = sweepInterval.toNanos();
+        this.nextSweep = new AtomicLong(this.sweepInterval);
+    }
+
+    /**
+     * Limits how many notifications of one event type each recipient gets.
+     * @param limit The limit, or null to remove it.
+     */
+    public synchronized void limitRecipients(EventType eventType, RateLimit limit) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        int id = eventType.getId();
+        Limit[] limits = Arrays.copyOf(recipientLimits, Math.max(recipientLimits.length, id + 1));
+        limits[id] = limit == null ? null : Limit.of(limit, slotOf(id));
+        recipientLimits = limits;
+    }
+
+    /**
+     * Limits how many notifications a channel sends, for all recipients together.
+     * @param limit The limit, or null to remove it.
+     */
+    public void limitChannel(NotificationStrategy channel, RateLimit limit) {
+        Objects.requireNonNull(channel, "channel cannot be null");
+        if (limit == null) {
+            channelBuckets.remove(channel);
+        } else {
+            channelBuckets.put(channel, new ChannelBucket(Limit.of(limit, 0), new AtomicLongArray(1)));
+        }
+    }
+
+    /**
+     * Takes a token from every bucket the command is subject to. Either all of them are taken or none.
+     * @return {@link #ALLOWED}, {@link #DROPPED}, or else the nanos to wait before trying again (over a DEFER limit).
+     */
+    public long acquire(SendNotificationCommand command) {
+        long now = System.nanoTime() - origin;
+        Limit recipientLimit = recipientLimit(command.getEventType());
+        AtomicLongArray recipientTimes = null;
+        if (recipientLimit != null) {
+            if (now >= nextSweep.get()) {
+                sweepSlice(now);
+            }
+            recipientTimes = bucketsOf(command.getRecipient(), recipientLimit.slot());
+            long wait = take(recipientTimes, recipientLimit.slot(), recipientLimit, now);
+            if (wait > 0) {
+                return verdict(recipientLimit, wait);
+            }
+        }
+        ChannelBucket channel = channelBuckets.get(command.getStrategy());
+        if (channel != null) {
+            long wait = take(channel.time(), 0, channel.limit(), now);
+            if (wait > 0) {
+                if (recipientTimes != null) {
+                    recipientTimes.getAndAdd(recipientLimit.slot(), -recipientLimit.interval()); // Give the recipient's token back
+                }
+                return verdict(channel.limit(), wait);
+            }
+        }
+        return ALLOWED;
+    }
+
+    /**
+     * Forgets the recipients whose buckets are all full again, as a new recipient's are, in one go.
+     * Not needed for the memory to stay bounded: sends already do it a slice at a time every sweep interval.
+     * @return Number of recipients evicted.
+     */
+    public int evictIdle() {
+        return evictIdle(System.nanoTime() - origin);
+    }
+
+    /**
+     * @return Number of recipients with buckets in use, or idle but not evicted yet.
+     */
+    public int getRecipientCount() {
+        return recipientBuckets.size();
+    }
+
+    /**
+     * @return The limit a recipient has for an event type, or null.
+     */
+    public RateLimit getRecipientLimit(EventType eventType) {
+        Limit limit = recipientLimit(eventType);
+        return limit == null ? null : limit.config();
+    }
+
+    /**
+     * @return The limit of a channel, or null.
+     */
+    public RateLimit getChannelLimit(NotificationStrategy channel) {
+        ChannelBucket bucket = channelBuckets.get(channel);
+        return bucket == null ? null : bucket.limit().config();
+    }
+
+    private Limit recipientLimit(EventType eventType) {
+        Limit[] limits = recipientLimits;
+        if (eventType == null || eventType.getId() >= limits.length) {
+            return null;
+        }
+        return limits[eventType.getId()];
+    }
+
+    // A type keeps its slot if its limit is removed, so a limit set again finds the buckets where it left them
+    private synchronized int slotOf(int eventTypeId) {
+        if (eventTypeId >= slots.length) {
+            int oldLength = slots.length;
+            slots = Arrays.copyOf(slots, eventTypeId + 1);
+            Arrays.fill(slots, oldLength, slots.length, -1);
+        }
+        if (slots[eventTypeId] < 0) {
+            slots[eventTypeId] = slotCount++;
+        }
+        return slots[eventTypeId];
+    }
+
+    // Next SWEEP_SLICE recipients of the sweep under way; the last slice schedules the next sweep.
+    // A sender that finds another one slicing just goes on, the sweep can wait for the next send
+    private void sweepSlice(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (now < nextSweep.get()) {
+                return; // The sweep finished while we were getting here
+            }
+            if (sweep == null) {
+                sweep = recipientBuckets.entrySet().iterator(); // Weakly consistent: fine to keep across sends
+            }
+            for (int i = 0; i < SWEEP_SLICE && sweep.hasNext(); i++) {
+                Map.Entry<User, AtomicLongArray> entry = sweep.next();
+                if (isIdle(entry.getValue(), now)) {
+                    recipientBuckets.remove(entry.getKey(), entry.getValue());
+                }
+            }
+            if (!sweep.hasNext()) {
+                sweep = null;
+                nextSweep.set(now + sweepInterval);
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    // A token taken from an array while it's evicted is lost, which at worst lets one extra notification through
+    private int evictIdle(long now) {
+        int evicted = 0;
+        for (Map.Entry<User, AtomicLongArray> entry : recipientBuckets.entrySet()) {
+            if (isIdle(entry.getValue(), now) && recipientBuckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    // Every bucket full: the same as a new array
+    private static boolean isIdle(AtomicLongArray times, long now) {
+        for (int i = 0; i < times.length(); i++) {
+            if (times.get(i) > now) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Grown when a type limited after the array was created shows up;
+    // a token taken from the old array while it's copied is lost, which at worst lets one extra notification through
+    private AtomicLongArray bucketsOf(User recipient, int slot) {
+        AtomicLongArray times = recipientBuckets.get(recipient);
+        if (times != null && slot < times.length()) {
+            return times;
+        }
+        return recipientBuckets.compute(recipient, (user, old) -> {
+            if (old != null && slot < old.length()) {
+                return old;
+            }
+            AtomicLongArray grown = new AtomicLongArray(Math.max(slotCount, slot + 1));
+            for (int i = 0; old != null && i < old.length(); i++) {
+                grown.set(i, old.get(i));
+            }
+            return grown;
+        });
+    }
+
+    // GCRA: 0 if a token was taken, otherwise how long until there is one
+    private static long take(AtomicLongArray times, int slot, Limit limit, long now) {
+        while (true) {
+            long time = times.get(slot);
+            long next = Math.max(time, now) + limit.interval();
+            long wait = next - now - limit.period();
+            if (wait > 0) {
+                return wait;
+            }
+            if (times.compareAndSet(slot, time, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static long verdict(Limit limit, long wait) {
+        return limit.config().overLimit() == RateLimit.OverLimit.DROP ? DROPPED : wait;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter";
+    }
+}
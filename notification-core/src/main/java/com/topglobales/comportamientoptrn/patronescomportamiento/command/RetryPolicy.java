@@ -0,0 +1,40 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How failed sends are retried: exponential backoff with jitter, up to a number of attempts.
+ * The delay before retry n is half fixed and half random within {@code initialBackoff * multiplier^(n-1)},
+ * capped at {@code maxBackoff}, so retries of a burst that failed together spread out instead of hitting the provider at once.
+ *
+ * @param maxAttempts    Total attempts, including the first one.
+ * @param initialBackoff Base delay before the first retry.
+ * @param maxBackoff     Max delay between two attempts.
+ * @param multiplier     Growth of the delay per attempt.
+ */
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier) {
+
+    public RetryPolicy {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("backoffs must satisfy 0 <= initialBackoff <= maxBackoff");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+    }
+
+    /**
+     * @param attempts Attempts made so far (at least 1).
+     * @return Delay before the next attempt.
+     */
+    public Duration backoff(int attempts) {
+        double exponential = initialBackoff.toNanos() * Math.pow(multiplier, Math.max(0, attempts - 1));
+        long ceiling = (long) Math.min(exponential, maxBackoff.toNanos());
+        long half = ceiling / 2;
+        return Duration.ofNanos(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+}
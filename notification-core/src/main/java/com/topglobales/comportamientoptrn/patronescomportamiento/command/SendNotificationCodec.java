@@ -0,0 +1,79 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * CommandCodec for SendNotificationCommands.
+ * A command is stored as its recipient's name, its channel's name, the already formatted message and
+ * its event type's name (empty if unknown), each as {@code [int length][UTF-8 bytes]} after a one-byte format version.
+ * Version 1 records, without the event type, are still read.
+ * Decoding looks the recipient and channel up again, so replayed commands go to the live objects.
+ */
+public class SendNotificationCodec implements CommandCodec {
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_EVENT_TYPE = 1;
+
+    private final Function<String, User> recipients;
+    private final Function<String, NotificationStrategy> channels;
+    private final LogSink logTarget;
+
+    /**
+     * @param recipients Finds a user by name, returns null if it no longer exists.
+     * @param channels   Finds a strategy by its toString() name, returns null if it no longer exists.
+     * @param logTarget  The LogSink given to decoded commands, can be null.
+     */
+    public SendNotificationCodec(Function<String, User> recipients, Function<String, NotificationStrategy> channels, LogSink logTarget) {
+        this.recipients = Objects.requireNonNull(recipients, "recipients cannot be null");
+        this.channels = Objects.requireNonNull(channels, "channels cannot be null");
+        this.logTarget = logTarget;
+    }
+
+    @Override
+    public byte[] encode(Command command) {
+        if (!(command instanceof SendNotificationCommand send)) {
+            return null;
+        }
+        byte[] recipient = send.getRecipient().getName().getBytes(StandardCharsets.UTF_8);
+        byte[] channel = send.getStrategy().toString().getBytes(StandardCharsets.UTF_8);
+        byte[] message = send.getMessage().toString().getBytes(StandardCharsets.UTF_8);
+        byte[] eventType = send.getEventType() == null ? new byte[0] : send.getEventType().getName().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Byte.BYTES + 4 * Integer.BYTES + recipient.length + channel.length + message.length + eventType.length)
+                .put(VERSION)
+                .putInt(recipient.length).put(recipient)
+                .putInt(channel.length).put(channel)
+                .putInt(message.length).put(message)
+                .putInt(eventType.length).put(eventType)
+                .array();
+    }
+
+    @Override
+    public Command decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_WITHOUT_EVENT_TYPE) {
+            return null;
+        }
+        User recipient = recipients.apply(readString(buffer));
+        NotificationStrategy channel = channels.apply(readString(buffer));
+        String message = readString(buffer);
+        String eventType = version == VERSION ? readString(buffer) : "";
+        if (recipient == null || channel == null) {
+            return null;
+        }
+        return new SendNotificationCommand(recipient, message, channel, eventType.isEmpty() ? null : EventType.of(eventType), logTarget);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.jfr.ChannelSendEvent;
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.metrics.PipelineMetrics;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.DeliveryResult;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.OutgoingNotification;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import lombok.Getter;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Concrete Command: Encapsulates the action of sending a notification.
+ * Can also be sent in bulk with other commands of the same channel, see {@link BatchingDispatcher}.
+ */
+public class SendNotificationCommand implements Command, OutgoingNotification {
+    @Getter
+    private final User recipient;
+    private final CharSequence formattedMessage; // Usually a RenderedMessage sharing its body with other commands
+    @Getter
+    private final String sourceMessage; // As published, before formatting; null if unknown (e.g. replayed)
+    @Getter
+    private final NotificationStrategy strategy;
+    @Getter
+    private final EventType eventType; // Event that caused it, null if unknown
+    private final LogSink logTarget; // For logging the command execution and result
+    private volatile BiConsumer<SendNotificationCommand, DeliveryResult> resultHandler; // Set by the invoker: journal, retries, circuit breaker
+    @Getter
+    private final long createdNanos = System.nanoTime(); // For the time spent queued
+    @Getter
+    private volatile int attempts; // Sends reported so far, a command is only ever in flight once
+    private boolean diverted; // Sent on a fallback channel because its own channel's queue was full
+
+    public SendNotificationCommand(User recipient, CharSequence formattedMessage, NotificationStrategy strategy, LogSink logTarget) {
+        this(recipient, formattedMessage, strategy, null, logTarget);
+    }
+
+    public SendNotificationCommand(User recipient, CharSequence formattedMessage, NotificationStrategy strategy, EventType eventType, LogSink logTarget) {
+        this(recipient, formattedMessage, null, strategy, eventType, logTarget);
+    }
+
+    public SendNotificationCommand(User recipient, CharSequence formattedMessage, String sourceMessage, NotificationStrategy strategy,
+                                   EventType eventType, LogSink logTarget) {
+        this.recipient = recipient;
+        this.formattedMessage = formattedMessage;
+        this.sourceMessage = sourceMessage;
+        this.strategy = strategy;
+        this.eventType = eventType;
+        this.logTarget = logTarget;
+    }
+
+    @Override
+    public void execute() {
+        String commandLog = String.format(">>> Command: Executing SendNotification for User [%s] via %s...",
+                recipient.getName(), strategy.toString());
+        log(commandLog);
+
+        // The message is only materialized now.
+        ChannelSendEvent send = new ChannelSendEvent();
+        send.begin();
+        long start = System.nanoTime();
+        DeliveryResult result = strategy.deliver(recipient, formattedMessage.toString());
+        PipelineMetrics.get().recordSend(strategy, start);
+        send.batchSize = 1;
+        send.status = result.status().name();
+        send.commitFor(getEventTypeName(), recipient, strategy);
+        PipelineMetrics.get().increment(result.successful() ? PipelineMetrics.Counter.NOTIFICATIONS_SENT : PipelineMetrics.Counter.SENDS_FAILED);
+
+        if (result.successful()) {
+            log(result.detail()); // Log the result of sending
+        } else {
+            log(String.format("--- Command: Sending to [%s] via %s failed: %s ---", recipient.getName(), strategy, result.detail()));
+        }
+        reportResult(result);
+    }
+
+    @Override
+    public CharSequence getMessage() {
+        return formattedMessage;
+    }
+
+    /**
+     * @return Name of the event that caused it, null if unknown.
+     */
+    public String getEventTypeName() {
+        return eventType == null ? null : eventType.getName();
+    }
+
+    // Same notification on another channel, taking over from this command: the next attempt, with the same result handler,
+    // which then sees the fallback channel as the one that failed or succeeded, and retries there
+    SendNotificationCommand divertTo(NotificationStrategy fallback) {
+        SendNotificationCommand diverted = new SendNotificationCommand(recipient, formattedMessage, sourceMessage, fallback, eventType, logTarget);
+        diverted.resultHandler = resultHandler;
+        diverted.attempts = attempts;
+        diverted.diverted = true;
+        return diverted;
+    }
+
+    boolean isDiverted() {
+        return diverted;
+    }
+
+    // Called with the command that made the attempt (the diverted copy, for a diverted send) and its outcome,
+    // for every attempt, also when it's sent as part of a batch or refused by a circuit breaker
+    void onResult(BiConsumer<SendNotificationCommand, DeliveryResult> handler) {
+        this.resultHandler = handler;
+    }
+
+    void reportResult(DeliveryResult result) {
+        attempts++; // Never concurrent, see the field
+        BiConsumer<SendNotificationCommand, DeliveryResult> handler = resultHandler;
+        if (handler != null) {
+            handler.accept(this, result);
+        }
+    }
+
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n\n");
+        } else {
+            System.out.println(message); // Fallback
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SendNotificationCommand to %s via %s", recipient.getName(), strategy.toString());
+    }
+}
\ No newline at end of file
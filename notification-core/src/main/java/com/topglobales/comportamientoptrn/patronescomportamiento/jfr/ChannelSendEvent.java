@@ -0,0 +1,19 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A channel sent one notification, or a whole batch in one bulk call.
+ */
+@Name("com.topglobales.notification.ChannelSend")
+@Label("Channel Send")
+@Description("A channel sent one notification, or a whole batch in one bulk call.")
+public final class ChannelSendEvent extends PipelineEvent {
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("Status")
+    public String status;
+}
@@ -0,0 +1,19 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The invoker ran a command, or handed it to its batching dispatcher.
+ */
+@Name("com.topglobales.notification.CommandExecuted")
+@Label("Command Executed")
+@Description("The invoker ran a command, or handed it to its batching dispatcher.")
+public final class CommandExecutedEvent extends PipelineEvent {
+    @Label("Command")
+    public String command;
+
+    @Label("Attempt")
+    public int attempt;
+}
@@ -0,0 +1,19 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The invoker put a command in its queue. Duration: the wait for room in the queue.
+ */
+@Name("com.topglobales.notification.CommandQueued")
+@Label("Command Queued")
+@Description("The invoker put a command in its queue. Duration: the wait for room in the queue.")
+public final class CommandQueuedEvent extends PipelineEvent {
+    @Label("Command")
+    public String command;
+
+    @Label("Queue Size")
+    public int queueSize;
+}
@@ -0,0 +1,19 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * EventManager received an event. Duration: the whole dispatch to its listeners.
+ */
+@Name("com.topglobales.notification.EventReceived")
+@Label("Event Received")
+@Description("EventManager received an event. Duration: the whole dispatch to its listeners.")
+public final class EventReceivedEvent extends PipelineEvent {
+    @Label("Listeners")
+    public int listenerCount;
+
+    @Label("Asynchronous")
+    public boolean async;
+}
@@ -0,0 +1,16 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A message was rendered through the recipient's template.
+ */
+@Name("com.topglobales.notification.MessageFormatted")
+@Label("Message Formatted")
+@Description("A message was rendered through the recipient's template.")
+public final class MessageFormattedEvent extends PipelineEvent {
+    @Label("Message Length")
+    public int length;
+}
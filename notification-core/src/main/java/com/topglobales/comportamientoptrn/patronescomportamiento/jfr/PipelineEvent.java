@@ -0,0 +1,49 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.jfr;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the JDK Flight Recorder events of the dispatch pipeline: what every boundary reports.
+ * Usage, so nothing is computed unless a recording wants the event:
+ * <pre>
+ *     ChannelSendEvent event = new ChannelSendEvent();
+ *     event.begin();
+ *     ... // the work
+ *     event.commitFor(eventType, recipient, channel);
+ * </pre>
+ * While no recording is running, begin and commitFor are no-ops and the JIT removes the allocation.
+ */
+@Category({"Notification System", "Dispatch"})
+@StackTrace(false)
+public abstract class PipelineEvent extends Event {
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Recipient Class")
+    String recipientClass;
+
+    @Label("Channel")
+    String channel;
+
+    /**
+     * Fills the common fields and commits, only if a recording wants this event (enabled, over its threshold).
+     *
+     * @param eventType The event type name, can be null.
+     * @param recipient The recipient, can be null.
+     * @param channel   The channel, can be null.
+     */
+    public final void commitFor(String eventType, User recipient, NotificationStrategy channel) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.eventType = eventType;
+        this.recipientClass = recipient == null ? null : recipient.getClass().getSimpleName();
+        this.channel = channel == null ? null : channel.toString();
+        commit();
+    }
+}
@@ -0,0 +1,23 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The validation chain ran for an event (event scope) or for one recipient.
+ */
+@Name("com.topglobales.notification.Validation")
+@Label("Validation")
+@Description("The validation chain ran for an event (event scope) or for one recipient.")
+public final class ValidationEvent extends PipelineEvent {
+    @Label("Scope")
+    public String scope;
+
+    @Label("Passed")
+    public boolean passed;
+
+    @Label("Rejected By")
+    @Description("Check that rejected the notification, null if it passed")
+    public String rejectedBy;
+}
@@ -0,0 +1,119 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless LogSink that writes to a file.
+ * Producers only write into a lock-free ring buffer. A single writer thread drains it into a byte buffer
+ * and writes that buffer to a FileChannel when it's full or when there's nothing else to drain.
+ */
+public class FileLogSink implements LogSink, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LogRingBuffer buffer;
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer;
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    /**
+     * Opens (or creates) the file in append mode and starts the writer thread.
+     *
+     * @param file           The log file.
+     * @param bufferCapacity Max number of entries buffered before the writer catches up, further entries are dropped and counted.
+     * @param writeBufferSize Size in bytes of the buffer written to the channel at once.
+     * @throws IOException If the file can't be opened.
+     */
+    public FileLogSink(Path file, int bufferCapacity, int writeBufferSize) throws IOException {
+        this.buffer = new LogRingBuffer(bufferCapacity);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writeBuffer = ByteBuffer.allocateDirect(writeBufferSize);
+        this.writer = new Thread(this::runWriter, "file-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void append(String text) {
+        if (!closed) {
+            buffer.offer(text);
+        }
+    }
+
+    /**
+     * Stops the writer after it has written everything appended so far, then closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void runWriter() {
+        try {
+            while (!closed) {
+                if (!drainOnce()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+            drainOnce(); // Whatever was appended before close()
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write log file", e);
+        }
+    }
+
+    // Writes every buffered entry; returns false if there was nothing to write
+    private boolean drainOnce() throws IOException {
+        boolean wroteAny = false;
+        String text;
+        while ((text = buffer.poll()) != null) {
+            write(text.getBytes(StandardCharsets.UTF_8));
+            wroteAny = true;
+        }
+        long dropped = buffer.takeDroppedCount();
+        if (dropped > 0) {
+            write(String.format("... %d log entries dropped ...%n", dropped).getBytes(StandardCharsets.UTF_8));
+            wroteAny = true;
+        }
+        if (wroteAny) {
+            flush();
+        }
+        return wroteAny;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes.length > writeBuffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > writeBuffer.capacity()) {
+            ByteBuffer large = ByteBuffer.wrap(bytes);
+            while (large.hasRemaining()) {
+                channel.write(large);
+            }
+            return;
+        }
+        writeBuffer.put(bytes);
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+}
@@ -0,0 +1,90 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer with many producers and a single consumer.
+ * Producers claim a slot with a CAS on the tail and publish it through the slot's sequence number;
+ * the consumer only reads slots whose sequence says they are published. When the buffer is full
+ * the new entry is dropped and counted instead of blocking the producer.
+ */
+public final class LogRingBuffer {
+    // Largest power of two an int holds, so the rounded size is too
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final String[] slots;
+    private final AtomicLongArray sequences; // Slot i is free for position p when sequence == p, readable when sequence == p + 1
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head; // Only touched by the consumer
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two (at least 2). At most 2^30.
+     */
+    public LogRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        // At least 2: with one slot, "published for position p" and "free for position p + 1" are the same sequence.
+        // Can't overflow up to MAX_CAPACITY
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new String[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an entry. Safe to call from any number of threads.
+     *
+     * @return false if the buffer was full and the entry was dropped.
+     */
+    public boolean offer(String entry) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = entry;
+                    sequences.set(index, position + 1); // Publishes the slot write to the consumer
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet(); // Consumer hasn't freed this slot yet: full
+                return false;
+            } else {
+                position = tail.get(); // Another producer took it, try again
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest entry. Must only be called from the single consumer thread.
+     *
+     * @return The entry, or null if nothing is published yet.
+     */
+    public String poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        String entry = slots[index];
+        slots[index] = null;
+        sequences.set(index, head + slots.length); // Frees the slot for the next lap
+        head++;
+        return entry;
+    }
+
+    /**
+     * Returns how many entries were dropped since the last call and resets the count.
+     */
+    public long takeDroppedCount() {
+        return dropped.getAndSet(0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.log;
+
+/**
+ * Destination for the log text produced while dispatching notifications.
+ * Shared by EventManager, User, NotificationContext, SendNotificationCommand and NotificationInvoker,
+ * so none of them needs to know whether the log ends up in the UI, a file or the console.
+ * Implementations must be safe to call from any thread and should not block the caller.
+ */
+public interface LogSink {
+    /**
+     * Sink that prints to standard output, used when nothing else is configured.
+     */
+    LogSink CONSOLE = System.out::print;
+
+    /**
+     * Appends text to the log. The text is written as-is, so callers include their own line breaks.
+     *
+     * @param text The text to append.
+     */
+    void append(String text);
+}
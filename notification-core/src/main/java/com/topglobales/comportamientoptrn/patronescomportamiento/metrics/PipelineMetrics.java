@@ -0,0 +1,251 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.metrics;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Latency histograms and counters of the dispatch pipeline, one set per process (like the JVM's own MXBeans),
+ * so any stage can record without being handed a collaborator: {@code PipelineMetrics.get()}.
+ * Histograms exist per {@link Stage}, per event type (whole dispatch, and time queued) and per channel (send).
+ * Every record call is lock-free and allocation-free once the event type or channel has been seen,
+ * cheap enough to stay on in production. Exported over JMX by {@link #registerMBean()}.
+ */
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+    public static final String OBJECT_NAME = "com.topglobales.comportamientoptrn.patronescomportamiento:type=PipelineMetrics";
+
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics();
+
+    /**
+     * Where time goes, in pipeline order.
+     */
+    public enum Stage {
+        /** EventManager.notify: the whole event, all recipients. */
+        DISPATCH,
+        /** The validation chain, per event (event scope) and per recipient. */
+        VALIDATION,
+        /** Rendering a recipient's message through the user's template. */
+        FORMAT,
+        /** From a command's creation until the invoker runs it. */
+        QUEUE,
+        /** The channel's send, per notification or per batch. */
+        SEND
+    }
+
+    public enum Counter {
+        EVENTS_PUBLISHED,
+        NOTIFICATIONS_REJECTED,
+        NOTIFICATIONS_SENT,
+        SENDS_FAILED,
+        NOTIFICATIONS_DROPPED
+    }
+
+    private final LatencyHistogram[] stages = new LatencyHistogram[Stage.values().length];
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+    private volatile TypeHistogram[] eventTypes = new TypeHistogram[0]; // By event type id, copy-on-write
+    private final Map<NotificationStrategy, LatencyHistogram> channels = new ConcurrentHashMap<>();
+
+    private record TypeHistogram(EventType eventType, LatencyHistogram dispatch, LatencyHistogram queue) {
+    }
+
+    private PipelineMetrics() {
+        Arrays.setAll(stages, i -> new LatencyHistogram());
+        Arrays.setAll(counters, i -> new LongAdder());
+    }
+
+    public static PipelineMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records the time a stage took since {@code startNanos}, a value of {@link System#nanoTime()}.
+     */
+    public void record(Stage stage, long startNanos) {
+        stages[stage.ordinal()].recordSince(startNanos);
+    }
+
+    /**
+     * Records a whole dispatch: in the DISPATCH stage and for its event type.
+     */
+    public void recordDispatch(EventType eventType, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        stages[Stage.DISPATCH.ordinal()].record(nanos);
+        eventType(eventType).record(nanos);
+    }
+
+    /**
+     * Records the time a command waited to be run: in the QUEUE stage and, if it has one, for its event type.
+     */
+    public void recordQueue(EventType eventType, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        stages[Stage.QUEUE.ordinal()].record(nanos);
+        if (eventType != null) {
+            typeHistograms(eventType).queue().record(nanos);
+        }
+    }
+
+    /**
+     * Records a channel send: in the SEND stage and for its channel.
+     */
+    public void recordSend(NotificationStrategy channel, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        stages[Stage.SEND.ordinal()].record(nanos);
+        channel(channel).record(nanos);
+    }
+
+    public void increment(Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    public void add(Counter counter, long amount) {
+        counters[counter.ordinal()].add(amount);
+    }
+
+    public long getCount(Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    public LatencyHistogram stage(Stage stage) {
+        return stages[stage.ordinal()];
+    }
+
+    /**
+     * @return Dispatch latencies of an event type.
+     */
+    public LatencyHistogram eventType(EventType eventType) {
+        return typeHistograms(eventType).dispatch();
+    }
+
+    /**
+     * @return How long the commands of an event type waited in the invoker, e.g. to check that
+     * security alerts don't queue behind a promotion.
+     */
+    public LatencyHistogram eventTypeQueue(EventType eventType) {
+        return typeHistograms(eventType).queue();
+    }
+
+    public LatencyHistogram channel(NotificationStrategy channel) {
+        LatencyHistogram histogram = channels.get(channel); // No lambda allocated on the common path
+        return histogram != null ? histogram : channels.computeIfAbsent(channel, key -> new LatencyHistogram());
+    }
+
+    private TypeHistogram typeHistograms(EventType eventType) {
+        TypeHistogram[] histograms = eventTypes;
+        int id = eventType.getId();
+        if (id < histograms.length && histograms[id] != null) {
+            return histograms[id];
+        }
+        synchronized (this) {
+            histograms = eventTypes;
+            if (id >= histograms.length || histograms[id] == null) {
+                histograms = Arrays.copyOf(histograms, Math.max(histograms.length, Math.max(EventType.count(), id + 1)));
+                histograms[id] = new TypeHistogram(eventType, new LatencyHistogram(), new LatencyHistogram());
+                eventTypes = histograms;
+            }
+            return histograms[id];
+        }
+    }
+
+    /**
+     * @return Channels seen so far, with their histograms.
+     */
+    public Map<NotificationStrategy, LatencyHistogram> getChannels() {
+        return Map.copyOf(channels);
+    }
+
+    /**
+     * Registers this object with the platform MBean server. Does nothing if it's already registered.
+     * @throws IllegalStateException if JMX refuses it.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already exported
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    // --- PipelineMetricsMXBean, computed on each read ---
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            values.put(counter.name(), getCount(counter));
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getStageCounts() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            values.put(stage.name(), stage(stage).snapshot().getCount());
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getStageMeanMicros() {
+        return byStage(snapshot -> snapshot.getMeanNanos() / 1_000.0);
+    }
+
+    @Override
+    public Map<String, Double> getStageP50Micros() {
+        return byStage(snapshot -> snapshot.getValueAtQuantile(0.50) / 1_000.0);
+    }
+
+    @Override
+    public Map<String, Double> getStageP99Micros() {
+        return byStage(snapshot -> snapshot.getValueAtQuantile(0.99) / 1_000.0);
+    }
+
+    @Override
+    public Map<String, Double> getEventTypeP99Micros() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (TypeHistogram entry : eventTypes) {
+            if (entry != null) {
+                values.put(entry.eventType().getName(), entry.dispatch().snapshot().getValueAtQuantile(0.99) / 1_000.0);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getEventTypeQueueP99Micros() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (TypeHistogram entry : eventTypes) {
+            if (entry != null && entry.queue().snapshot().getCount() > 0) {
+                values.put(entry.eventType().getName(), entry.queue().snapshot().getValueAtQuantile(0.99) / 1_000.0);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getChannelP99Micros() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        channels.forEach((channel, histogram) -> values.put(channel.toString(), histogram.snapshot().getValueAtQuantile(0.99) / 1_000.0));
+        return values;
+    }
+
+    private Map<String, Double> byStage(ToDoubleFunction<LatencyHistogram.Snapshot> value) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            values.put(stage.name(), value.applyAsDouble(stage(stage).snapshot()));
+        }
+        return values;
+    }
+}
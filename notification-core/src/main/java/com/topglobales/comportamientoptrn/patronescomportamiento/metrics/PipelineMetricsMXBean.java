@@ -0,0 +1,26 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link PipelineMetrics}, registered as {@value PipelineMetrics#OBJECT_NAME}.
+ * Latencies are since start, in microseconds, keyed by stage, event type or channel name.
+ */
+public interface PipelineMetricsMXBean {
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getStageCounts();
+
+    Map<String, Double> getStageMeanMicros();
+
+    Map<String, Double> getStageP50Micros();
+
+    Map<String, Double> getStageP99Micros();
+
+    Map<String, Double> getEventTypeP99Micros();
+
+    Map<String, Double> getEventTypeQueueP99Micros();
+
+    Map<String, Double> getChannelP99Micros();
+}
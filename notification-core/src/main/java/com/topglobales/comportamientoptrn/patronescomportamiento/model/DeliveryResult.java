@@ -0,0 +1,55 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+/**
+ * Outcome of handing a notification (or a batch) to a channel.
+ *
+ * @param status What happened.
+ * @param detail The provider's answer on success, the reason otherwise.
+ */
+public record DeliveryResult(Status status, String detail) {
+
+    public enum Status {
+        /** The provider accepted it. */
+        DELIVERED,
+        /** The provider was called and failed, it may be retried. */
+        FAILED,
+        /** Not attempted because the channel's circuit breaker is open, it may be retried. */
+        CIRCUIT_OPEN,
+        /** Not attempted and never will be, e.g. over a rate limit that drops. */
+        DROPPED
+    }
+
+    public static DeliveryResult success(String detail) {
+        return new DeliveryResult(Status.DELIVERED, detail);
+    }
+
+    public static DeliveryResult failure(String detail) {
+        return new DeliveryResult(Status.FAILED, detail);
+    }
+
+    /**
+     * Failed fast: the channel wasn't called at all.
+     */
+    public static DeliveryResult rejectedByCircuitBreaker(String channel) {
+        return new DeliveryResult(Status.CIRCUIT_OPEN, "Circuit breaker open for " + channel + ", not attempted");
+    }
+
+    /**
+     * Given up on without calling the channel.
+     */
+    public static DeliveryResult dropped(String reason) {
+        return new DeliveryResult(Status.DROPPED, reason);
+    }
+
+    public boolean successful() {
+        return status == Status.DELIVERED;
+    }
+
+    public boolean circuitOpen() {
+        return status == Status.CIRCUIT_OPEN;
+    }
+
+    public boolean dropped() {
+        return status == Status.DROPPED;
+    }
+}
@@ -0,0 +1,241 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Digest mode for subscriptions: instead of one notification per event, a user gets one combined notification
+ * every {@code flushInterval}, or as soon as {@code maxItems} events are waiting.
+ * Subscribe the listener returned by {@link #digestFor(User)} instead of the user:
+ * <pre>
+ *     eventManager.subscribe(PROMOTION, digester.digestFor(guest));
+ * </pre>
+ * Events are validated for the user as usual when they're published; the digest is rendered through the user's
+ * template and sent through the user's invoker like any other notification, so the invoker's dispatcher batches
+ * the digests of one flush per channel. A waiting event costs two references: its type and its message,
+ * which is the same instance for every recipient.
+ */
+public class Digester implements AutoCloseable {
+    // Type of a digest that mixes several event types
+    private static final EventType DIGEST = EventType.of("digest");
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    // Events taken from a listener's buffer to be sent as one digest
+    private record Digest(EventType[] types, String[] messages, int count) {
+    }
+
+    private final int maxItems;
+    private final LogSink logTarget;
+    private final Map<DigestListener, Boolean> listeners = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "digester-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Digest of one subscription: buffers the events it receives until the digester flushes it.
+     */
+    public final class DigestListener implements EventListener {
+        private final User user;
+        private EventType[] types = new EventType[4]; // Guarded by this
+        private String[] messages = new String[4];
+        private int size;
+
+        private DigestListener(User user) {
+            this.user = user;
+        }
+
+        @Override
+        public void update(String eventType, String message) {
+            update(EventType.of(eventType), message);
+        }
+
+        @Override
+        public void update(EventType eventType, String message) {
+            Digest full = null;
+            synchronized (this) {
+                if (size == types.length) {
+                    int capacity = Math.min(size * 2, maxItems); // size < maxItems, a full buffer is taken right away
+                    types = Arrays.copyOf(types, capacity);
+                    messages = Arrays.copyOf(messages, capacity);
+                }
+                types[size] = eventType;
+                messages[size] = message;
+                size++;
+                if (size >= maxItems) {
+                    full = take(); // In the same critical section, so the next event starts a new buffer
+                }
+            }
+            if (full != null) {
+                sendLater(this, full); // Don't wait for the timer, nor make the publisher send it
+            }
+        }
+
+        // Guarded by this
+        private Digest take() {
+            Digest digest = new Digest(types, messages, size);
+            types = new EventType[4];
+            messages = new String[4];
+            size = 0;
+            return digest;
+        }
+
+        @Override
+        public User getRecipient() {
+            return user;
+        }
+
+        /**
+         * @return Events waiting for the next digest.
+         */
+        public synchronized int getBufferedCount() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "DigestListener for " + user.getName();
+        }
+    }
+
+    /**
+     * @param flushInterval How often every digest with waiting events is sent.
+     * @param maxItems      Events that trigger sending a digest right away.
+     * @param logTarget     The LogSink for logging, can be null.
+     */
+    public Digester(Duration flushInterval, int maxItems, LogSink logTarget) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("maxItems must be positive");
+        }
+        this.maxItems = maxItems;
+        this.logTarget = logTarget;
+        long interval = flushInterval.toNanos();
+        flushTimer.scheduleAtFixedRate(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates the digest of one subscription of a user. Use a new one per subscription.
+     * @param user The user the digests are sent to.
+     * @return The listener to subscribe in place of the user.
+     */
+    public DigestListener digestFor(User user) {
+        DigestListener listener = new DigestListener(Objects.requireNonNull(user, "user cannot be null"));
+        listeners.put(listener, Boolean.TRUE);
+        return listener;
+    }
+
+    /**
+     * Stops flushing a digest. Its waiting events are sent now.
+     */
+    public void remove(DigestListener listener) {
+        if (listeners.remove(listener) != null) {
+            flush(listener);
+        }
+    }
+
+    /**
+     * Sends every digest with waiting events now.
+     */
+    public void flush() {
+        int sent = 0;
+        for (DigestListener listener : listeners.keySet()) {
+            sent += flush(listener) ? 1 : 0;
+        }
+        if (sent > 0) {
+            log(String.format("--- Digester: Flushed %d digest(s). ---", sent));
+        }
+    }
+
+    /**
+     * Stops the flush timer, waits for the full digests it is already sending and sends what is waiting.
+     */
+    @Override
+    public void close() {
+        flushTimer.shutdown(); // Cancels the periodic flush, but not the digests handed to it
+        try {
+            if (!flushTimer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log("--- Digester: Flush thread is still sending, not waiting for it. ---");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private boolean flush(DigestListener listener) {
+        Digest digest;
+        synchronized (listener) {
+            if (listener.size == 0) {
+                return false;
+            }
+            digest = listener.take();
+        }
+        send(listener, digest);
+        return true;
+    }
+
+    // On the flush thread, after the digests the timer is already sending; inline once the digester is closed
+    private void sendLater(DigestListener listener, Digest digest) {
+        try {
+            flushTimer.execute(() -> send(listener, digest));
+        } catch (RejectedExecutionException e) {
+            send(listener, digest);
+        }
+    }
+
+    private void send(DigestListener listener, Digest digest) {
+        try {
+            // One event type: sent as that type, so its limits and logs still apply
+            EventType type = digest.types()[0];
+            for (int i = 1; i < digest.count() && type != null; i++) {
+                type = digest.types()[i] == type ? type : null;
+            }
+            listener.user.update(type != null ? type : DIGEST, render(digest, type == null));
+        } catch (RuntimeException e) {
+            log(String.format("--- Digester: Digest of %d event(s) for %s failed: %s ---", digest.count(), listener.user.getName(), e));
+        }
+    }
+
+    // The raw message of the digest, formatted by the user's template like any other
+    private static String render(Digest events, boolean mixed) {
+        EventType[] types = events.types();
+        String[] messages = events.messages();
+        int count = events.count();
+        StringBuilder digest = new StringBuilder(32 + count * 48);
+        digest.append(count).append(count == 1 ? " update" : " updates").append(" since the last digest:");
+        for (int i = 0; i < count; i++) {
+            digest.append("\n- ");
+            if (mixed) {
+                digest.append('[').append(types[i].getName()).append("] ");
+            }
+            digest.append(messages[i]);
+        }
+        return digest.toString();
+    }
+
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n");
+        } else {
+            System.out.println(message); // Fallback
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Digester";
+    }
+}
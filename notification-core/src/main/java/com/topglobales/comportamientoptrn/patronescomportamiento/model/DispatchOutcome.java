@@ -0,0 +1,13 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+/**
+ * Result of dispatching one event to one recipient.
+ */
+public enum DispatchOutcome {
+    /** The validation chain passed and the recipient was notified. */
+    DELIVERED,
+    /** A validator in the chain rejected the notification for this recipient. */
+    REJECTED,
+    /** The recipient threw while being notified. */
+    FAILED
+}
@@ -0,0 +1,74 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated outcome of an asynchronous {@link EventManager#notifyAsync} call.
+ * Holds one entry per recipient, in subscription order, plus the totals per outcome.
+ * When the event itself is rejected (event-level validation), no recipient is visited:
+ * the recipient list is empty and every subscriber is counted as rejected.
+ */
+public class DispatchReport {
+    @Getter
+    private final String eventType;
+    @Getter
+    private final List<Recipient> recipients;
+    @Getter
+    private final int delivered;
+    @Getter
+    private final int rejected;
+    @Getter
+    private final int failed;
+
+    private DispatchReport(String eventType, int rejectedCount) {
+        this.eventType = eventType;
+        this.recipients = Collections.emptyList();
+        this.delivered = 0;
+        this.rejected = rejectedCount;
+        this.failed = 0;
+    }
+
+    /**
+     * Report for an event rejected before reaching any recipient.
+     * @param subscriberCount Number of subscribers the event would have gone to.
+     */
+    static DispatchReport rejectedForAll(String eventType, int subscriberCount) {
+        return new DispatchReport(eventType, subscriberCount);
+    }
+
+    DispatchReport(String eventType, Recipient[] recipients) {
+        this.eventType = eventType;
+        this.recipients = Collections.unmodifiableList(Arrays.asList(recipients));
+        int deliveredCount = 0, rejectedCount = 0, failedCount = 0;
+        for (Recipient recipient : recipients) {
+            switch (recipient.outcome()) {
+                case DELIVERED -> deliveredCount++;
+                case REJECTED -> rejectedCount++;
+                case FAILED -> failedCount++;
+            }
+        }
+        this.delivered = deliveredCount;
+        this.rejected = rejectedCount;
+        this.failed = failedCount;
+    }
+
+    /**
+     * Outcome for a single recipient.
+     *
+     * @param name    Printable name of the listener.
+     * @param outcome What happened to the notification.
+     * @param failure The exception thrown by the listener when the outcome is FAILED, null otherwise.
+     */
+    public record Recipient(String name, DispatchOutcome outcome, Throwable failure) {
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Event [%s]: %d delivered, %d rejected, %d failed (of %d)",
+                eventType, delivered, rejected, failed, delivered + rejected + failed);
+    }
+}
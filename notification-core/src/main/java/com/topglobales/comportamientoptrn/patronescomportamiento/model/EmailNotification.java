@@ -0,0 +1,31 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.List;
+
+/**
+ * Concrete Strategy: Implements sending notifications via Email.
+ */
+public class EmailNotification implements NotificationStrategy {
+    @Override
+    public String send(User user, String message) {
+        String output = String.format("--- Email Sent ---\nTo: %s (%s)\n%s\n------------------",
+                user.getName(), user.getEmail(), message);
+        return output; // Return the string
+    }
+
+    /**
+     * Simulates the provider's bulk API: one call, one result for the whole batch.
+     */
+    @Override
+    public String sendBatch(List<? extends OutgoingNotification> notifications) {
+        StringBuilder output = new StringBuilder(128 * notifications.size());
+        output.append("--- Email Batch Sent (").append(notifications.size()).append(" messages) ---\n");
+        for (OutgoingNotification notification : notifications) {
+            output.append("To: ").append(notification.getRecipient().getName()).append(" (").append(notification.getRecipient().getEmail()).append(")\n")
+                    .append(notification.getMessage()).append('\n');
+        }
+        return output.append("------------------").toString();
+    }
+
+    @Override public String toString() { return "Email Channel"; }
+}
\ No newline at end of file
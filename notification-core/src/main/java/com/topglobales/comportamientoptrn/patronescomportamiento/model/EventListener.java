@@ -0,0 +1,37 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+/**
+ * Observer Interface: Declares the update method called by the Subject.
+ * Users (and perhaps other components like logging services) will implement this.
+ */
+public interface EventListener {
+    /**
+     * Called by the EventManager (Subject) when a relevant event occurs.
+     *
+     * @param eventType The type of event that occurred (e.g., "profileUpdate", "securityAlert").
+     * @param message   The raw message associated with the event.
+     */
+    void update(String eventType, String message);
+
+    /**
+     * Same as {@link #update(String, String)}, with the event type the EventManager has already resolved,
+     * so listeners that need it (e.g. users, whose rate limits are per event type) don't look it up again.
+     * The EventManager calls this one; by default it forwards the type's name.
+     *
+     * @param eventType The type of event that occurred.
+     * @param message   The raw message associated with the event.
+     */
+    default void update(EventType eventType, String message) {
+        update(eventType.getName(), message);
+    }
+
+    /**
+     * The user this listener notifies, which recipient-level validators check (e.g. blocked users).
+     * Listeners that stand in for a user, like a digest, return that user.
+     *
+     * @return The user, or null if this listener doesn't notify a user.
+     */
+    default User getRecipient() {
+        return null;
+    }
+}
\ No newline at end of file
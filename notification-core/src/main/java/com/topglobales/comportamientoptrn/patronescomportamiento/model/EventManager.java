@@ -0,0 +1,501 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.jfr.EventReceivedEvent;
+import com.topglobales.comportamientoptrn.patronescomportamiento.jfr.ValidationEvent;
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.metrics.PipelineMetrics;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.NotificationContext;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.NotificationContextPool;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ValidationHandler;
+import com.topglobales.comportamientoptrn.patronescomportamiento.validator.ValidationScope;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EventManager {
+    // Subscriptions per topic or pattern, with the fan-out of each published topic cached by id (safe across threads).
+    private final SubscriberRegistry listeners = new SubscriberRegistry();
+    private final ValidationHandler validationChain; // Head of the validation chain
+
+    // Virtual threads for notifyAsync: one per recipient, bounded by dispatchPermits
+    private final ExecutorService dispatchExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("event-dispatch-", 0).factory());
+    private final Semaphore dispatchPermits;
+    // Reused validation contexts: at most one per recipient in flight, plus the sync path
+    private final NotificationContextPool contextPool;
+
+    public static final int DEFAULT_MAX_CONCURRENT_DISPATCHES = 1024;
+
+    /**
+     * Constructs an EventManager with a validation chain.
+     * @param validationChain The first handler in the validation chain. Can be null if no validation is desired.
+     */
+    public EventManager(ValidationHandler validationChain) {
+        this(validationChain, DEFAULT_MAX_CONCURRENT_DISPATCHES);
+    }
+
+    /**
+     * Constructs an EventManager with a validation chain and a limit for asynchronous dispatch.
+     * @param validationChain         The first handler in the validation chain. Can be null if no validation is desired.
+     * @param maxConcurrentDispatches Max number of recipients processed at the same time by {@link #notifyAsync}.
+     */
+    public EventManager(ValidationHandler validationChain, int maxConcurrentDispatches) {
+        if (maxConcurrentDispatches <= 0) {
+            throw new IllegalArgumentException("maxConcurrentDispatches must be positive");
+        }
+        this.validationChain = validationChain;
+        this.dispatchPermits = new Semaphore(maxConcurrentDispatches);
+        this.contextPool = new NotificationContextPool(maxConcurrentDispatches + 1);
+    }
+
+    /**
+     * Subscribes a listener to a specific event type, or to a topic pattern such as "security.*" or "security.#".
+     *
+     * @param eventType The event type or pattern to subscribe to.
+     * @param listener  The listener to add.
+     */
+    public void subscribe(String eventType, EventListener listener) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        subscribe(EventType.of(eventType), listener);
+    }
+
+    /**
+     * Subscribes a listener to a specific event type or topic pattern, using a pre-resolved handle.
+     *
+     * @param eventType The event type or pattern to subscribe to.
+     * @param listener  The listener to add.
+     */
+    public void subscribe(EventType eventType, EventListener listener) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        // Invalidates the cached fan-out of the topics this subscription matches
+        listeners.add(eventType, listener, null);
+        System.out.printf("EventManager: %s subscribed to [%s]\n", getListenerName(listener), eventType);
+    }
+
+    /**
+     * Subscribes a listener to the events of a type or pattern that match a content filter,
+     * e.g. only events with severity >= HIGH. The filter is indexed, not tested against every event.
+     *
+     * @param eventType The event type or pattern to subscribe to.
+     * @param listener  The listener to add.
+     * @param filter    Conditions over the event attributes and message.
+     */
+    public void subscribe(String eventType, EventListener listener, SubscriptionFilter filter) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        subscribe(EventType.of(eventType), listener, filter);
+    }
+
+    /**
+     * Filtered subscription using a pre-resolved handle, see {@link #subscribe(String, EventListener, SubscriptionFilter)}.
+     *
+     * @param eventType The event type or pattern to subscribe to.
+     * @param listener  The listener to add.
+     * @param filter    Conditions over the event attributes and message.
+     */
+    public void subscribe(EventType eventType, EventListener listener, SubscriptionFilter filter) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        Objects.requireNonNull(filter, "filter cannot be null");
+        listeners.add(eventType, listener, filter);
+        System.out.printf("EventManager: %s subscribed to [%s] where %s\n", getListenerName(listener), eventType, filter);
+    }
+
+    /**
+     * Unsubscribes a listener from a specific event type. If it has several subscriptions to it,
+     * an unfiltered one is removed first, otherwise the oldest filtered one.
+     *
+     * @param eventType The event type or pattern to unsubscribe from.
+     * @param listener  The listener to remove.
+     */
+    public void unsubscribe(String eventType, EventListener listener) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        unsubscribe(EventType.of(eventType), listener);
+    }
+
+    /**
+     * Unsubscribes a listener from a specific event type, using a pre-resolved handle.
+     *
+     * @param eventType The event type or pattern to unsubscribe from.
+     * @param listener  The listener to remove.
+     */
+    public void unsubscribe(EventType eventType, EventListener listener) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        if (listeners.remove(eventType, listener)) {
+            System.out.printf("EventManager: %s unsubscribed from [%s]\n", getListenerName(listener), eventType);
+        }
+    }
+
+    /**
+     * Opens a reactive stream of the events of a type or pattern, see {@link EventStream}.
+     * Subscribers run on virtual threads, each with a buffer of {@link Flow#defaultBufferSize()} events.
+     *
+     * @param eventType The event type or pattern to stream.
+     * @return The stream, already subscribed. Close it to unsubscribe.
+     */
+    public EventStream publisher(String eventType) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        return publisher(EventType.of(eventType), dispatchExecutor, Flow.defaultBufferSize());
+    }
+
+    /**
+     * Opens a reactive stream of the events of a type or pattern, see {@link EventStream}.
+     *
+     * @param eventType      The event type or pattern to stream.
+     * @param executor       Runs the subscribers' onNext calls.
+     * @param bufferCapacity Max events waiting for each subscriber; more are dropped for that subscriber.
+     * @return The stream, already subscribed. Close it to unsubscribe.
+     */
+    public EventStream publisher(EventType eventType, Executor executor, int bufferCapacity) {
+        EventStream stream = newStream(eventType, executor, bufferCapacity);
+        subscribe(eventType, stream);
+        return stream;
+    }
+
+    /**
+     * Opens a reactive stream of the events of a type or pattern that match a content filter, see {@link EventStream}.
+     *
+     * @param eventType      The event type or pattern to stream.
+     * @param filter         Conditions over the event attributes and message.
+     * @param executor       Runs the subscribers' onNext calls.
+     * @param bufferCapacity Max events waiting for each subscriber; more are dropped for that subscriber.
+     * @return The stream, already subscribed. Close it to unsubscribe.
+     */
+    public EventStream publisher(EventType eventType, SubscriptionFilter filter, Executor executor, int bufferCapacity) {
+        EventStream stream = newStream(eventType, executor, bufferCapacity);
+        subscribe(eventType, stream, filter);
+        return stream;
+    }
+
+    private EventStream newStream(EventType eventType, Executor executor, int bufferCapacity) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        Objects.requireNonNull(executor, "executor cannot be null");
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("bufferCapacity must be positive");
+        }
+        return new EventStream(this, eventType, executor, bufferCapacity);
+    }
+
+    /**
+     * Notifies all listeners subscribed to a specific event type, or to a pattern matching it, after passing the message
+     * through the validation chain. A listener is notified once even if several of its subscriptions match.
+     * Event-level validators run once for the whole event; recipient-level validators run for each listener.
+     *
+     * @param eventType The type of event that occurred.
+     * @param message   The raw message data associated with the event.
+     * @param logTarget The LogSink for logging dispatch messages, can be null.
+     */
+    public void notify(String eventType, String message, LogSink logTarget) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        notify(EventType.of(eventType), message, logTarget);
+    }
+
+    /**
+     * Same as {@link #notify(String, String, LogSink)} with a pre-resolved event type: no string hashing on this path.
+     *
+     * @param eventType The type of event that occurred.
+     * @param message   The raw message data associated with the event.
+     * @param logTarget The LogSink for logging dispatch messages, can be null.
+     */
+    public void notify(EventType eventType, String message, LogSink logTarget) {
+        notify(eventType, message, Map.of(), logTarget);
+    }
+
+    /**
+     * Same as {@link #notify(EventType, String, LogSink)} for an event with attributes, e.g. "severity" or "region".
+     * Only filtered subscriptions look at the attributes.
+     *
+     * @param eventType  The type of event that occurred.
+     * @param message    The raw message data associated with the event.
+     * @param attributes The event attributes, matched against subscription filters.
+     * @param logTarget  The LogSink for logging dispatch messages, can be null.
+     */
+    public void notify(EventType eventType, String message, Map<String, ?> attributes, LogSink logTarget) {
+        requirePublishable(eventType);
+        Objects.requireNonNull(attributes, "attributes cannot be null");
+        long start = System.nanoTime();
+        PipelineMetrics.get().increment(PipelineMetrics.Counter.EVENTS_PUBLISHED);
+        EventReceivedEvent received = new EventReceivedEvent(); // Flight Recorder, a no-op unless recording
+        received.begin();
+        try {
+            // Message content validation (e.g., not empty) will be handled by the chain.
+
+            String initialLog = String.format("--- EventManager: Received event [%s] with raw message: \"%s\" ---",
+                    eventType, message);
+            log(initialLog + "\n", logTarget);
+
+            // Immutable snapshot: subscriptions changing on other threads won't affect this dispatch
+            EventListener[] eventListeners = listeners.publish(eventType, message, attributes);
+            received.listenerCount = eventListeners.length;
+
+            if (eventListeners.length == 0) {
+                String noListenersLog = String.format("--- EventManager: No listeners for event [%s]. ---", eventType);
+                log(noListenersLog + "\n\n", logTarget);
+                return;
+            }
+
+            String preNotifyLog = String.format("--- EventManager: Processing event [%s] for %d listener(s) ---",
+                    eventType, eventListeners.length);
+            log(preNotifyLog + "\n", logTarget);
+
+            if (!validateEvent(eventType, message, logTarget)) {
+                return; // Rejected for everyone, no listener is visited
+            }
+
+            for (EventListener listener : eventListeners) { // No copy needed, the snapshot never changes
+                dispatchTo(listener, eventType, message, logTarget);
+            }
+            log(String.format("--- EventManager: Finished processing event [%s] for all applicable listeners. ---\n\n", eventType), logTarget);
+        } finally {
+            PipelineMetrics.get().recordDispatch(eventType, start);
+            received.commitFor(eventType.getName(), null, null);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #notify(String, String, LogSink)}.
+     * Each recipient is validated and notified on its own virtual thread, with at most
+     * {@code maxConcurrentDispatches} recipients in flight at once. The caller returns immediately.
+     *
+     * @param eventType The type of event that occurred.
+     * @param message   The raw message data associated with the event.
+     * @param logTarget The LogSink for logging dispatch messages, can be null.
+     * @return A future completed with the outcome of every recipient once all of them are processed.
+     */
+    public CompletableFuture<DispatchReport> notifyAsync(String eventType, String message, LogSink logTarget) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        return notifyAsync(EventType.of(eventType), message, logTarget);
+    }
+
+    /**
+     * Same as {@link #notifyAsync(String, String, LogSink)} with a pre-resolved event type.
+     *
+     * @param eventType The type of event that occurred.
+     * @param message   The raw message data associated with the event.
+     * @param logTarget The LogSink for logging dispatch messages, can be null.
+     * @return A future completed with the outcome of every recipient once all of them are processed.
+     */
+    public CompletableFuture<DispatchReport> notifyAsync(EventType eventType, String message, LogSink logTarget) {
+        return notifyAsync(eventType, message, Map.of(), logTarget);
+    }
+
+    /**
+     * Same as {@link #notifyAsync(EventType, String, LogSink)} for an event with attributes, e.g. "severity" or "region".
+     *
+     * @param eventType  The type of event that occurred.
+     * @param message    The raw message data associated with the event.
+     * @param attributes The event attributes, matched against subscription filters.
+     * @param logTarget  The LogSink for logging dispatch messages, can be null.
+     * @return A future completed with the outcome of every recipient once all of them are processed.
+     */
+    public CompletableFuture<DispatchReport> notifyAsync(EventType eventType, String message, Map<String, ?> attributes, LogSink logTarget) {
+        requirePublishable(eventType);
+        Objects.requireNonNull(attributes, "attributes cannot be null");
+
+        String initialLog = String.format("--- EventManager: Received async event [%s] with raw message: \"%s\" ---",
+                eventType, message);
+        log(initialLog + "\n", logTarget);
+
+        long start = System.nanoTime();
+        PipelineMetrics.get().increment(PipelineMetrics.Counter.EVENTS_PUBLISHED);
+        EventReceivedEvent received = new EventReceivedEvent();
+        received.begin();
+        received.async = true;
+        EventListener[] eventListeners = listeners.publish(eventType, message, attributes);
+        received.listenerCount = eventListeners.length;
+        CompletableFuture<DispatchReport> result = new CompletableFuture<>();
+        if (eventListeners.length == 0) {
+            log(String.format("--- EventManager: No listeners for event [%s]. ---\n\n", eventType), logTarget);
+            result.complete(new DispatchReport(eventType.getName(), new DispatchReport.Recipient[0]));
+            PipelineMetrics.get().recordDispatch(eventType, start);
+            received.commitFor(eventType.getName(), null, null);
+            return result;
+        }
+        if (!validateEvent(eventType, message, logTarget)) {
+            result.complete(DispatchReport.rejectedForAll(eventType.getName(), eventListeners.length));
+            PipelineMetrics.get().recordDispatch(eventType, start);
+            received.commitFor(eventType.getName(), null, null);
+            return result;
+        }
+
+        // The coordinator only waits for permits, so neither the caller nor the carrier threads ever block on it
+        dispatchExecutor.execute(() -> {
+            DispatchReport.Recipient[] outcomes = new DispatchReport.Recipient[eventListeners.length];
+            AtomicInteger remaining = new AtomicInteger(eventListeners.length);
+            for (int i = 0; i < eventListeners.length; i++) {
+                EventListener listener = eventListeners[i];
+                int slot = i;
+                try {
+                    dispatchPermits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.completeExceptionally(e);
+                    return;
+                }
+                dispatchExecutor.execute(() -> {
+                    try {
+                        outcomes[slot] = dispatchSafely(listener, eventType, message, logTarget);
+                    } finally {
+                        dispatchPermits.release();
+                        // The last recipient publishes the report; the decrement orders all slot writes before it
+                        if (remaining.decrementAndGet() == 0) {
+                            PipelineMetrics.get().recordDispatch(eventType, start);
+                            received.commitFor(eventType.getName(), null, null); // Committed by the last recipient's thread
+                            result.complete(new DispatchReport(eventType.getName(), outcomes));
+                        }
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs the event-level validators once for the whole event.
+     *
+     * @return true if the event may be dispatched, false if it's rejected for every recipient.
+     */
+    private boolean validateEvent(EventType eventType, String message, LogSink logTarget) {
+        if (validationChain == null) {
+            return true;
+        }
+        // No recipient in this context: these validators only look at the event itself
+        NotificationContext eventContext = contextPool.acquire(eventType.getName(), message, logTarget, null);
+        try {
+            log(String.format("--- EventManager: Starting event-level validation for [%s]... ---\n", eventType), logTarget);
+            ValidationEvent validation = new ValidationEvent();
+            validation.begin();
+            long start = System.nanoTime();
+            boolean passed = validationChain.validate(eventContext, ValidationScope.EVENT);
+            PipelineMetrics.get().record(PipelineMetrics.Stage.VALIDATION, start);
+            commitValidation(validation, ValidationScope.EVENT, passed, eventContext);
+            if (!passed) {
+                PipelineMetrics.get().increment(PipelineMetrics.Counter.NOTIFICATIONS_REJECTED);
+                // Reasons are only rendered here, on the rejection path
+                log(String.format("--- EventManager: Validation failed for event [%s]. Notification aborted for all recipients. ---\nReasons:\n%s\n\n",
+                                eventType, String.join("\n", eventContext.getValidationMessages())),
+                        logTarget);
+                return false;
+            }
+            return true;
+        } finally {
+            contextPool.release(eventContext);
+        }
+    }
+
+    // Flight Recorder: which check rejected it, "custom" for validators that only add a message
+    private static void commitValidation(ValidationEvent validation, ValidationScope scope, boolean passed, NotificationContext context) {
+        if (!validation.shouldCommit()) {
+            return;
+        }
+        validation.scope = scope.name();
+        validation.passed = passed;
+        if (!passed) {
+            validation.rejectedBy = context.getRejection() != null ? context.getRejection().name() : "custom";
+        }
+        validation.commitFor(context.getEventType(), context.getRecipientUser(), null);
+    }
+
+    /**
+     * Runs the recipient-level validators for one listener and, if they pass, notifies it.
+     * Event-level validation must already have passed.
+     *
+     * @return true if the listener was notified, false if the validation chain rejected it.
+     */
+    private boolean dispatchTo(EventListener listener, EventType eventType, String message, LogSink logTarget) {
+        User targetUser = listener.getRecipient(); // The user itself, or the one a digest stands in for
+        String listenerName = getListenerName(listener);
+
+        if (validationChain != null) {
+            // --- Chain of Responsibility: Validate the notification for this specific listener context ---
+            // Context now includes the specific user if applicable, or null if listener is not a User.
+            NotificationContext notificationContext = contextPool.acquire(eventType.getName(), message, logTarget, targetUser);
+            try {
+                ValidationEvent validation = new ValidationEvent();
+                validation.begin();
+                long start = System.nanoTime();
+                boolean chainPassed = validationChain.validate(notificationContext, ValidationScope.RECIPIENT); // This updates context.isValid
+                PipelineMetrics.get().record(PipelineMetrics.Stage.VALIDATION, start);
+                commitValidation(validation, ValidationScope.RECIPIENT, chainPassed, notificationContext);
+
+                if (!chainPassed) { // If chain indicates failure (a validator returned false).
+                    PipelineMetrics.get().increment(PipelineMetrics.Counter.NOTIFICATIONS_REJECTED);
+                    // The context's isValid flag should also be false.
+                    log(String.format("--- EventManager: Validation failed for %s regarding event [%s]. Notification aborted for this recipient. ---\nReasons:\n%s\n",
+                                    listenerName, eventType, String.join("\n", notificationContext.getValidationMessages())),
+                            logTarget);
+                    return false; // Skip this listener
+                }
+            } finally {
+                contextPool.release(notificationContext);
+            }
+            // Nothing logged when it passes: this runs for every recipient, only a rejection is worth rendering
+        } else {
+            // No validation chain configured, proceed directly for this listener.
+            log(String.format("--- EventManager: No validation chain for %s. Proceeding directly. ---\n", listenerName), logTarget);
+        }
+
+        // Use the original message. A more complex system might allow validators to modify the message. (For now, I don't want to add that)
+        String messageToDispatch = message;
+
+        log(String.format("--- EventManager: Notifying %s for event [%s]... --- \n", listenerName, eventType), logTarget);
+        listener.update(eventType, messageToDispatch);
+        return true;
+    }
+
+    // Same as dispatchTo, but a failing listener is reported instead of propagating to the other recipients
+    private DispatchReport.Recipient dispatchSafely(EventListener listener, EventType eventType, String message, LogSink logTarget) {
+        String listenerName = getListenerName(listener);
+        try {
+            DispatchOutcome outcome = dispatchTo(listener, eventType, message, logTarget)
+                    ? DispatchOutcome.DELIVERED
+                    : DispatchOutcome.REJECTED;
+            return new DispatchReport.Recipient(listenerName, outcome, null);
+        } catch (RuntimeException e) {
+            log(String.format("--- EventManager: Notifying %s for event [%s] failed: %s ---\n", listenerName, eventType, e), logTarget);
+            return new DispatchReport.Recipient(listenerName, DispatchOutcome.FAILED, e);
+        }
+    }
+
+    /**
+     * @param eventType The event type.
+     * @return Number of events notified (sync or async) for this type while it had at least one subscriber.
+     */
+    public long getPublishedCount(EventType eventType) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        return listeners.publishedCount(eventType);
+    }
+
+    // Wildcards only make sense in subscriptions
+    private static void requirePublishable(EventType eventType) {
+        Objects.requireNonNull(eventType, "eventType cannot be null");
+        if (eventType.isPattern()) {
+            throw new IllegalArgumentException("Cannot publish to a wildcard pattern: " + eventType);
+        }
+    }
+
+    private void log(String message, LogSink logTarget) {
+        if (logTarget != null) {
+            logTarget.append(message);
+        } else {
+            System.out.print(message); // Fallback
+        }
+    }
+
+    // Helper to get a printable name for the listener
+    private String getListenerName(EventListener listener) {
+        User recipient = listener.getRecipient();
+        if (recipient != null) {
+            return listener instanceof User ? recipient.getName() : recipient.getName() + " (" + listener.getClass().getSimpleName() + ")";
+        }
+        return listener.getClass().getSimpleName();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Reactive view of a subscription: a {@link Flow.Publisher} of the events of a type or pattern, created by
+ * {@link EventManager#publisher}. Subscribers pull with {@code request(n)} and run on the stream's executor,
+ * each with its own bounded buffer. Publishing never waits for them: an event that doesn't fit in a subscriber's
+ * buffer is dropped for that subscriber only (and counted), so a slow consumer can't stall notify for anyone else.
+ * <p>
+ * To the EventManager the stream is one more listener, so events are validated as usual before they get here.
+ * Closing it unsubscribes it and completes its subscribers.
+ */
+public class EventStream implements Flow.Publisher<StreamEvent>, EventListener, AutoCloseable {
+    private final EventManager eventManager;
+    private final EventType eventType; // Type or pattern subscribed to
+    private final SubmissionPublisher<StreamEvent> publisher;
+    private final LongAdder dropped = new LongAdder();
+
+    EventStream(EventManager eventManager, EventType eventType, Executor executor, int bufferCapacity) {
+        this.eventManager = eventManager;
+        this.eventType = eventType;
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super StreamEvent> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    @Override
+    public void update(String eventType, String message) {
+        update(EventType.of(eventType), message);
+    }
+
+    // Called by the EventManager's dispatch loop with the type it resolved: never blocks, a full buffer drops the event for its subscriber.
+    // A notify that took its listener snapshot before close() may still get here; the event is then ignored, so
+    // the listeners after this one still get theirs
+    @Override
+    public void update(EventType eventType, String message) {
+        if (publisher.isClosed()) {
+            return;
+        }
+        try {
+            publisher.offer(new StreamEvent(eventType, message), (subscriber, event) -> {
+                dropped.increment();
+                return false; // Not retried
+            });
+        } catch (IllegalStateException e) {
+            // Closed between the check and the offer
+        }
+    }
+
+    /**
+     * @return Number of events dropped because a subscriber's buffer was full, summed over subscribers.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    /**
+     * @return Events waiting in the fullest subscriber buffer.
+     */
+    public int getMaximumLag() {
+        return publisher.estimateMaximumLag();
+    }
+
+    /**
+     * @return The buffer capacity of each subscriber, rounded up to a power of two.
+     */
+    public int getBufferCapacity() {
+        return publisher.getMaxBufferCapacity();
+    }
+
+    /**
+     * Unsubscribes from the EventManager and completes every subscriber once it has consumed its buffer.
+     */
+    @Override
+    public void close() {
+        eventManager.unsubscribe(eventType, this);
+        publisher.close();
+    }
+
+    /**
+     * Same as {@link #batchedSubscriber(Consumer, int, LogSink)}, logging a failure to the console.
+     */
+    public static Flow.Subscriber<StreamEvent> batchedSubscriber(Consumer<? super StreamEvent> consumer, int batchSize) {
+        return batchedSubscriber(consumer, batchSize, null);
+    }
+
+    /**
+     * A subscriber that consumes events with demand in batches: it requests {@code batchSize} events up front,
+     * and the next {@code batchSize} each time it has consumed a batch.
+     * If the consumer throws, the subscription is cancelled and the failure is logged.
+     *
+     * @param consumer  Called for each event, on the stream's executor.
+     * @param batchSize Events requested at a time.
+     * @param logTarget The LogSink the failure is logged to, can be null.
+     * @return The subscriber, to pass to {@link #subscribe}.
+     */
+    public static Flow.Subscriber<StreamEvent> batchedSubscriber(Consumer<? super StreamEvent> consumer, int batchSize, LogSink logTarget) {
+        Objects.requireNonNull(consumer, "consumer cannot be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        return new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+            private int consumed; // onNext calls are never concurrent
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(batchSize);
+            }
+
+            @Override
+            public void onNext(StreamEvent event) {
+                try {
+                    consumer.accept(event);
+                } finally {
+                    if (++consumed == batchSize) {
+                        consumed = 0;
+                        subscription.request(batchSize);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                String message = String.format("--- EventStream: Subscriber stopped after a failure: %s ---", throwable);
+                if (logTarget != null) {
+                    logTarget.append(message + "\n");
+                } else {
+                    System.out.println(message); // Fallback
+                }
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "EventStream[" + eventType + "]";
+    }
+}
@@ -0,0 +1,80 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interned event type or topic ("securityAlert", "security.login.failed", ...).
+ * Each name is resolved to one instance with a dense integer id the first time it's seen, so per-type state
+ * can live in plain arrays indexed by {@link #getId()} and the dispatch path never hashes the name again.
+ * Resolve the handle once with {@link #of(String)} and reuse it; two handles are equal only if they are the same instance.
+ * Ids are never reclaimed, event types are expected to be a small, stable vocabulary.
+ * <p>
+ * Names are hierarchical topics: segments separated by '.'. When subscribing, a segment can be a wildcard:
+ * {@value #SINGLE_WILDCARD} matches exactly one segment and {@value #MULTI_WILDCARD} matches zero or more segments,
+ * so "security.*" matches "security.login" and "security.#" also matches "security" and "security.login.failed".
+ */
+@Getter
+public final class EventType {
+    private static final ConcurrentHashMap<String, EventType> BY_NAME = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    public static final String SINGLE_WILDCARD = "*";
+    public static final String MULTI_WILDCARD = "#";
+
+    private final int id;
+    private final String name;
+    @Getter(AccessLevel.NONE)
+    private final String[] segments; // Split once here, the topic trie walks these
+    private final boolean pattern;
+
+    private EventType(int id, String name) {
+        this.id = id;
+        this.name = name;
+        this.segments = name.split("\\.", -1);
+        boolean wildcard = false;
+        for (String segment : segments) {
+            wildcard |= segment.equals(SINGLE_WILDCARD) || segment.equals(MULTI_WILDCARD);
+        }
+        this.pattern = wildcard;
+    }
+
+    /**
+     * Returns the handle of an event type, interning it on first use.
+     *
+     * @param name The event type name.
+     * @return The same instance for every call with an equal name.
+     */
+    public static EventType of(String name) {
+        Objects.requireNonNull(name, "name cannot be null");
+        EventType type = BY_NAME.get(name); // Lock-free for names that already exist
+        if (type != null) {
+            return type;
+        }
+        // The mapping function runs at most once per name, so ids stay dense
+        return BY_NAME.computeIfAbsent(name, key -> new EventType(NEXT_ID.getAndIncrement(), key));
+    }
+
+    /**
+     * @return Number of event types interned so far, all ids are below this value.
+     */
+    public static int count() {
+        return NEXT_ID.get();
+    }
+
+    /**
+     * @return The segments of the name. Shared, must not be modified.
+     */
+    String[] segments() {
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
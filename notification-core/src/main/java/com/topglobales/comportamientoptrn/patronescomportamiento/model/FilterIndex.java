@@ -0,0 +1,184 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of the filtered subscriptions of one topic trie node.
+ * Each subscription is filed under its filter's access condition:
+ * <ul>
+ *     <li>equality: attribute -> value -> subscriptions, one hash lookup per indexed attribute;</li>
+ *     <li>keyword: word -> subscriptions, one lookup per word of the message;</li>
+ *     <li>range: attribute -> bound -> subscriptions in a sorted map, the matching bounds are one contiguous range.</li>
+ * </ul>
+ * Publishing only tests the full filter of the candidates these lookups return, so the cost follows the number of
+ * plausible matches instead of the number of subscriptions.
+ * Readers are lock-free; writers are serialized by SubscriberRegistry and replace bucket arrays (copy-on-write).
+ */
+final class FilterIndex {
+
+    record FilteredSubscription(EventListener listener, SubscriptionFilter filter) {
+    }
+
+    private final Map<String, Map<Object, FilteredSubscription[]>> equality = new ConcurrentHashMap<>();
+    private final Map<String, FilteredSubscription[]> keywords = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<Object, FilteredSubscription[]>> atLeast = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<Object, FilteredSubscription[]>> atMost = new ConcurrentHashMap<>();
+    private final Map<EventListener, List<FilteredSubscription>> byListener = new HashMap<>(); // Writers only
+    private int size; // Writers only
+
+    void add(EventListener listener, SubscriptionFilter filter) {
+        FilteredSubscription subscription = new FilteredSubscription(listener, filter);
+        switch (filter.accessCondition()) {
+            case SubscriptionFilter.EqualTo c ->
+                    equality.computeIfAbsent(c.attribute(), key -> new ConcurrentHashMap<>()).compute(c.value(), (key, bucket) -> append(bucket, subscription));
+            case SubscriptionFilter.Keyword c -> keywords.compute(c.word(), (key, bucket) -> append(bucket, subscription));
+            case SubscriptionFilter.AtLeast c -> rangeMap(atLeast, c.attribute()).compute(c.bound(), (key, bucket) -> append(bucket, subscription));
+            case SubscriptionFilter.AtMost c -> rangeMap(atMost, c.attribute()).compute(c.bound(), (key, bucket) -> append(bucket, subscription));
+        }
+        byListener.computeIfAbsent(listener, key -> new ArrayList<>(1)).add(subscription);
+        size++;
+    }
+
+    /**
+     * Removes the oldest filtered subscription of the listener.
+     *
+     * @return true if the listener had one.
+     */
+    boolean remove(EventListener listener) {
+        List<FilteredSubscription> subscriptions = byListener.get(listener);
+        if (subscriptions == null) {
+            return false;
+        }
+        FilteredSubscription subscription = subscriptions.remove(0);
+        if (subscriptions.isEmpty()) {
+            byListener.remove(listener);
+        }
+        switch (subscription.filter().accessCondition()) {
+            case SubscriptionFilter.EqualTo c -> {
+                Map<Object, FilteredSubscription[]> values = equality.get(c.attribute());
+                values.computeIfPresent(c.value(), (key, bucket) -> without(bucket, subscription));
+                if (values.isEmpty()) {
+                    equality.remove(c.attribute());
+                }
+            }
+            case SubscriptionFilter.Keyword c -> keywords.computeIfPresent(c.word(), (key, bucket) -> without(bucket, subscription));
+            case SubscriptionFilter.AtLeast c -> removeFromRange(atLeast, c.attribute(), c.bound(), subscription);
+            case SubscriptionFilter.AtMost c -> removeFromRange(atMost, c.attribute(), c.bound(), subscription);
+        }
+        size--;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds the listener of every filtered subscription that matches the event.
+     */
+    void collect(PublishedEvent event, Collection<EventListener> out) {
+        for (Map.Entry<String, Map<Object, FilteredSubscription[]>> entry : equality.entrySet()) {
+            Object value = event.attribute(entry.getKey());
+            if (value != null) {
+                verify(entry.getValue().get(value), event, out);
+            }
+        }
+        if (!keywords.isEmpty()) {
+            for (String word : event.words()) {
+                verify(keywords.get(word), event, out);
+            }
+        }
+        // attribute >= bound: every bound up to the value; attribute <= bound: every bound from the value
+        for (Map.Entry<String, ConcurrentSkipListMap<Object, FilteredSubscription[]>> entry : atLeast.entrySet()) {
+            Object value = event.attribute(entry.getKey());
+            if (value != null) {
+                verifyRange(entry.getValue(), value, true, event, out);
+            }
+        }
+        for (Map.Entry<String, ConcurrentSkipListMap<Object, FilteredSubscription[]>> entry : atMost.entrySet()) {
+            Object value = event.attribute(entry.getKey());
+            if (value != null) {
+                verifyRange(entry.getValue(), value, false, event, out);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void verifyRange(ConcurrentSkipListMap<Object, FilteredSubscription[]> bounds, Object value,
+                                    boolean upToValue, PublishedEvent event, Collection<EventListener> out) {
+        // Views compare lazily, while they are iterated: check the type against one bound first
+        Map.Entry<Object, FilteredSubscription[]> first = bounds.firstEntry();
+        if (first == null || SubscriptionFilter.compare((Comparable<Object>) first.getKey(), value) == SubscriptionFilter.NOT_COMPARABLE) {
+            return; // Published with another type than the bounds, nothing can match
+        }
+        Collection<FilteredSubscription[]> candidates = upToValue ? bounds.headMap(value, true).values() : bounds.tailMap(value, true).values();
+        for (FilteredSubscription[] bucket : candidates) {
+            verify(bucket, event, out);
+        }
+    }
+
+    // The access condition already holds for the bucket, the remaining conditions are checked here
+    private static void verify(FilteredSubscription[] bucket, PublishedEvent event, Collection<EventListener> out) {
+        if (bucket == null) {
+            return;
+        }
+        for (FilteredSubscription subscription : bucket) {
+            if (subscription.filter().test(event)) {
+                out.add(subscription.listener());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentSkipListMap<Object, FilteredSubscription[]> rangeMap(
+            Map<String, ConcurrentSkipListMap<Object, FilteredSubscription[]>> ranges, String attribute) {
+        // Bounds of one attribute share a type, their natural order is the index order
+        return ranges.computeIfAbsent(attribute, key -> new ConcurrentSkipListMap<>((a, b) -> ((Comparable<Object>) a).compareTo(b)));
+    }
+
+    private static void removeFromRange(Map<String, ConcurrentSkipListMap<Object, FilteredSubscription[]>> ranges,
+                                        String attribute, Object bound, FilteredSubscription subscription) {
+        ConcurrentSkipListMap<Object, FilteredSubscription[]> bounds = ranges.get(attribute);
+        bounds.computeIfPresent(bound, (key, bucket) -> without(bucket, subscription));
+        if (bounds.isEmpty()) {
+            ranges.remove(attribute);
+        }
+    }
+
+    private static FilteredSubscription[] append(FilteredSubscription[] bucket, FilteredSubscription subscription) {
+        if (bucket == null) {
+            return new FilteredSubscription[]{subscription};
+        }
+        FilteredSubscription[] updated = Arrays.copyOf(bucket, bucket.length + 1);
+        updated[bucket.length] = subscription;
+        return updated;
+    }
+
+    // Null removes the key
+    private static FilteredSubscription[] without(FilteredSubscription[] bucket, FilteredSubscription subscription) {
+        int index = -1;
+        for (int i = 0; i < bucket.length; i++) {
+            if (bucket[i] == subscription) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return bucket;
+        }
+        if (bucket.length == 1) {
+            return null;
+        }
+        FilteredSubscription[] updated = new FilteredSubscription[bucket.length - 1];
+        System.arraycopy(bucket, 0, updated, 0, index);
+        System.arraycopy(bucket, index + 1, updated, index, bucket.length - index - 1);
+        return updated;
+    }
+}
@@ -0,0 +1,60 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.Objects;
+
+/**
+ * Compiled form of a user's message template (see {@link User#formatMessage}).
+ * The static parts (header and footer) are rendered once per user and kept here.
+ * The message-dependent part (the body) is rendered once per event for each User subclass and shared
+ * by every recipient of that class, since {@link User#formatBody} only depends on the raw message.
+ */
+public final class MessageTemplate {
+    // One single-entry body cache per User subclass
+    private static final ClassValue<BodyCache> BODY_CACHES = new ClassValue<>() {
+        @Override
+        protected BodyCache computeValue(Class<?> type) {
+            return new BodyCache();
+        }
+    };
+
+    private final String header;
+    private final String footer;
+
+    MessageTemplate(String header, String footer) {
+        this.header = header;
+        this.footer = footer;
+    }
+
+    /**
+     * Renders a message with this template. Nothing is copied: the result points at the cached parts
+     * and at the body shared with the other recipients of the same event.
+     *
+     * @param user       The user the template belongs to (used to format the body on a cache miss).
+     * @param rawMessage The raw event message.
+     * @return The rendered message.
+     */
+    RenderedMessage render(User user, String rawMessage) {
+        return new RenderedMessage(header, sharedBody(user, rawMessage), footer);
+    }
+
+    // Returns the body for this raw message, formatting it only if the last event seen by this class was another one
+    private static String sharedBody(User user, String rawMessage) {
+        BodyCache cache = BODY_CACHES.get(user.getClass());
+        BodyCache.Entry entry = cache.last;
+        // Same String instance for every recipient of a broadcast, so the identity check usually hits
+        if (entry != null && (entry.rawMessage == rawMessage || Objects.equals(entry.rawMessage, rawMessage))) {
+            return entry.body;
+        }
+        String body = user.formatBody(rawMessage);
+        cache.last = new BodyCache.Entry(rawMessage, body);
+        return body;
+    }
+
+    private static final class BodyCache {
+        private record Entry(String rawMessage, String body) {
+        }
+
+        // Immutable entry published through a volatile field; a race just formats the body one extra time
+        private volatile Entry last;
+    }
+}
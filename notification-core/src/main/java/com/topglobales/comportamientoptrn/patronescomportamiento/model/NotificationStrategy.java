@@ -0,0 +1,68 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.List;
+
+/**
+ * Strategy Interface: Declares the method for sending notifications.
+ * Concrete strategies implement this interface to provide specific channel behavior.
+ */
+public interface NotificationStrategy {
+    /**
+     * Sends a notification message to a user.
+     *
+     * @param user    The recipient user.
+     * @param message The message content.
+     * @return        The user's message.
+     */
+    String send(User user, String message);
+
+    /**
+     * Sends many notifications through this channel in a single bulk call.
+     * The default implementation falls back to one {@link #send} per notification;
+     * channels whose provider has a bulk API should override it.
+     *
+     * @param notifications The notifications to send, all for this channel.
+     * @return              The result of the bulk call.
+     */
+    default String sendBatch(List<? extends OutgoingNotification> notifications) {
+        StringBuilder result = new StringBuilder();
+        for (OutgoingNotification notification : notifications) {
+            if (!result.isEmpty()) {
+                result.append('\n');
+            }
+            result.append(send(notification.getRecipient(), notification.getMessage().toString()));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Sends a notification and reports whether the channel accepted it.
+     * The default implementation treats an exception from {@link #send} as a failure;
+     * channels whose provider reports failures in its answer should override it.
+     *
+     * @param user    The recipient user.
+     * @param message The message content.
+     * @return        Success with the send result, or failure with the reason.
+     */
+    default DeliveryResult deliver(User user, String message) {
+        try {
+            return DeliveryResult.success(send(user, message));
+        } catch (RuntimeException e) {
+            return DeliveryResult.failure(e.toString());
+        }
+    }
+
+    /**
+     * Bulk version of {@link #deliver}: the whole batch succeeds or fails together.
+     *
+     * @param notifications The notifications to send, all for this channel.
+     * @return              Success with the bulk result, or failure with the reason.
+     */
+    default DeliveryResult deliverBatch(List<? extends OutgoingNotification> notifications) {
+        try {
+            return DeliveryResult.success(sendBatch(notifications));
+        } catch (RuntimeException e) {
+            return DeliveryResult.failure(e.toString());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+/**
+ * One message ready to be sent to one user, as handed to {@link NotificationStrategy#sendBatch}.
+ */
+public interface OutgoingNotification {
+    /**
+     * @return The recipient.
+     */
+    User getRecipient();
+
+    /**
+     * @return The formatted message for the recipient.
+     */
+    CharSequence getMessage();
+}
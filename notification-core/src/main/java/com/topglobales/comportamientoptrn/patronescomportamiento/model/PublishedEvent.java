@@ -0,0 +1,56 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What subscription filters see of an event: its message and attributes.
+ * The message is only split into words if a keyword condition asks for them, and then only once.
+ */
+final class PublishedEvent {
+    private final String message;
+    private final Map<String, ?> attributes;
+    private Set<String> words; // Lazy, lowercase
+
+    PublishedEvent(String message, Map<String, ?> attributes) {
+        this.message = message;
+        this.attributes = attributes;
+    }
+
+    Object attribute(String name) {
+        return attributes.get(name);
+    }
+
+    Map<String, ?> attributes() {
+        return attributes;
+    }
+
+    Set<String> words() {
+        if (words == null) {
+            words = message == null ? Set.of() : new HashSet<>(splitWords(message));
+        }
+        return words;
+    }
+
+    /**
+     * Splits text into lowercase words: runs of letters and digits.
+     */
+    static List<String> splitWords(String text) {
+        List<String> result = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.List;
+
+/**
+ * Concrete Strategy: Implements sending notifications via Push Notification.
+ */
+public class PushNotification implements NotificationStrategy {
+    @Override
+    public String send(User user, String message) {
+        String output = String.format("--- Push Notification Sent ---\nDevice Target: %s\n%s\n--------------------------",
+                user.getName(), message);
+        return output; // Return the string
+    }
+
+    /**
+     * Simulates the provider's bulk API: one call, one result for the whole batch.
+     */
+    @Override
+    public String sendBatch(List<? extends OutgoingNotification> notifications) {
+        StringBuilder output = new StringBuilder(128 * notifications.size());
+        output.append("--- Push Notification Batch Sent (").append(notifications.size()).append(" messages) ---\n");
+        for (OutgoingNotification notification : notifications) {
+            output.append("Device Target: ").append(notification.getRecipient().getName()).append("\n")
+                    .append(notification.getMessage()).append('\n');
+        }
+        return output.append("--------------------------").toString();
+    }
+
+    @Override public String toString() { return "Push Channel"; }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+/**
+ * A formatted notification: header, body and footer separated by line breaks.
+ * Keeps references to the three parts instead of a concatenated copy, so the body can be shared by
+ * every pending notification of the same event. Use {@link #appendTo(StringBuilder)} to render into a
+ * reusable buffer, or {@link #toString()} to get a String.
+ */
+public final class RenderedMessage implements CharSequence {
+    private final String header;
+    private final String body;
+    private final String footer;
+
+    RenderedMessage(String header, String body, String footer) {
+        this.header = header;
+        this.body = body;
+        this.footer = footer;
+    }
+
+    /**
+     * Writes the message into the given buffer.
+     *
+     * @param out The buffer to append to.
+     * @return The same buffer.
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        return out.append(header).append('\n').append(body).append('\n').append(footer);
+    }
+
+    @Override
+    public int length() {
+        return header.length() + body.length() + footer.length() + 2;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index < header.length()) {
+            return header.charAt(index);
+        }
+        index -= header.length();
+        if (index == 0) {
+            return '\n';
+        }
+        index--;
+        if (index < body.length()) {
+            return body.charAt(index);
+        }
+        index -= body.length();
+        if (index == 0) {
+            return '\n';
+        }
+        return footer.charAt(index - 1);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(length())).toString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+/**
+ * Severity of an event, usually published as the "severity" attribute. Ordered from lowest to highest,
+ * so subscriptions can filter with {@link SubscriptionFilter#atLeast}.
+ */
+public enum Severity {
+    LOW,
+    MEDIUM,
+    HIGH,
+    CRITICAL
+}
@@ -0,0 +1,10 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+/**
+ * An event as seen by the subscribers of an {@link EventStream}.
+ *
+ * @param eventType The type of the event, never a pattern.
+ * @param message   The raw message of the event.
+ */
+public record StreamEvent(EventType eventType, String message) {
+}
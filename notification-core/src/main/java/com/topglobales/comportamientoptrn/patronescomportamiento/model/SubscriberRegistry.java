@@ -0,0 +1,206 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe registry of subscriptions, exact topics and wildcard patterns alike, kept in a {@link TopicTrie}.
+ * The listeners matching a published topic are resolved once through the trie and cached in a slot indexed by
+ * {@link EventType#getId()}, so a publish is one array read when the cache is warm: no hashing, no locking, no copy.
+ * A subscription change only invalidates the cached topics it matches; they are resolved again on their next publish.
+ * Filtered subscriptions are resolved to the {@link FilterIndex}es of the matching trie nodes, which are queried per event.
+ * <p>
+ * Writers are serialized on the registry; subscriptions are rare compared to notifications. Cache misses take no lock:
+ * the trie is copy-on-write, so a publish resolves its topic from a snapshot and installs the result with a CAS,
+ * which fails if a subscription invalidated the topic meanwhile. Churn therefore never makes publishers wait for each other.
+ */
+final class SubscriberRegistry {
+    private static final EventListener[] NO_LISTENERS = new EventListener[0];
+    private static final FilterIndex[] NO_FILTERS = new FilterIndex[0];
+
+    /**
+     * Everything a published topic resolves to. Immutable; the filter indexes are queried, not copied.
+     * A fan-out without listeners marks a stale cache entry; each invalidation writes a new one, so a CAS expecting
+     * the marker it read fails if the topic was invalidated again while it was being resolved.
+     *
+     * @param listeners   Unfiltered listeners, each once. Null for a stale marker.
+     * @param filters     Indexes of the filtered subscriptions matching the topic.
+     * @param listenerSet Same as listeners, to skip duplicates among filtered matches. Only built when there are filters.
+     */
+    private record FanOut(EventListener[] listeners, FilterIndex[] filters, Set<EventListener> listenerSet) {
+        static final FanOut EMPTY = new FanOut(NO_LISTENERS, NO_FILTERS, Set.of());
+
+        static FanOut stale() {
+            return new FanOut(null, NO_FILTERS, Set.of());
+        }
+
+        boolean isStale() {
+            return listeners == null;
+        }
+    }
+
+    /**
+     * Per-topic state, created on the first publish of its topic and never replaced.
+     * Slots are created before the table that holds them is published, so a reader that sees the table also sees every slot in it.
+     */
+    private static final class TypeSlot {
+        private static final AtomicReferenceFieldUpdater<TypeSlot, FanOut> RESOLVED =
+                AtomicReferenceFieldUpdater.newUpdater(TypeSlot.class, FanOut.class, "resolved");
+
+        final EventType type;
+        volatile FanOut resolved = FanOut.stale(); // Every subscription matching this topic, or a stale marker
+        final LongAdder published = new LongAdder(); // Events notified for this topic
+
+        TypeSlot(EventType type) {
+            this.type = type;
+        }
+    }
+
+    private final TopicTrie trie = new TopicTrie();
+    private volatile TypeSlot[] slots = new TypeSlot[0]; // By EventType id, null for topics not seen yet
+    private int subscriptionCount; // Guarded by this
+
+    /**
+     * Adds a subscription to a topic or wildcard pattern.
+     *
+     * @param filter Content filter, null to receive every event of the topic.
+     */
+    synchronized void add(EventType topic, EventListener listener, SubscriptionFilter filter) {
+        trie.add(topic.segments(), listener, filter);
+        subscriptionCount++;
+        invalidate(topic);
+    }
+
+    /**
+     * Removes the first occurrence of a subscription to a topic or wildcard pattern, unfiltered ones first.
+     *
+     * @return true if the listener was subscribed and has been removed.
+     */
+    synchronized boolean remove(EventType topic, EventListener listener) {
+        if (!trie.remove(topic.segments(), listener)) {
+            return false;
+        }
+        subscriptionCount--;
+        invalidate(topic);
+        return true;
+    }
+
+    /**
+     * Counts one published event for the topic and returns every listener it goes to: the unfiltered subscribers
+     * plus the filtered ones whose filter matches. Each listener appears once even if several of its subscriptions match.
+     * Without filtered subscriptions the array is the shared snapshot and must NOT be modified by callers;
+     * later subscriptions produce a new array and never touch it.
+     *
+     * @param message    The raw message, seen by keyword filters.
+     * @param attributes The event attributes, seen by attribute filters.
+     * @return The recipients, or an empty array if nobody matches.
+     */
+    EventListener[] publish(EventType topic, String message, Map<String, ?> attributes) {
+        TypeSlot slot = slot(topic);
+        if (slot == null) {
+            slot = createSlot(topic); // First time this topic is seen, once per type
+        }
+        FanOut fanOut = slot.resolved;
+        if (fanOut.isStale()) {
+            fanOut = resolve(slot, fanOut);
+        }
+        slot.published.increment();
+        if (fanOut.filters().length == 0) {
+            return fanOut.listeners(); // Unfiltered topics stay a single array read
+        }
+
+        PublishedEvent event = new PublishedEvent(message, attributes);
+        Set<EventListener> filtered = new LinkedHashSet<>();
+        for (FilterIndex index : fanOut.filters()) {
+            index.collect(event, filtered);
+        }
+        filtered.removeAll(fanOut.listenerSet());
+        if (filtered.isEmpty()) {
+            return fanOut.listeners();
+        }
+        EventListener[] recipients = Arrays.copyOf(fanOut.listeners(), fanOut.listeners().length + filtered.size());
+        int next = fanOut.listeners().length;
+        for (EventListener listener : filtered) {
+            recipients[next++] = listener;
+        }
+        return recipients;
+    }
+
+    /**
+     * @return Number of {@link #publish(EventType)} calls for the topic.
+     */
+    long publishedCount(EventType topic) {
+        TypeSlot slot = slot(topic);
+        return slot != null ? slot.published.sum() : 0;
+    }
+
+    /**
+     * @return Number of subscriptions, exact and wildcard.
+     */
+    synchronized int subscriptionCount() {
+        return subscriptionCount;
+    }
+
+    // The state of a topic, or null if it was never published in this registry
+    private TypeSlot slot(EventType topic) {
+        TypeSlot[] table = slots; // Single volatile read
+        int id = topic.getId();
+        return id < table.length ? table[id] : null;
+    }
+
+    // Cache miss, off-lock: walks a snapshot of the trie, cost proportional to the topic depth.
+    // The result is only cached if the topic wasn't invalidated meanwhile; either way it's a consistent
+    // view taken after this publish started, so it's returned.
+    private FanOut resolve(TypeSlot slot, FanOut staleMarker) {
+        Set<EventListener> matching = new LinkedHashSet<>();
+        Set<FilterIndex> filters = new LinkedHashSet<>(); // '#' can reach the same node more than once
+        trie.collect(slot.type.segments(), matching, filters);
+        FanOut fanOut;
+        if (matching.isEmpty() && filters.isEmpty()) {
+            fanOut = FanOut.EMPTY;
+        } else if (filters.isEmpty()) {
+            fanOut = new FanOut(matching.toArray(new EventListener[0]), NO_FILTERS, Set.of());
+        } else {
+            fanOut = new FanOut(matching.toArray(new EventListener[0]), filters.toArray(new FilterIndex[0]), new HashSet<>(matching));
+        }
+        TypeSlot.RESOLVED.compareAndSet(slot, staleMarker, fanOut);
+        return fanOut;
+    }
+
+    // Marks the cached fan-out of the topics the changed subscription can match as stale. Called after the trie
+    // change is published, so a resolution that started before it fails its CAS.
+    private void invalidate(EventType changed) {
+        TypeSlot[] table = slots;
+        if (!changed.isPattern()) {
+            TypeSlot slot = slot(changed);
+            if (slot != null) {
+                slot.resolved = FanOut.stale();
+            }
+            return;
+        }
+        for (TypeSlot slot : table) {
+            if (slot != null && TopicTrie.matches(changed.segments(), slot.type.segments())) {
+                slot.resolved = FanOut.stale();
+            }
+        }
+    }
+
+    // Creates the slot of a topic in a copy of the table, grown if needed, then publishes the copy
+    private synchronized TypeSlot createSlot(EventType topic) {
+        TypeSlot[] table = slots;
+        int id = topic.getId();
+        if (id < table.length && table[id] != null) {
+            return table[id]; // Created by another thread meanwhile
+        }
+        table = Arrays.copyOf(table, id < table.length ? table.length : Math.max(id + 1, Math.max(8, table.length * 2)));
+        TypeSlot slot = new TypeSlot(topic);
+        table[id] = slot;
+        slots = table;
+        return slot;
+    }
+}
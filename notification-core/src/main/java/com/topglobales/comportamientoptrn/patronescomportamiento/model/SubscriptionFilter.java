@@ -0,0 +1,186 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Content-based filter for a subscription: a conjunction of conditions over the event attributes and message.
+ * Example: {@code SubscriptionFilter.atLeast("severity", Severity.HIGH).and(SubscriptionFilter.equalTo("region", "EU"))}.
+ * <p>
+ * Filters are not evaluated one by one on publish: EventManager indexes every filtered subscription by one of
+ * its conditions (equality first, then keyword, then range) and only tests the rest on the candidates the index returns.
+ * Range bounds and attribute values are compared with {@link Comparable#compareTo}, so an attribute must always
+ * be published with the same type (e.g. always a {@link Severity}).
+ */
+public final class SubscriptionFilter {
+
+    /**
+     * One condition of a filter.
+     */
+    sealed interface Condition {
+        boolean test(PublishedEvent event);
+    }
+
+    record EqualTo(String attribute, Object value) implements Condition {
+        @Override
+        public boolean test(PublishedEvent event) {
+            return value.equals(event.attribute(attribute));
+        }
+    }
+
+    record AtLeast(String attribute, Comparable<Object> bound) implements Condition {
+        @Override
+        public boolean test(PublishedEvent event) {
+            return compare(bound, event.attribute(attribute)) <= 0;
+        }
+    }
+
+    record AtMost(String attribute, Comparable<Object> bound) implements Condition {
+        @Override
+        public boolean test(PublishedEvent event) {
+            int comparison = compare(bound, event.attribute(attribute));
+            return comparison >= 0 && comparison != NOT_COMPARABLE;
+        }
+    }
+
+    record Keyword(String word) implements Condition {
+        @Override
+        public boolean test(PublishedEvent event) {
+            return event.words().contains(word);
+        }
+    }
+
+    static final int NOT_COMPARABLE = Integer.MAX_VALUE; // Result of compare for a missing or mismatched value
+
+    private final List<Condition> conditions;
+
+    private SubscriptionFilter(List<Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * Matches events whose attribute equals the value.
+     */
+    public static SubscriptionFilter equalTo(String attribute, Object value) {
+        Objects.requireNonNull(attribute, "attribute cannot be null");
+        Objects.requireNonNull(value, "value cannot be null");
+        return new SubscriptionFilter(List.of(new EqualTo(attribute, value)));
+    }
+
+    /**
+     * Matches events whose attribute is greater than or equal to the bound.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>> SubscriptionFilter atLeast(String attribute, T bound) {
+        Objects.requireNonNull(attribute, "attribute cannot be null");
+        Objects.requireNonNull(bound, "bound cannot be null");
+        return new SubscriptionFilter(List.of(new AtLeast(attribute, (Comparable<Object>) bound)));
+    }
+
+    /**
+     * Matches events whose attribute is less than or equal to the bound.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>> SubscriptionFilter atMost(String attribute, T bound) {
+        Objects.requireNonNull(attribute, "attribute cannot be null");
+        Objects.requireNonNull(bound, "bound cannot be null");
+        return new SubscriptionFilter(List.of(new AtMost(attribute, (Comparable<Object>) bound)));
+    }
+
+    /**
+     * Matches events whose message contains the word (whole word, case-insensitive).
+     */
+    public static SubscriptionFilter keyword(String word) {
+        Objects.requireNonNull(word, "word cannot be null");
+        List<String> words = PublishedEvent.splitWords(word);
+        if (words.size() != 1) {
+            throw new IllegalArgumentException("keyword must be a single word: " + word);
+        }
+        return new SubscriptionFilter(List.of(new Keyword(words.get(0))));
+    }
+
+    /**
+     * @return A filter matching only the events both filters match.
+     */
+    public SubscriptionFilter and(SubscriptionFilter other) {
+        Objects.requireNonNull(other, "other cannot be null");
+        List<Condition> combined = new ArrayList<>(conditions.size() + other.conditions.size());
+        combined.addAll(conditions);
+        combined.addAll(other.conditions);
+        return new SubscriptionFilter(Collections.unmodifiableList(combined));
+    }
+
+    /**
+     * Evaluates the filter directly, without an index.
+     *
+     * @param message    The raw message of the event.
+     * @param attributes The event attributes.
+     * @return true if every condition holds.
+     */
+    public boolean matches(String message, Map<String, ?> attributes) {
+        return test(new PublishedEvent(message, attributes));
+    }
+
+    boolean test(PublishedEvent event) {
+        for (Condition condition : conditions) {
+            if (!condition.test(event)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The condition the index files this filter under: the most selective one.
+     */
+    Condition accessCondition() {
+        Condition best = conditions.get(0);
+        for (Condition condition : conditions) {
+            if (rank(condition) < rank(best)) {
+                best = condition;
+            }
+        }
+        return best;
+    }
+
+    private static int rank(Condition condition) {
+        return switch (condition) {
+            case EqualTo equalTo -> 0;
+            case Keyword keyword -> 1;
+            case AtLeast atLeast -> 2;
+            case AtMost atMost -> 2;
+        };
+    }
+
+    // bound.compareTo(value), or NOT_COMPARABLE when the attribute is missing or of another type
+    static int compare(Comparable<Object> bound, Object value) {
+        if (value == null) {
+            return NOT_COMPARABLE;
+        }
+        try {
+            return Integer.signum(bound.compareTo(value));
+        } catch (ClassCastException e) {
+            return NOT_COMPARABLE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        for (Condition condition : conditions) {
+            if (!description.isEmpty()) {
+                description.append(" AND ");
+            }
+            description.append(switch (condition) {
+                case EqualTo c -> c.attribute() + " = " + c.value();
+                case AtLeast c -> c.attribute() + " >= " + c.bound();
+                case AtMost c -> c.attribute() + " <= " + c.bound();
+                case Keyword c -> "message has '" + c.word() + "'";
+            });
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,214 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie of subscriptions keyed by topic segment. Exact segments are children in a map, the '*' and '#'
+ * wildcards get a dedicated child each, so finding every subscription that matches a topic walks the
+ * topic's segments instead of testing every subscription. Subscriptions with a {@link SubscriptionFilter} are kept
+ * in a {@link FilterIndex} on their node and evaluated per event.
+ * <p>
+ * Copy-on-write: a change copies the nodes on its path and publishes a new root, and a published node is never
+ * modified again, so {@link #collect} walks a consistent snapshot without locking.
+ * Writers must be serialized, SubscriberRegistry does it with its own lock. Filter indexes are shared by the copies
+ * and updated in place, they are safe for concurrent readers on their own.
+ */
+final class TopicTrie {
+    private static final EventListener[] NO_LISTENERS = new EventListener[0];
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>(4);
+        Node singleWildcard; // '*'
+        Node multiWildcard;  // '#'
+        EventListener[] listeners = NO_LISTENERS; // Unfiltered subscriptions ending at this node, in subscription order
+        FilterIndex filters; // Filtered subscriptions ending at this node, null if none
+
+        boolean isEmpty() {
+            return listeners.length == 0 && filters == null
+                    && children.isEmpty() && singleWildcard == null && multiWildcard == null;
+        }
+
+        // Shallow copy for a writer to modify before publishing it, the children themselves are shared
+        Node copy() {
+            Node copy = new Node();
+            copy.children.putAll(children);
+            copy.singleWildcard = singleWildcard;
+            copy.multiWildcard = multiWildcard;
+            copy.listeners = listeners;
+            copy.filters = filters;
+            return copy;
+        }
+    }
+
+    private volatile Node root = new Node();
+
+    /**
+     * Adds a subscription for a topic or pattern.
+     *
+     * @param filter The subscription filter, null to receive every event of the topic.
+     */
+    void add(String[] segments, EventListener listener, SubscriptionFilter filter) {
+        Node updatedRoot = root.copy();
+        Node node = updatedRoot;
+        for (String segment : segments) {
+            Node child = child(node, segment);
+            child = child != null ? child.copy() : new Node();
+            setChild(node, segment, child);
+            node = child;
+        }
+        if (filter != null) {
+            if (node.filters == null) {
+                node.filters = new FilterIndex();
+            }
+            node.filters.add(listener, filter);
+        } else {
+            EventListener[] listeners = Arrays.copyOf(node.listeners, node.listeners.length + 1);
+            listeners[listeners.length - 1] = listener;
+            node.listeners = listeners;
+        }
+        root = updatedRoot; // Publishes every copied node
+    }
+
+    /**
+     * Removes the first occurrence of a subscription, pruning nodes left empty.
+     * Unfiltered subscriptions are removed before filtered ones.
+     *
+     * @return true if the subscription existed.
+     */
+    boolean remove(String[] segments, EventListener listener) {
+        Node updatedRoot = root.copy();
+        if (!remove(updatedRoot, segments, 0, listener)) {
+            return false; // The copies are just dropped
+        }
+        root = updatedRoot;
+        return true;
+    }
+
+    // node is a private copy, its children are copied before they are modified
+
+    private static boolean remove(Node node, String[] segments, int depth, EventListener listener) {
+        if (depth == segments.length) {
+            int index = indexOf(node.listeners, listener);
+            if (index < 0) {
+                if (node.filters == null || !node.filters.remove(listener)) {
+                    return false;
+                }
+                if (node.filters.isEmpty()) {
+                    node.filters = null;
+                }
+                return true;
+            }
+            EventListener[] updated = new EventListener[node.listeners.length - 1];
+            System.arraycopy(node.listeners, 0, updated, 0, index);
+            System.arraycopy(node.listeners, index + 1, updated, index, node.listeners.length - index - 1);
+            node.listeners = updated.length == 0 ? NO_LISTENERS : updated;
+            return true;
+        }
+        String segment = segments[depth];
+        Node child = child(node, segment);
+        if (child == null) {
+            return false;
+        }
+        child = child.copy();
+        if (!remove(child, segments, depth + 1, listener)) {
+            return false;
+        }
+        setChild(node, segment, child.isEmpty() ? null : child);
+        return true;
+    }
+
+    private static Node child(Node node, String segment) {
+        return switch (segment) {
+            case EventType.SINGLE_WILDCARD -> node.singleWildcard;
+            case EventType.MULTI_WILDCARD -> node.multiWildcard;
+            default -> node.children.get(segment);
+        };
+    }
+
+    // A null child removes it
+    private static void setChild(Node node, String segment, Node child) {
+        switch (segment) {
+            case EventType.SINGLE_WILDCARD -> node.singleWildcard = child;
+            case EventType.MULTI_WILDCARD -> node.multiWildcard = child;
+            default -> {
+                if (child != null) {
+                    node.children.put(segment, child);
+                } else {
+                    node.children.remove(segment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects every subscription matching the topic, exact or wildcard.
+     * A listener is added once per matching subscription; callers that want a set pass one.
+     *
+     * @param out     Receives the unfiltered listeners.
+     * @param filters Receives the filter indexes of the matching nodes, to evaluate per event.
+     */
+    void collect(String[] topic, Collection<EventListener> out, Collection<FilterIndex> filters) {
+        collect(root, topic, 0, out, filters); // One snapshot for the whole walk
+    }
+
+    private static void collect(Node node, String[] topic, int depth, Collection<EventListener> out, Collection<FilterIndex> filters) {
+        if (node.multiWildcard != null) {
+            // '#' may swallow any number of the remaining segments, including none
+            for (int skip = depth; skip <= topic.length; skip++) {
+                collect(node.multiWildcard, topic, skip, out, filters);
+            }
+        }
+        if (depth == topic.length) {
+            out.addAll(Arrays.asList(node.listeners));
+            if (node.filters != null) {
+                filters.add(node.filters);
+            }
+            return;
+        }
+        Node exact = node.children.get(topic[depth]);
+        if (exact != null) {
+            collect(exact, topic, depth + 1, out, filters);
+        }
+        if (node.singleWildcard != null) {
+            collect(node.singleWildcard, topic, depth + 1, out, filters);
+        }
+    }
+
+    /**
+     * @return true if the (possibly wildcard) pattern matches the topic, with the same rules as {@link #collect}.
+     */
+    static boolean matches(String[] pattern, String[] topic) {
+        return matches(pattern, 0, topic, 0);
+    }
+
+    private static boolean matches(String[] pattern, int p, String[] topic, int t) {
+        if (p == pattern.length) {
+            return t == topic.length;
+        }
+        if (pattern[p].equals(EventType.MULTI_WILDCARD)) {
+            for (int skip = t; skip <= topic.length; skip++) {
+                if (matches(pattern, p + 1, topic, skip)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (t == topic.length) {
+            return false;
+        }
+        return (pattern[p].equals(EventType.SINGLE_WILDCARD) || pattern[p].equals(topic[t]))
+                && matches(pattern, p + 1, topic, t + 1);
+    }
+
+    private static int indexOf(EventListener[] array, EventListener listener) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -3,8 +3,9 @@ package com.topglobales.comportamientoptrn.patronescomportamiento.model;
 import com.topglobales.comportamientoptrn.patronescomportamiento.command.Command;
 import com.topglobales.comportamientoptrn.patronescomportamiento.command.NotificationInvoker;
 import com.topglobales.comportamientoptrn.patronescomportamiento.command.SendNotificationCommand;
-import javafx.application.Platform;
-import javafx.scene.control.TextArea;
+import com.topglobales.comportamientoptrn.patronescomportamiento.jfr.MessageFormattedEvent;
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.metrics.PipelineMetrics;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -22,9 +23,9 @@ public abstract class User implements EventListener {
     protected String email;
     @Getter
     protected String phoneNumber;
-    // Method to link this User instance to the UI's log TextArea
+    // Method to link this User instance to the shared log sink
     @Setter
-    private TextArea logTarget;
+    private LogSink logTarget;
     // Strategy Pattern: Each user has a preferred notification strategy
     @Getter
     protected NotificationStrategy preferredStrategy;
@@ -35,6 +36,8 @@ public abstract class User implements EventListener {
     @Setter
     private NotificationInvoker invoker; // For Command Pattern
 
+    private volatile MessageTemplate template; // Compiled on first use, see compiledTemplate()
+
     public User(String name, String email, String phoneNumber, NotificationStrategy initialStrategy) {
         this.name = Objects.requireNonNull(name, "name cannot be null");
         this.email = Objects.requireNonNull(email, "email cannot be null");
@@ -52,18 +55,17 @@ public abstract class User implements EventListener {
         String logMsg = String.format("--- User [%s] is now %s. ---", getName(), status);
         // Log this change, check if logTarget is available
         if (this.logTarget != null) {
-            logToUI(logMsg); // logToUI adds its own newlines
+            log(logMsg); // log adds its own newlines
         } else {
             System.out.println(logMsg + "\n"); // Fallback with newline
         }
     }
 
 
-    // Helper to safely append text to the TextArea from any thread (JVM does not like ConcurrentModification at the same time as other threads)
-    protected void logToUI(String message) {
+    // Helper to append text to the log sink, which is safe to call from any thread
+    protected void log(String message) {
         if (logTarget != null) {
-            // Updates to UI must happen on the JavaFX Application Thread (if not, the program might collapse, or Unknown Reference happens)
-            Platform.runLater(() -> logTarget.appendText(message + "\n\n"));
+            logTarget.append(message + "\n\n");
         } else {
             System.out.println(message); // Fallback if no target is set
         }
@@ -85,15 +87,44 @@ public abstract class User implements EventListener {
      * @return A fully formatted message specific to the user type.
      */
     public final String formatMessage(String rawMessage) {
-        String header = getHeader();
-        String formattedBody = formatBody(rawMessage);
-        String footer = getFooter();
-        // Basic validation or default values could be added here
-        return header + "\n" + formattedBody + "\n" + footer;
+        return renderMessage(rawMessage).toString();
+    }
+
+    /**
+     * Same as {@link #formatMessage(String)}, but writes into a caller-provided (reusable) buffer.
+     *
+     * @param rawMessage The basic message content.
+     * @param out        The buffer to append the formatted message to.
+     * @return The same buffer.
+     */
+    public final StringBuilder formatMessage(String rawMessage, StringBuilder out) {
+        return renderMessage(rawMessage).appendTo(out);
+    }
+
+    /**
+     * Formats the message without concatenating it: the result references the cached header/footer of this user
+     * and the body shared with every other recipient of the same class for the same event.
+     *
+     * @param rawMessage The basic message content.
+     * @return The formatted message.
+     */
+    public final RenderedMessage renderMessage(String rawMessage) {
+        return compiledTemplate().render(this, rawMessage);
+    }
+
+    // Header and footer only depend on this user, so they are rendered once
+    private MessageTemplate compiledTemplate() {
+        MessageTemplate compiled = template;
+        if (compiled == null) {
+            compiled = new MessageTemplate(getHeader(), getFooter());
+            template = compiled; // A race only compiles it twice, both results are equal
+        }
+        return compiled;
     }
 
     /**
      * Abstract Step: Subclasses must provide their specific message header.
+     * Called once per user, the result is cached.
      *
      * @return The header string.
      */
@@ -102,6 +133,7 @@ public abstract class User implements EventListener {
     /**
      * Hook Method: Subclasses can optionally override how the body is formatted.
      * Provides a default implementation.
+     * Must only depend on the raw message: the result is shared by every user of the same class for the same event.
      *
      * @param rawMessage The basic message content.
      * @return The formatted body string.
@@ -112,6 +144,7 @@ public abstract class User implements EventListener {
 
     /**
      * Abstract Step: Subclasses must provide their specific message footer.
+     * Called once per user, the result is cached.
      *
      * @return The footer string.
      */
@@ -119,32 +152,50 @@ public abstract class User implements EventListener {
 
     // --- Observer Pattern Implementation ---
 
+    @Override
+    public User getRecipient() {
+        return this;
+    }
+
+    @Override
+    public void update(String eventType, String message) {
+        update(EventType.of(eventType), message);
+    }
+
     /**
      * Concrete Observer Method: Called when an event this user is subscribed to occurs.
      * It formats the message using the Template Method, creates a Command to send it,
      * and then executes the command via an Invoker.
      */
     @Override
-    public void update(String eventType, String message) {
+    public void update(EventType eventType, String message) {
         String logPrefix = String.format(">>> User [%s] received event '%s'. Preparing notification command...",
                 getName(), eventType);
-        // Log directly using logTarget if available, or sysout. No need for this.logToUI here as command will log. Simplicity.
+        // Log directly using logTarget if available, or sysout. No need for this.log here as command will log. Simplicity.
         if (this.logTarget != null) {
-            Platform.runLater(() -> this.logTarget.appendText(logPrefix + "\n"));
+            this.logTarget.append(logPrefix + "\n");
         } else {
             System.out.println(logPrefix);
         }
 
 
-        // Format the message based on user type (Template Method)
-        String formattedMessage = this.formatMessage(message);
+        // Format the message based on user type (Template Method), sharing the parts instead of copying them
+        MessageFormattedEvent formatted = new MessageFormattedEvent();
+        formatted.begin();
+        long start = System.nanoTime();
+        RenderedMessage formattedMessage = this.renderMessage(message);
+        PipelineMetrics.get().record(PipelineMetrics.Stage.FORMAT, start);
+        formatted.length = formattedMessage.length();
+        formatted.commitFor(eventType.getName(), this, this.preferredStrategy);
 
         // --- Command Pattern: Create and execute a command to send the notification ---
         // The SendNotificationCommand will handle logging of its execution and the strategy's send result.
         Command sendNotificationCmd = new SendNotificationCommand(
                 this,
                 formattedMessage,
+                message, // So a send that never goes out can be matched to what was published
                 this.preferredStrategy,
+                eventType, // Rate limits are per event type
                 this.logTarget // Pass the logTarget to the command
         );
 
@@ -154,7 +205,7 @@ public abstract class User implements EventListener {
             // Fallback or error if invoker is expected but not set
             String errorMsg = String.format("--- User [%s]: NotificationInvoker not set. Executing command directly. ---", getName());
             if (this.logTarget != null) {
-                Platform.runLater(() -> this.logTarget.appendText(errorMsg + "\n"));
+                this.logTarget.append(errorMsg + "\n");
             } else {
                 System.err.println(errorMsg);
             }
@@ -170,7 +221,7 @@ public abstract class User implements EventListener {
         this.preferredStrategy = Objects.requireNonNull(strategy, "strategy cannot be null");
         String changeMsg = String.format("--- User [%s]: Preference changed to %s ---",
                 this.getName(), strategy.toString());
-        logToUI(changeMsg);
+        log(changeMsg);
     }
 
 }
\ No newline at end of file
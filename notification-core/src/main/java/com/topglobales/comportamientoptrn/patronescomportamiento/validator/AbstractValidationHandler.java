@@ -34,4 +34,16 @@ public abstract class AbstractValidationHandler implements ValidationHandler {
         // If this handler passes, and it's the end of the chain, validation is successful so far.
         return true;
     }
+
+    @Override
+    public boolean validate(NotificationContext context, ValidationScope scope) {
+        // Only handlers of the requested scope check anything, the others just pass it along.
+        if (getScope() == scope && !performValidation(context)) {
+            return false;
+        }
+        if (next != null) {
+            return next.validate(context, scope);
+        }
+        return true;
+    }
 }
\ No newline at end of file
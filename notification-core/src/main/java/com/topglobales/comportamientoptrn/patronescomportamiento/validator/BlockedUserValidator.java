@@ -13,11 +13,10 @@ public class BlockedUserValidator extends AbstractValidationHandler {
 
         if (recipient != null) { // This validator applies if there's a specific user in the context
             if (recipient.isBlocked()) {
-                context.setIsValid(false);
-                context.addValidationMessage(String.format("User [%s] is blocked. Notification suppressed for this user.", recipient.getName()));
+                context.reject(ValidationCheck.USER_NOT_BLOCKED, recipient.getName()); // Text is only built if logged
                 return false; // Validation failed
             }
-            context.addValidationMessage(String.format("User [%s] is not blocked: OK", recipient.getName()));
+            context.pass(ValidationCheck.USER_NOT_BLOCKED);
         } else {
             // If no specific user, this validator doesn't apply or passes by default.
             // For clarity, we can log that it's being skipped for non-user contexts if the chain is run globally.
@@ -27,6 +26,11 @@ public class BlockedUserValidator extends AbstractValidationHandler {
         return true; // Validation passed (or not applicable for non-user context)
     }
 
+    @Override
+    public ValidationScope getScope() {
+        return ValidationScope.RECIPIENT; // Depends on who receives the notification
+    }
+
     @Override
     public String toString() {
         return "BlockedUserValidator";
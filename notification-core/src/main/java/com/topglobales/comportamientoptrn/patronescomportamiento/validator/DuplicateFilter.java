@@ -0,0 +1,161 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, time-bucketed set of 64-bit fingerprints: remembers each key for at least {@code window}.
+ * Time is cut into epochs of {@code window / (GENERATIONS - 1)}; each epoch writes into one of {@link #GENERATIONS}
+ * open-addressing tables, reused round-robin, and a lookup checks the tables of the last {@code GENERATIONS} epochs.
+ * <p>
+ * Every slot holds the fingerprint's top 48 bits and the low 16 bits of the epoch that wrote it, so a slot left by an
+ * older epoch simply reads as free: tables are never cleared and no thread rotates them.
+ * A key {@link #remove removed} leaves a tombstone in its slot, so the probe runs going through it stay intact.
+ * Memory stays at {@code GENERATIONS * capacity} longs however many keys go through. Lock-free: one CAS per new key.
+ * <ul>
+ *     <li>A key whose probe run is full isn't remembered, so it may get through twice (never the other way round);</li>
+ *     <li>two keys are confused only if 48 fingerprint bits collide.</li>
+ * </ul>
+ */
+public final class DuplicateFilter {
+    public static final int GENERATIONS = 4;
+    private static final int MAX_PROBES = 16;
+    private static final long TAG_MASK = 0xFFFFL;
+    private static final long TOMBSTONE = TAG_MASK + 1; // Key bits of a removed entry; 0 is a never-written slot
+
+    private final AtomicLongArray slots;
+    private final int capacity;
+    private final int mask;
+    private final long epochNanos;
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param window   Minimum time a key is remembered.
+     * @param capacity Slots per epoch, rounded up to a power of two. Keep it well above the keys expected per epoch.
+     */
+    public DuplicateFilter(Duration window, int capacity) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        if (capacity <= 0 || capacity > (1 << 28)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^28");
+        }
+        int size = MAX_PROBES;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicLongArray(GENERATIONS * size);
+        this.epochNanos = Math.max(1, window.toNanos() / (GENERATIONS - 1));
+    }
+
+    /**
+     * Records a key unless it was already recorded within the window. Atomic: of two concurrent calls with the
+     * same key, only one returns true.
+     *
+     * @param fingerprint 64-bit hash of the key, should be well mixed.
+     * @return true if the key is new, false if it's a duplicate.
+     */
+    public boolean add(long fingerprint) {
+        long epoch = currentEpoch();
+        long key = keyOf(fingerprint);
+        int home = homeOf(fingerprint);
+        // Older epochs: read only
+        for (long older = epoch - (GENERATIONS - 1); older < epoch; older++) {
+            if (older >= 0 && contains(older, key, home)) {
+                return false;
+            }
+        }
+        int base = (int) (epoch % GENERATIONS) * capacity;
+        long tag = epoch & TAG_MASK;
+        long entry = key | tag;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int index = base + ((home + probe) & mask);
+            while (true) {
+                long current = slots.get(index);
+                if ((current & TAG_MASK) == tag && current != 0) {
+                    if (current == entry) {
+                        return false; // Same key, this epoch
+                    }
+                    break; // Taken by another key (or a tombstone), next slot
+                }
+                if (slots.compareAndSet(index, current, entry)) {
+                    return true; // Free or left by an older epoch
+                }
+                // Lost a race for this slot, look at what won
+            }
+        }
+        return true; // Probe run full: not remembered
+    }
+
+    /**
+     * Forgets a key, so the next {@link #add} of it returns true again, e.g. when what it stood for never happened.
+     *
+     * @param fingerprint The same hash given to {@link #add}.
+     * @return true if the key was remembered.
+     */
+    public boolean remove(long fingerprint) {
+        long epoch = currentEpoch();
+        long key = keyOf(fingerprint);
+        int home = homeOf(fingerprint);
+        boolean removed = false;
+        for (long older = epoch - (GENERATIONS - 1); older <= epoch; older++) {
+            if (older < 0) {
+                continue;
+            }
+            int base = (int) (older % GENERATIONS) * capacity;
+            long tag = older & TAG_MASK;
+            long entry = key | tag;
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int index = base + ((home + probe) & mask);
+                long current = slots.get(index);
+                if (current == entry) {
+                    removed |= slots.compareAndSet(index, entry, TOMBSTONE | tag); // Lost only to another remove
+                    break;
+                }
+                if ((current & TAG_MASK) != tag || current == 0) {
+                    break; // A free slot ends the run
+                }
+            }
+        }
+        return removed;
+    }
+
+    private long currentEpoch() {
+        return (System.nanoTime() - origin) / epochNanos;
+    }
+
+    // Top 48 bits; the two reserved values are moved to a third one, at worst confusing it with a few more keys
+    private static long keyOf(long fingerprint) {
+        long key = fingerprint & ~TAG_MASK;
+        return key == 0 || key == TOMBSTONE ? TOMBSTONE << 1 : key;
+    }
+
+    // Spread by the high bits, the low ones hold the tag
+    private int homeOf(long fingerprint) {
+        return (int) (fingerprint >>> 32) & mask;
+    }
+
+    private boolean contains(long epoch, long key, int home) {
+        int base = (int) (epoch % GENERATIONS) * capacity;
+        long entry = key | (epoch & TAG_MASK);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long current = slots.get(base + ((home + probe) & mask));
+            if (current == entry) {
+                return true;
+            }
+            if ((current & TAG_MASK) != (epoch & TAG_MASK) || current == 0) {
+                return false; // A free slot ends the run
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Bytes used by the slots, fixed at construction.
+     */
+    public long getFootprintBytes() {
+        return (long) slots.length() * Long.BYTES;
+    }
+}
@@ -0,0 +1,103 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+
+import java.time.Duration;
+
+/**
+ * Concrete Handler: Suppresses a notification the recipient already got within a time window,
+ * keyed by (recipient, event type, message). Runs before the recipient's message is formatted and sent.
+ * A notification is remembered as soon as it passes, so place it last in the chain: a later validator rejecting it
+ * would leave it remembered. One that passes but is then dropped or fails for good on its way out must be
+ * {@link #forget forgotten}, or its real repeat is suppressed for the whole window; see
+ * {@code NotificationInvoker.setUndeliveredHandler}.
+ * The state is a fixed-size {@link DuplicateFilter}, whatever the number of recipients and messages.
+ */
+public class DuplicateSuppressionValidator extends AbstractValidationHandler {
+    private final DuplicateFilter filter;
+    // Every recipient of an event gets the same message instance, so its hash is computed once per event
+    private volatile MessageHash lastMessage = new MessageHash(null, 0);
+
+    private record MessageHash(String message, long hash) {
+    }
+
+    /**
+     * @param window   How long a notification is remembered.
+     * @param capacity Notifications remembered per quarter of the window, see {@link DuplicateFilter}.
+     */
+    public DuplicateSuppressionValidator(Duration window, int capacity) {
+        this.filter = new DuplicateFilter(window, capacity);
+    }
+
+    @Override
+    protected boolean performValidation(NotificationContext context) {
+        User recipient = context.getRecipientUser();
+        if (recipient == null) {
+            return true; // Not a user, nothing to key on
+        }
+        if (!filter.add(fingerprint(recipient, context.getEventType(), messageHash(context.getOriginalMessage())))) {
+            context.reject(ValidationCheck.NOT_DUPLICATE, recipient.getName());
+            return false;
+        }
+        context.pass(ValidationCheck.NOT_DUPLICATE);
+        return true;
+    }
+
+    /**
+     * Forgets a notification that passed but never went out (dropped or failed for good), so a repeat isn't suppressed.
+     *
+     * @param recipient The recipient it was validated for; nothing is done if null.
+     * @param eventType Name of its event type.
+     * @param message   The message as published, before formatting; nothing is done if null.
+     * @return true if it was remembered.
+     */
+    public boolean forget(User recipient, String eventType, String message) {
+        if (recipient == null || message == null) {
+            return false; // Not something this validator remembered
+        }
+        return filter.remove(fingerprint(recipient, eventType, hash(message)));
+    }
+
+    private static long fingerprint(User recipient, String eventType, long messageHash) {
+        return mix(mix(hash(recipient.getName()) * 31 + hash(eventType)) ^ messageHash);
+    }
+
+    private long messageHash(String message) {
+        MessageHash last = lastMessage;
+        if (last.message() == message) {
+            return last.hash();
+        }
+        long hash = hash(message);
+        lastMessage = new MessageHash(message, hash);
+        return hash;
+    }
+
+    // 64-bit FNV-1a over the chars
+    private static long hash(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Finalizer of SplitMix64, so every input bit reaches the bits DuplicateFilter uses
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    @Override
+    public ValidationScope getScope() {
+        return ValidationScope.RECIPIENT; // The same message may go to everyone else
+    }
+
+    @Override
+    public String toString() {
+        return "DuplicateSuppressionValidator";
+    }
+}
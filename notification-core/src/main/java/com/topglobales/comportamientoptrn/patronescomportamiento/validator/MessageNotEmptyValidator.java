@@ -6,15 +6,19 @@ package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
 public class MessageNotEmptyValidator extends AbstractValidationHandler {
     @Override
     protected boolean performValidation(NotificationContext context) {
-        if (context.getOriginalMessage() == null || context.getOriginalMessage().trim().isEmpty()) {
-            context.setIsValid(false);
-            context.addValidationMessage("Message cannot be empty.");
+        if (context.getOriginalMessage() == null || context.getOriginalMessage().isBlank()) {
+            context.reject(ValidationCheck.MESSAGE_NOT_EMPTY, null);
             return false;
         }
-        context.addValidationMessage("Message is not empty: OK");
+        context.pass(ValidationCheck.MESSAGE_NOT_EMPTY);
         return true;
     }
 
+    @Override
+    public ValidationScope getScope() {
+        return ValidationScope.EVENT; // Only looks at the message
+    }
+
     @Override
     public String toString() {
         return "MessageNotEmptyValidator";
@@ -0,0 +1,166 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * NotificationContext encapsulates information about an event that requires validation or notification.
+ * Built-in validators record their result as a {@link ValidationCheck} code (a bit when passing, the code plus
+ * one detail object when rejecting), so validating an accepted notification allocates nothing.
+ * Contexts are mutable so they can be reused through {@link #reset} or a {@link NotificationContextPool}.
+ */
+@Getter
+public class NotificationContext {
+
+    private String eventType;
+
+    private String originalMessage;
+
+    private boolean isValid = true;
+
+    private LogSink logTarget;
+
+    private User recipientUser;
+
+    // Bitset of the ValidationChecks that passed
+    private long passedChecks;
+
+    // First check that rejected the notification, with its detail; null while valid
+    private ValidationCheck rejection;
+
+    private Object rejectionDetail;
+
+    // Free-text messages from custom validators, only allocated if one is added
+    @Getter(AccessLevel.NONE)
+    private List<String> customMessages;
+
+    /**
+     * Constructs a new NotificationContext with the given metadata.
+     *
+     * @param eventType        The type of event.
+     * @param originalMessage  The initial message or payload.
+     * @param logTarget        Sink for the validation logs, can be null.
+     * @param recipientUser    The user affected by this event, can be null.
+     */
+    public NotificationContext(String eventType, String originalMessage, LogSink logTarget, User recipientUser) {
+        reset(eventType, originalMessage, logTarget, recipientUser);
+    }
+
+    /**
+     * Clears every result and reuses this context for another validation.
+     *
+     * @param eventType        The type of event.
+     * @param originalMessage  The initial message or payload.
+     * @param logTarget        Sink for the validation logs, can be null.
+     * @param recipientUser    The user affected by this event, can be null.
+     * @return This context.
+     */
+    public NotificationContext reset(String eventType, String originalMessage, LogSink logTarget, User recipientUser) {
+        this.eventType = eventType;
+        this.originalMessage = originalMessage;
+        this.logTarget = logTarget;
+        this.recipientUser = recipientUser;
+        this.isValid = true;
+        this.passedChecks = 0;
+        this.rejection = null;
+        this.rejectionDetail = null;
+        if (customMessages != null) {
+            customMessages.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Records that a check passed. Allocation-free.
+     *
+     * @param check The check that passed.
+     */
+    public void pass(ValidationCheck check) {
+        passedChecks |= check.mask();
+    }
+
+    /**
+     * Records that a check rejected the notification and marks the context invalid.
+     * Only the first rejection is kept, the text is rendered later by {@link #getValidationMessages()}.
+     *
+     * @param check  The check that failed.
+     * @param detail Value for the check's message template (e.g. the matched word), can be null.
+     */
+    public void reject(ValidationCheck check, Object detail) {
+        this.isValid = false;
+        if (rejection == null) {
+            this.rejection = check;
+            this.rejectionDetail = detail;
+        }
+    }
+
+    /**
+     * @return true if the given check ran and passed on this context.
+     */
+    public boolean hasPassed(ValidationCheck check) {
+        return (passedChecks & check.mask()) != 0;
+    }
+
+    /**
+     * Adds a free-text validation message to the context and logs it to the log sink or console.
+     * Meant for custom validators; the built-in ones use {@link #pass} and {@link #reject}.
+     *
+     * @param message The validation message to add.
+     */
+    public void addValidationMessage(String message) {
+        if (customMessages == null) {
+            customMessages = new ArrayList<>();
+        }
+        customMessages.add(message);
+        log("Validation: " + message);
+    }
+
+    /**
+     * Renders the validation messages: the rejection reason, if any, followed by custom messages.
+     * Builds the text on each call, so only call it when it is going to be shown.
+     *
+     * @return The messages, empty if nothing was recorded.
+     */
+    public List<String> getValidationMessages() {
+        if (rejection == null && (customMessages == null || customMessages.isEmpty())) {
+            return Collections.emptyList();
+        }
+        List<String> messages = new ArrayList<>();
+        if (rejection != null) {
+            messages.add(rejection.renderRejection(rejectionDetail));
+        }
+        if (customMessages != null) {
+            messages.addAll(customMessages);
+        }
+        return messages;
+    }
+
+    /**
+     * Logs a message to the associated LogSink,
+     * or prints to the console if no sink is available.
+     *
+     * @param message The message to log.
+     */
+    private void log(String message) {
+        if (logTarget != null) {
+            logTarget.append(message + "\n");
+        } else {
+            System.out.println(message); // Fallback logging
+        }
+    }
+
+    /**
+     * Sets the validity state of the context. Typically called by validation handlers.
+     *
+     * @param isValid true if the context is valid, false otherwise.
+     */
+    public void setIsValid(boolean isValid) {
+        this.isValid = isValid;
+    }
+}
@@ -0,0 +1,41 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Small bounded pool of reusable NotificationContexts, shared by the threads that validate notifications.
+ * Sized to the max number of validations in flight, so in steady state no context is allocated.
+ * If the pool is empty a new context is created; if it's full a released context is left to the GC.
+ */
+public class NotificationContextPool {
+    private final ArrayBlockingQueue<NotificationContext> free;
+
+    /**
+     * @param capacity Max number of idle contexts kept.
+     */
+    public NotificationContextPool(int capacity) {
+        this.free = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Takes an idle context (or creates one) and prepares it for a validation.
+     */
+    public NotificationContext acquire(String eventType, String originalMessage, LogSink logTarget, User recipientUser) {
+        NotificationContext context = free.poll();
+        if (context == null) {
+            return new NotificationContext(eventType, originalMessage, logTarget, recipientUser);
+        }
+        return context.reset(eventType, originalMessage, logTarget, recipientUser);
+    }
+
+    /**
+     * Returns a context to the pool. The caller must not use it afterwards.
+     */
+    public void release(NotificationContext context) {
+        // Drop references so pooled contexts don't keep users or messages alive
+        free.offer(context.reset(null, null, null, null));
+    }
+}
@@ -0,0 +1,79 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Concrete Handler: Rejects messages that contain prohibited words.
+ * The words come from a dictionary compiled into a {@link ProfanityMatcher}; the dictionary can be
+ * replaced at runtime with {@link #reloadDictionary(Path)} without stopping the validations in progress.
+ */
+public class ProfanityFilterValidator extends AbstractValidationHandler {
+    // Bundled dictionary, next to this class
+    private static final String DEFAULT_DICTIONARY = "profanity-words.txt";
+
+    // Swapped atomically on reload; each validation uses whichever matcher it read first
+    private volatile ProfanityMatcher matcher;
+    private final boolean wholeWordsOnly;
+
+    /**
+     * Uses the bundled dictionary. Words match anywhere in the message, like the original contains() check.
+     */
+    public ProfanityFilterValidator() {
+        this(loadDefaultDictionary(false), false);
+    }
+
+    /**
+     * @param matcher        The compiled dictionary to use.
+     * @param wholeWordsOnly Whether dictionaries loaded later with {@link #reloadDictionary(Path)} match whole words only.
+     */
+    public ProfanityFilterValidator(ProfanityMatcher matcher, boolean wholeWordsOnly) {
+        this.matcher = matcher;
+        this.wholeWordsOnly = wholeWordsOnly;
+    }
+
+    /**
+     * Compiles the dictionary file and, only if that succeeds, starts using it (hot swap).
+     *
+     * @param dictionaryFile One word per line, '#' for comments.
+     * @throws IOException If the file can't be read; the current dictionary stays in place.
+     */
+    public void reloadDictionary(Path dictionaryFile) throws IOException {
+        this.matcher = ProfanityMatcher.load(dictionaryFile, wholeWordsOnly);
+    }
+
+    @Override
+    protected boolean performValidation(NotificationContext context) {
+        String message = context.getOriginalMessage();
+        String prohibitedWord = message != null ? matcher.findFirst(message) : null;
+        if (prohibitedWord != null) {
+            context.reject(ValidationCheck.PROFANITY_FILTER, prohibitedWord);
+            return false;
+        }
+        context.pass(ValidationCheck.PROFANITY_FILTER);
+        return true;
+    }
+
+    private static ProfanityMatcher loadDefaultDictionary(boolean wholeWordsOnly) {
+        try (InputStream in = ProfanityFilterValidator.class.getResourceAsStream(DEFAULT_DICTIONARY)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled dictionary: " + DEFAULT_DICTIONARY);
+            }
+            return ProfanityMatcher.load(in, wholeWordsOnly);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read bundled dictionary: " + DEFAULT_DICTIONARY, e);
+        }
+    }
+
+    @Override
+    public ValidationScope getScope() {
+        return ValidationScope.EVENT; // Only looks at the message
+    }
+
+    @Override
+    public String toString() {
+        return "ProfanityFilterValidator";
+    }
+}
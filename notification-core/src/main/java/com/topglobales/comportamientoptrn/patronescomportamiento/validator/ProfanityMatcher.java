@@ -0,0 +1,232 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable multi-pattern matcher for prohibited words, compiled from a dictionary into an Aho-Corasick automaton.
+ * The automaton is stored as a complete transition table (a DFA), so scanning a message takes exactly one table
+ * lookup per character no matter how many words the dictionary has.
+ * Characters are folded on the fly (lowercase + leetspeak digits/symbols), so no lowercased copy of the message is made.
+ */
+public final class ProfanityMatcher {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final String[] terms;       // Original dictionary entries, indexed by term id
+    private final int[] termLengths;    // Length of each term in chars (folding is one char to one char)
+    private final char[] classOf;       // Folded char -> alphabet class; 0 means "not in any term"
+    private final int alphabetSize;     // Number of classes including 0
+    private final int[] transitions;    // transitions[state * alphabetSize + class] -> next state
+    private final int[] termAt;         // Term id that ends at each state, or NONE
+    private final int[] outputLink;     // Nearest proper suffix state that ends a term, or NONE
+    private final boolean wholeWordsOnly;
+
+    private ProfanityMatcher(String[] terms, int[] termLengths, char[] classOf, int alphabetSize, int[] transitions,
+                             int[] termAt, int[] outputLink, boolean wholeWordsOnly) {
+        this.terms = terms;
+        this.termLengths = termLengths;
+        this.classOf = classOf;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.termAt = termAt;
+        this.outputLink = outputLink;
+        this.wholeWordsOnly = wholeWordsOnly;
+    }
+
+    /**
+     * Compiles a dictionary.
+     *
+     * @param words          Prohibited words. Blank entries are ignored; case and leetspeak variants don't need to be listed.
+     * @param wholeWordsOnly If true, a word only matches when it is not part of a longer word ("ass" won't match "class").
+     * @return The compiled matcher.
+     */
+    public static ProfanityMatcher compile(Collection<String> words, boolean wholeWordsOnly) {
+        List<String> terms = new ArrayList<>(words.size());
+        for (String word : words) {
+            String trimmed = word.trim();
+            if (!trimmed.isEmpty()) {
+                terms.add(trimmed);
+            }
+        }
+
+        // Dense alphabet: only the folded chars that appear in some term get their own class
+        char[] classOf = new char[Character.MAX_VALUE + 1];
+        int alphabetSize = 1;
+        for (String term : terms) {
+            for (int i = 0; i < term.length(); i++) {
+                char folded = fold(term.charAt(i));
+                if (classOf[folded] == 0) {
+                    classOf[folded] = (char) alphabetSize++;
+                }
+            }
+        }
+
+        // 1) Trie
+        int capacity = 1;
+        for (String term : terms) {
+            capacity += term.length();
+        }
+        int[] transitions = new int[capacity * alphabetSize];
+        Arrays.fill(transitions, NONE);
+        int[] termAt = new int[capacity];
+        Arrays.fill(termAt, NONE);
+        int[] termLengths = new int[terms.size()];
+        int states = 1;
+        for (int id = 0; id < terms.size(); id++) {
+            String term = terms.get(id);
+            int state = ROOT;
+            for (int i = 0; i < term.length(); i++) {
+                int slot = state * alphabetSize + classOf[fold(term.charAt(i))];
+                if (transitions[slot] == NONE) {
+                    transitions[slot] = states++;
+                }
+                state = transitions[slot];
+            }
+            if (termAt[state] == NONE) { // Duplicates (after folding) keep the first entry
+                termAt[state] = id;
+            }
+            termLengths[id] = term.length();
+        }
+
+        // 2) Failure links in BFS order, filling the missing transitions to get a DFA
+        int[] failure = new int[states];
+        int[] outputLink = new int[states];
+        Arrays.fill(outputLink, NONE);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < alphabetSize; c++) {
+            int child = transitions[ROOT * alphabetSize + c];
+            if (child == NONE) {
+                transitions[ROOT * alphabetSize + c] = ROOT;
+            } else {
+                failure[child] = ROOT;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fail = failure[state];
+            outputLink[state] = termAt[fail] != NONE ? fail : outputLink[fail];
+            for (int c = 0; c < alphabetSize; c++) {
+                int slot = state * alphabetSize + c;
+                int child = transitions[slot];
+                int viaFailure = transitions[fail * alphabetSize + c];
+                if (child == NONE) {
+                    transitions[slot] = viaFailure;
+                } else {
+                    failure[child] = viaFailure;
+                    queue.add(child);
+                }
+            }
+        }
+
+        return new ProfanityMatcher(terms.toArray(new String[0]), termLengths, classOf, alphabetSize,
+                Arrays.copyOf(transitions, states * alphabetSize), Arrays.copyOf(termAt, states), outputLink, wholeWordsOnly);
+    }
+
+    /**
+     * Loads a dictionary file: one word per line, blank lines and lines starting with '#' are ignored.
+     */
+    public static ProfanityMatcher load(Path file, boolean wholeWordsOnly) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return compile(readWords(reader), wholeWordsOnly);
+        }
+    }
+
+    /**
+     * Same as {@link #load(Path, boolean)}, reading from a stream (e.g. a classpath resource).
+     */
+    public static ProfanityMatcher load(InputStream in, boolean wholeWordsOnly) throws IOException {
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return compile(readWords(reader), wholeWordsOnly);
+        }
+    }
+
+    /**
+     * Scans the text once and returns the first prohibited word found.
+     *
+     * @param text The message to check.
+     * @return The dictionary entry that matched, or null if the text is clean.
+     */
+    public String findFirst(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + classOf[fold(text.charAt(i))]];
+            // Walk the terms ending here: the state's own term, then shorter ones through the output links
+            for (int s = termAt[state] != NONE ? state : outputLink[state]; s != NONE; s = outputLink[s]) {
+                int id = termAt[s];
+                if (!wholeWordsOnly || isWholeWord(text, i - termLengths[id] + 1, i + 1)) {
+                    return terms[id];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the text contains at least one prohibited word.
+     */
+    public boolean matches(CharSequence text) {
+        return findFirst(text) != null;
+    }
+
+    /**
+     * @return Number of words in the compiled dictionary.
+     */
+    public int size() {
+        return terms.length;
+    }
+
+    // Lowercase, then map the usual leetspeak substitutions back to letters
+    private static char fold(char c) {
+        char lower = Character.toLowerCase(c);
+        return switch (lower) {
+            case '0' -> 'o';
+            case '1' -> 'i';
+            case '3' -> 'e';
+            case '4', '@' -> 'a';
+            case '5', '$' -> 's';
+            case '7' -> 't';
+            default -> lower;
+        };
+    }
+
+    private static boolean isWholeWord(CharSequence text, int start, int end) {
+        return (start == 0 || !isWordChar(text.charAt(start - 1)))
+                && (end == text.length() || !isWordChar(text.charAt(end)));
+    }
+
+    // Leetspeak symbols count as word chars, so "h3ll0" is one word
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || fold(c) != Character.toLowerCase(c);
+    }
+
+    private static List<String> readWords(Reader reader) throws IOException {
+        List<String> words = new ArrayList<>();
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            String word = line.trim();
+            if (!word.isEmpty() && !word.startsWith("#")) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProfanityMatcher (%d words, %d states)", terms.length, termAt.length);
+    }
+}
@@ -0,0 +1,33 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+/**
+ * Reason codes for the built-in validators.
+ * A context only records which checks passed (as bits) and, on rejection, which check failed plus one detail object.
+ * The human-readable text is rendered from the template only when a rejection is actually logged.
+ */
+public enum ValidationCheck {
+    MESSAGE_NOT_EMPTY("Message cannot be empty."),
+    PROFANITY_FILTER("Message contains prohibited words (e.g., '%s')."),
+    USER_NOT_BLOCKED("User [%s] is blocked. Notification suppressed for this user."),
+    NOT_DUPLICATE("User [%s] already got this notification recently. Duplicate suppressed.");
+
+    private final String rejectionTemplate;
+
+    ValidationCheck(String rejectionTemplate) {
+        this.rejectionTemplate = rejectionTemplate;
+    }
+
+    /**
+     * Builds the text explaining why this check rejected a notification.
+     * @param detail The detail recorded with the rejection (e.g. the matched word), can be null.
+     * @return The rendered message.
+     */
+    public String renderRejection(Object detail) {
+        return String.format(rejectionTemplate, detail);
+    }
+
+    // Bit of this check in NotificationContext's passed-checks mask
+    long mask() {
+        return 1L << ordinal();
+    }
+}
@@ -0,0 +1,45 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+/**
+ * Handler interface for the Chain of Responsibility.
+ * Declares a method for handling requests and a method for setting the next handler.
+ */
+public interface ValidationHandler {
+    /**
+     * Sets the next handler in the chain.
+     * @param next The next handler.
+     * @return The next handler, to allow for fluent chain building.
+     */
+    ValidationHandler setNext(ValidationHandler next);
+
+    /**
+     * Handles (validates) the notification context.
+     * @param context The notification context to validate.
+     * @return true if the context is valid according to this handler and subsequent handlers, false otherwise.
+     */
+    boolean validate(NotificationContext context);
+
+    /**
+     * Handles (validates) the notification context, running only the handlers of the given scope.
+     * Handlers of another scope are skipped and the request is passed along the chain.
+     * <p>
+     * By default the whole handler, with whatever it chains itself, runs in the stage picked by {@link #getScope()}
+     * through {@link #validate(NotificationContext)}, so implementations written before scopes existed keep working.
+     * {@link AbstractValidationHandler} overrides it to scope each handler of the chain on its own.
+     * @param context The notification context to validate.
+     * @param scope   Which handlers to run.
+     * @return true if every handler of that scope accepts the context, false otherwise.
+     */
+    default boolean validate(NotificationContext context, ValidationScope scope) {
+        return getScope() != scope || validate(context);
+    }
+
+    /**
+     * Declares what this handler depends on. Handlers that only look at the message should return EVENT,
+     * so they run once per event instead of once per recipient.
+     * @return The scope of this handler, RECIPIENT by default.
+     */
+    default ValidationScope getScope() {
+        return ValidationScope.RECIPIENT;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+/**
+ * What a validator looks at, which decides how often the EventManager runs it.
+ */
+public enum ValidationScope {
+    /** Depends only on the event (type and message): checked once per notify, the result applies to every recipient. */
+    EVENT,
+    /** Depends on the recipient (e.g. blocked users): checked once per recipient. */
+    RECIPIENT
+}
@@ -0,0 +1,16 @@
+/**
+ * Headless notification engine: events, validation chain, commands, metrics and log sinks.
+ * Depends on java.base, java.management (for the metrics MXBean) and jdk.jfr (for the Flight Recorder events) only, so it can run server-side without the JavaFX toolkit.
+ */
+module com.topglobales.comportamientoptrn.patronescomportamiento.core {
+    requires static lombok;
+    requires java.management;
+    requires jdk.jfr;
+
+    exports com.topglobales.comportamientoptrn.patronescomportamiento.command;
+    exports com.topglobales.comportamientoptrn.patronescomportamiento.jfr;
+    exports com.topglobales.comportamientoptrn.patronescomportamiento.log;
+    exports com.topglobales.comportamientoptrn.patronescomportamiento.metrics;
+    exports com.topglobales.comportamientoptrn.patronescomportamiento.model;
+    exports com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+}
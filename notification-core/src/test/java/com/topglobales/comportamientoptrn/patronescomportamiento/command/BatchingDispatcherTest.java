@@ -0,0 +1,117 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.ClientUser;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.DeliveryResult;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.OutgoingNotification;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingDispatcherTest {
+    private static final LogSink DISCARD = text -> { };
+
+    private final CountDownLatch releaseSlowChannel = new CountDownLatch(1);
+    private final BatchingDispatcher dispatcher = new BatchingDispatcher(new ChannelBatchConfig(10, Duration.ofMillis(20)), DISCARD);
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowChannel.countDown();
+        dispatcher.close();
+    }
+
+    @Test
+    void slowChannelDoesNotDelayAnotherChannelsLingerFlush() throws InterruptedException {
+        CountDownLatch slowCalled = new CountDownLatch(1);
+        RecordingChannel slow = new RecordingChannel("Slow") {
+            @Override
+            public String sendBatch(List<? extends OutgoingNotification> notifications) {
+                slowCalled.countDown();
+                try {
+                    releaseSlowChannel.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.sendBatch(notifications);
+            }
+        };
+        RecordingChannel fast = new RecordingChannel("Fast");
+        CountDownLatch fastDelivered = new CountDownLatch(1);
+
+        dispatcher.submit(command(slow, result -> { }));
+        assertTrue(slowCalled.await(2, TimeUnit.SECONDS), "Slow channel's linger flush never started");
+        dispatcher.submit(command(fast, result -> fastDelivered.countDown()));
+
+        assertTrue(fastDelivered.await(2, TimeUnit.SECONDS), "Fast channel waited for the slow one");
+    }
+
+    @Test
+    void fullBatchIsSentInOneBulkCall() {
+        RecordingChannel channel = new RecordingChannel("Email");
+        dispatcher.configureChannel(channel, new ChannelBatchConfig(3, Duration.ofMinutes(1)));
+        List<DeliveryResult> results = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.submit(command(channel, results::add)); // The third one sends on this thread
+        }
+
+        assertEquals(List.of(3), channel.batchSizes);
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(DeliveryResult::successful));
+    }
+
+    @Test
+    void closeSendsWhatIsStillLingering() {
+        RecordingChannel channel = new RecordingChannel("Push");
+        dispatcher.configureChannel(channel, new ChannelBatchConfig(100, Duration.ofMinutes(1)));
+        dispatcher.submit(command(channel, result -> { }));
+        dispatcher.submit(command(channel, result -> { }));
+
+        dispatcher.close();
+
+        assertEquals(List.of(2), channel.batchSizes);
+    }
+
+    private static SendNotificationCommand command(NotificationStrategy channel, Consumer<DeliveryResult> onResult) {
+        User recipient = new ClientUser("Test", "test@example.com", "555-0100", channel);
+        SendNotificationCommand command = new SendNotificationCommand(recipient, "message", channel, DISCARD);
+        command.onResult((sent, result) -> onResult.accept(result));
+        return command;
+    }
+
+    private static class RecordingChannel implements NotificationStrategy {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final String name;
+
+        RecordingChannel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String send(User user, String message) {
+            return "sent";
+        }
+
+        @Override
+        public String sendBatch(List<? extends OutgoingNotification> notifications) {
+            batchSizes.add(notifications.size());
+            return "sent " + notifications.size();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
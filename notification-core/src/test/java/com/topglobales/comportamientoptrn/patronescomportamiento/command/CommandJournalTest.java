@@ -0,0 +1,159 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandJournalTest {
+    private static final int SEGMENT_SIZE = 4096;
+    private static final Duration SYNC_INTERVAL = Duration.ofMillis(1); // Compaction runs every 100 intervals
+    private static final LogSink DISCARD = text -> { };
+
+    @TempDir
+    Path directory;
+
+    private CommandJournal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void pendingCommandsAreRecoveredAfterRestart() throws IOException {
+        journal = open();
+        long done = journal.append(payload(1, 100));
+        long pending = journal.append(payload(2, 100));
+        journal.complete(done);
+
+        journal.close();
+        journal = open();
+
+        List<CommandJournal.PendingCommand> recovered = journal.recover();
+        assertEquals(1, recovered.size());
+        assertEquals(pending, recovered.get(0).id());
+        assertArrayEquals(payload(2, 100), recovered.get(0).payload());
+    }
+
+    @Test
+    void compactionKeepsTheCompleteRecordsOfCommandsInOlderSegments() throws Exception {
+        journal = open();
+        long finishedLate = journal.append(payload(1, 1000));
+        long stillPending = journal.append(payload(2, 1000)); // Keeps the first segment above the compaction threshold
+        appendAndComplete(20, 1000); // Rolls several segments
+        journal.complete(finishedLate); // Its COMPLETE record lands in a newer segment than its APPEND
+        appendAndComplete(20, 1000); // Seals that segment, with nothing pending in it
+        Thread.sleep(500); // Several compaction runs
+
+        journal.close();
+        journal = open();
+
+        List<CommandJournal.PendingCommand> recovered = journal.recover();
+        assertEquals(List.of(stillPending), recovered.stream().map(CommandJournal.PendingCommand::id).toList());
+    }
+
+    @Test
+    void segmentsAreDeletedOnceEveryOlderOneIsGone() throws Exception {
+        journal = open();
+        long first = journal.append(payload(1, 1000));
+        long second = journal.append(payload(2, 1000));
+        appendAndComplete(20, 1000);
+        journal.complete(first);
+        journal.complete(second);
+
+        awaitSegmentCount(1); // Only the active segment is left
+
+        journal.close();
+        journal = open();
+        assertTrue(journal.recover().isEmpty());
+    }
+
+    @Test
+    void pendingCommandsOfAMostlyFinishedSegmentAreMovedAndSurviveRestart() throws Exception {
+        journal = open();
+        long pending = journal.append(payload(7, 50));
+        appendAndComplete(300, 50);
+
+        awaitSegmentCount(2); // The moved copy is in the active segment, or the one before
+
+        journal.close();
+        journal = open();
+        List<CommandJournal.PendingCommand> recovered = journal.recover();
+        assertEquals(1, recovered.size());
+        assertEquals(pending, recovered.get(0).id());
+        assertArrayEquals(payload(7, 50), recovered.get(0).payload());
+    }
+
+    @Test
+    void recoveredCommandsAreHandedOutOnce() throws IOException {
+        journal = open();
+        journal.append(payload(1, 10));
+        journal.close();
+        journal = open();
+
+        assertEquals(1, journal.recover().size());
+        assertTrue(journal.recover().isEmpty());
+        assertEquals(1, journal.getPendingCount()); // Still pending until completed
+    }
+
+    @Test
+    void completeAfterCloseIsRejectedAndTheCommandIsReplayed() throws IOException {
+        journal = open();
+        long id = journal.append(payload(1, 10));
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.complete(id));
+
+        journal = open();
+        assertEquals(List.of(id), journal.recover().stream().map(CommandJournal.PendingCommand::id).toList());
+    }
+
+    private CommandJournal open() throws IOException {
+        return new CommandJournal(directory, SEGMENT_SIZE, SYNC_INTERVAL, DISCARD);
+    }
+
+    private void appendAndComplete(int count, int size) {
+        for (int i = 0; i < count; i++) {
+            journal.complete(journal.append(payload(100 + i, size)));
+        }
+    }
+
+    private void awaitSegmentCount(int max) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (segmentCount() > max) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError(segmentCount() + " segments left, expected at most " + max);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] payload(int seed, int size) {
+        byte[] payload = new byte[size];
+        for (int i = 0; i < size; i++) {
+            payload[i] = (byte) (seed + i);
+        }
+        return payload;
+    }
+}
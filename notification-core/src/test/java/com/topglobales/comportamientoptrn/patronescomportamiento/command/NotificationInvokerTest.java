@@ -0,0 +1,260 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.ClientUser;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationInvokerTest {
+    private static final LogSink DISCARD = text -> { };
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-retry-timer", Duration.ofMillis(5), 64, DISCARD);
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+    private NotificationInvoker invoker;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseWorker.countDown();
+        if (invoker != null) {
+            invoker.shutdown(2, TimeUnit.SECONDS);
+        }
+        timer.close();
+    }
+
+    @Test
+    void failedSendIsRetriedUntilItSucceeds() throws InterruptedException {
+        FlakyChannel channel = new FlakyChannel(2);
+        invoker = new NotificationInvoker(DISCARD);
+        invoker.setRetryPolicy(new RetryPolicy(5, Duration.ofMillis(10), Duration.ofMillis(20), 2.0), timer);
+
+        invoker.setCommand(send(channel));
+
+        assertTrue(channel.delivered.await(2, TimeUnit.SECONDS), "Never retried up to a success");
+        assertEquals(3, channel.calls.get());
+    }
+
+    @Test
+    void sendGivesUpAfterMaxAttempts() throws InterruptedException {
+        FlakyChannel channel = new FlakyChannel(Integer.MAX_VALUE);
+        invoker = new NotificationInvoker(DISCARD);
+        invoker.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(10), 1.0), timer);
+
+        invoker.setCommand(send(channel));
+
+        awaitCalls(channel, 3);
+        Thread.sleep(200); // Several backoffs
+        assertEquals(3, channel.calls.get());
+    }
+
+    @Test
+    void retryDueAfterShutdownIsNotQueued() throws InterruptedException {
+        FlakyChannel channel = new FlakyChannel(1);
+        ConcurrentLinkedQueue<String> log = new ConcurrentLinkedQueue<>();
+        invoker = new NotificationInvoker(log::add, 16, 1, 1);
+        invoker.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(100), Duration.ofMillis(100), 1.0), timer);
+
+        invoker.setCommand(send(channel));
+        awaitCalls(channel, 1); // Its retry is due in 50-100 ms
+        assertTrue(invoker.shutdown(2, TimeUnit.SECONDS));
+        Thread.sleep(300); // The timer is still running, as in the app
+
+        assertEquals(1, channel.calls.get());
+        assertTrue(log.stream().anyMatch(line -> line.contains("Shutting down, [") && line.contains("stays pending")),
+                "Retry after shutdown wasn't reported");
+    }
+
+    @Test
+    void openCircuitBreakerFailsFastWithoutCallingTheChannel() {
+        FlakyChannel channel = new FlakyChannel(Integer.MAX_VALUE);
+        invoker = new NotificationInvoker(DISCARD);
+        invoker.setCircuitBreakers(2, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            invoker.setCommand(send(channel));
+        }
+
+        assertEquals(2, channel.calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, invoker.getCircuitBreaker(channel).getState());
+    }
+
+    @Test
+    void retryThatFindsTheQueueFullIsRearmed() throws InterruptedException {
+        FlakyChannel channel = new FlakyChannel(1);
+        invoker = new NotificationInvoker(DISCARD, 1, 1, 1);
+        invoker.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(100), Duration.ofMillis(100), 1.0), timer);
+
+        invoker.setCommand(send(channel));
+        awaitCalls(channel, 1); // First attempt failed, its retry is due in 50-100 ms
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        invoker.setCommand(() -> {
+            workerBusy.countDown();
+            try {
+                releaseWorker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(workerBusy.await(2, TimeUnit.SECONDS));
+        invoker.setCommand(() -> { }); // Fills the queue
+        Thread.sleep(300); // The retry comes due while the queue is full
+
+        releaseWorker.countDown();
+
+        assertTrue(channel.delivered.await(2, TimeUnit.SECONDS), "Retry was dropped when it found the queue full");
+        assertEquals(2, channel.calls.get());
+    }
+
+    @Test
+    void divertedFailureCountsAgainstTheFallbackChannel() throws InterruptedException {
+        BlockedChannel primary = new BlockedChannel(releaseWorker);
+        FlakyChannel fallback = new FlakyChannel(Integer.MAX_VALUE);
+        invoker = new NotificationInvoker(DISCARD);
+        invoker.setCircuitBreakers(1, Duration.ofMinutes(1));
+        invoker.setChannelQueues(divertingQueues(primary, fallback));
+
+        fillPrimaryQueue(primary);
+        invoker.setCommand(send(primary)); // Diverted to the fallback, which fails
+
+        awaitCalls(fallback, 1);
+        awaitOpen(invoker.getCircuitBreaker(fallback));
+        assertEquals(CircuitBreaker.State.CLOSED, invoker.getCircuitBreaker(primary).getState());
+    }
+
+    @Test
+    void divertedSendIsRetriedOnTheFallbackChannel() throws InterruptedException {
+        BlockedChannel primary = new BlockedChannel(releaseWorker);
+        FlakyChannel fallback = new FlakyChannel(1);
+        invoker = new NotificationInvoker(DISCARD);
+        invoker.setRetryPolicy(new RetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(10), 1.0), timer);
+        invoker.setChannelQueues(divertingQueues(primary, fallback));
+
+        fillPrimaryQueue(primary);
+        invoker.setCommand(send(primary));
+
+        assertTrue(fallback.delivered.await(2, TimeUnit.SECONDS), "Retry didn't go to the fallback channel");
+        assertEquals(2, fallback.calls.get());
+        assertEquals(1, primary.calls.get()); // Only the send it's stuck on
+    }
+
+    @Test
+    void divertedSendIsCheckedAgainstTheFallbackRateLimit() throws InterruptedException {
+        BlockedChannel primary = new BlockedChannel(releaseWorker);
+        FlakyChannel fallback = new FlakyChannel(0);
+        RateLimiter limiter = new RateLimiter();
+        limiter.limitChannel(fallback, new RateLimit(1, Duration.ofMinutes(1), RateLimit.OverLimit.DROP));
+        invoker = new NotificationInvoker(DISCARD);
+        invoker.setRateLimiter(limiter, timer);
+        invoker.setChannelQueues(divertingQueues(primary, fallback));
+
+        fillPrimaryQueue(primary);
+        invoker.setCommand(send(primary));
+        invoker.setCommand(send(primary));
+
+        assertTrue(fallback.delivered.await(2, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(1, fallback.calls.get());
+    }
+
+    // Primary holds one notification in its queue, any more go to the fallback
+    private ChannelQueueDispatcher divertingQueues(NotificationStrategy primary, NotificationStrategy fallback) {
+        ChannelQueueDispatcher queues = new ChannelQueueDispatcher(new ChannelQueueConfig(100, ChannelQueueConfig.Overload.BLOCK, null), null, null, DISCARD);
+        queues.configureChannel(primary, new ChannelQueueConfig(1, ChannelQueueConfig.Overload.DIVERT, fallback));
+        return queues;
+    }
+
+    // The primary's sender is stuck on its first send and its one-slot queue is taken
+    private void fillPrimaryQueue(BlockedChannel primary) throws InterruptedException {
+        invoker.setCommand(send(primary));
+        assertTrue(primary.called.await(2, TimeUnit.SECONDS));
+        invoker.setCommand(send(primary));
+    }
+
+    private static void awaitOpen(CircuitBreaker breaker) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (breaker.getState() != CircuitBreaker.State.OPEN) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError(breaker + " never opened");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitCalls(FlakyChannel channel, int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (channel.calls.get() < calls) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError(channel.calls.get() + " call(s), expected " + calls);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static SendNotificationCommand send(NotificationStrategy channel) {
+        User recipient = new ClientUser("Test", "test@example.com", "555-0100", channel);
+        return new SendNotificationCommand(recipient, "message", channel, DISCARD);
+    }
+
+    // Blocks every send until released
+    private static class BlockedChannel implements NotificationStrategy {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch called = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        BlockedChannel(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String send(User user, String message) {
+            calls.incrementAndGet();
+            called.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "sent";
+        }
+
+        @Override
+        public String toString() {
+            return "Blocked";
+        }
+    }
+
+    // Fails its first calls, then delivers
+    private static class FlakyChannel implements NotificationStrategy {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch delivered = new CountDownLatch(1);
+        private final int failures;
+
+        FlakyChannel(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public String send(User user, String message) {
+            if (calls.incrementAndGet() <= failures) {
+                throw new IllegalStateException("provider down");
+            }
+            delivered.countDown();
+            return "sent";
+        }
+
+        @Override
+        public String toString() {
+            return "Flaky";
+        }
+    }
+}
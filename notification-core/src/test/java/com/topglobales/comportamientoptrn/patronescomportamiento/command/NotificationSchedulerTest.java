@@ -0,0 +1,142 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationSchedulerTest {
+    private static final LogSink DISCARD = text -> { };
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-scheduler-timer", Duration.ofMillis(5), 64, DISCARD);
+    private final NotificationInvoker invoker = new NotificationInvoker(DISCARD, 1, 1, 1);
+    private final NotificationScheduler scheduler = new NotificationScheduler(timer, invoker, DISCARD);
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseWorker.countDown();
+        invoker.shutdown(2, TimeUnit.SECONDS);
+        timer.close();
+    }
+
+    @Test
+    void dueCommandIsRunByTheInvoker() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+
+        scheduler.schedule(ran::countDown, Duration.ofMillis(20));
+
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void fullInvokerQueueDoesNotBlockTheTimer() throws InterruptedException {
+        fillInvoker();
+        CountDownLatch scheduledRan = new CountDownLatch(1);
+        CountDownLatch laterTick = new CountDownLatch(1);
+
+        scheduler.schedule(scheduledRan::countDown, Duration.ZERO); // Due while the queue is full
+        timer.schedule(laterTick::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(laterTick.await(2, TimeUnit.SECONDS), "Timer thread blocked on the invoker's queue");
+        assertFalse(scheduledRan.await(0, TimeUnit.MILLISECONDS));
+        assertEquals(1, scheduler.getPendingCount()); // Still waiting for room
+
+        releaseWorker.countDown();
+
+        assertTrue(scheduledRan.await(2, TimeUnit.SECONDS), "Command was lost while the queue was full");
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void cancelledCommandNeverRuns() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        NotificationScheduler.ScheduledCommand scheduled = scheduler.schedule(ran::countDown, Duration.ofMillis(200));
+
+        assertTrue(scheduled.cancel());
+
+        assertFalse(ran.await(400, TimeUnit.MILLISECONDS));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void cancelWhileTheInvokerQueueIsFullWins() throws InterruptedException {
+        GatedInvoker gated = new GatedInvoker();
+        NotificationScheduler gatedScheduler = new NotificationScheduler(timer, gated, DISCARD);
+        CountDownLatch ran = new CountDownLatch(1);
+        NotificationScheduler.ScheduledCommand scheduled = gatedScheduler.schedule(ran::countDown, Duration.ZERO);
+        assertTrue(gated.offering.await(2, TimeUnit.SECONDS)); // Its timeout has expired
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Thread canceller = new Thread(() -> cancelled.set(scheduled.cancel()));
+        canceller.start();
+        Thread.sleep(50); // cancel() is waiting for the outcome of the offer
+        gated.release.countDown(); // Queue full, so it's still the scheduler's
+        canceller.join(2000);
+
+        assertTrue(cancelled.get(), "Cancel lost to a command the invoker never took");
+        assertTrue(scheduled.isCancelled());
+        assertFalse(ran.await(300, TimeUnit.MILLISECONDS));
+        assertEquals(0, gatedScheduler.getPendingCount());
+    }
+
+    @Test
+    void commandHandedToTheInvokerCantBeCancelled() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        NotificationScheduler.ScheduledCommand scheduled = scheduler.schedule(ran::countDown, Duration.ZERO);
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+
+        assertFalse(scheduled.cancel());
+        assertFalse(scheduled.isCancelled());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    // Keeps the only worker busy and the one-slot queue full until releaseWorker
+    private void fillInvoker() throws InterruptedException {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        invoker.setCommand(() -> {
+            workerBusy.countDown();
+            try {
+                releaseWorker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(workerBusy.await(2, TimeUnit.SECONDS));
+        invoker.setCommand(() -> { });
+    }
+
+    // Immediate mode; its first offer waits for release, then finds the queue full
+    private static class GatedInvoker extends NotificationInvoker {
+        final CountDownLatch offering = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicBoolean first = new AtomicBoolean(true);
+
+        GatedInvoker() {
+            super(DISCARD);
+        }
+
+        @Override
+        public boolean offerCommand(Command command) {
+            if (!first.getAndSet(false)) {
+                return super.offerCommand(command);
+            }
+            offering.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.ClientUser;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityCommandQueueTest {
+    private static final LogSink DISCARD = text -> { };
+    private static final EventType ALERT = EventType.of("test.priority.alert");
+    private static final EventType UPDATE = EventType.of("test.priority.update");
+    private static final EventType PROMO = EventType.of("test.priority.promo");
+
+    private final PriorityPolicy policy = new PriorityPolicy();
+    private final NotificationStrategy channel = (user, message) -> "sent";
+    private final User recipient = new ClientUser("Test", "test@example.com", "555-0100", channel);
+
+    PriorityCommandQueueTest() {
+        policy.assign(ALERT, Priority.HIGH);
+        policy.assign(PROMO, Priority.LOW);
+    }
+
+    @Test
+    void backloggedLanesAreServedInProportionToTheirWeights() {
+        PriorityCommandQueue queue = new PriorityCommandQueue(policy, 1000);
+        fill(queue, 210);
+
+        Map<Priority, Integer> served = pollCounting(queue, 210);
+
+        assertEquals(Map.of(Priority.HIGH, 160, Priority.NORMAL, 40, Priority.LOW, 10), served);
+    }
+
+    @Test
+    void everyRoundOfTwentyOneServesEachLaneItsShare() {
+        PriorityCommandQueue queue = new PriorityCommandQueue(policy, 1000);
+        fill(queue, 500);
+
+        for (int round = 0; round < 10; round++) {
+            Map<Priority, Integer> served = pollCounting(queue, 21);
+            assertEquals(Map.of(Priority.HIGH, 16, Priority.NORMAL, 4, Priority.LOW, 1), served, "round " + round);
+        }
+    }
+
+    @Test
+    void changedWeightsChangeTheShares() {
+        policy.setWeight(Priority.LOW, 4);
+        PriorityCommandQueue queue = new PriorityCommandQueue(policy, 1000);
+        fill(queue, 240);
+
+        Map<Priority, Integer> served = pollCounting(queue, 240);
+
+        assertEquals(Map.of(Priority.HIGH, 160, Priority.NORMAL, 40, Priority.LOW, 40), served);
+    }
+
+    @Test
+    void commandsOfOneLaneAreTakenInArrivalOrder() {
+        PriorityCommandQueue queue = new PriorityCommandQueue(policy, 100);
+        List<Command> promos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Command promo = send(PROMO);
+            promos.add(promo);
+            queue.offer(promo);
+            queue.offer(send(ALERT));
+        }
+
+        List<Command> taken = new ArrayList<>();
+        queue.drainTo(taken);
+
+        assertEquals(promos, taken.stream().filter(promos::contains).toList());
+    }
+
+    @Test
+    void waitingHighCommandIsTakenNext() {
+        PriorityCommandQueue queue = new PriorityCommandQueue(policy, 100);
+        for (int i = 0; i < 50; i++) {
+            queue.offer(send(PROMO));
+        }
+        queue.poll();
+        queue.poll();
+        Command alert = send(ALERT);
+
+        queue.offer(alert);
+
+        assertSame(alert, queue.poll());
+    }
+
+    @Test
+    void fullLaneOnlyRefusesItsOwnPriority() {
+        PriorityCommandQueue queue = new PriorityCommandQueue(policy, 2);
+
+        assertTrue(queue.offer(send(PROMO)));
+        assertTrue(queue.offer(send(PROMO)));
+        assertFalse(queue.offer(send(PROMO)));
+        assertTrue(queue.offer(send(ALERT)));
+        assertTrue(queue.offer(send(UPDATE))); // No priority assigned: NORMAL
+
+        assertEquals(2, queue.size(Priority.LOW));
+        assertEquals(4, queue.size());
+        assertEquals(2, queue.remainingCapacity());
+    }
+
+    private void fill(PriorityCommandQueue queue, int perLane) {
+        for (int i = 0; i < perLane; i++) {
+            queue.offer(send(ALERT));
+            queue.offer(send(UPDATE));
+            queue.offer(send(PROMO));
+        }
+    }
+
+    private Map<Priority, Integer> pollCounting(PriorityCommandQueue queue, int polls) {
+        Map<Priority, Integer> served = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            served.put(priority, 0);
+        }
+        for (int i = 0; i < polls; i++) {
+            served.merge(policy.priorityOf(queue.poll()), 1, Integer::sum);
+        }
+        return served;
+    }
+
+    private SendNotificationCommand send(EventType eventType) {
+        return new SendNotificationCommand(recipient, "message", channel, eventType, DISCARD);
+    }
+}
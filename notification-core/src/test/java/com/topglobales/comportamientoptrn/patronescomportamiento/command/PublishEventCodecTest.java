@@ -0,0 +1,78 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventManager;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PublishEventCodecTest {
+    private static final LogSink DISCARD = text -> { };
+    private static final EventType NEWS = EventType.of("test.codec.news");
+
+    private final EventManager manager = new EventManager(null);
+    private final PublishEventCodec codec = new PublishEventCodec(manager, DISCARD);
+
+    @Test
+    void messageOver64KbRoundTrips() {
+        String message = "ñ".repeat(40_000); // 80,000 bytes in UTF-8
+        String attribute = "x".repeat(70_000);
+
+        PublishEventCommand decoded = roundTrip(new PublishEventCommand(manager, NEWS, message, Map.of("body", attribute), DISCARD));
+
+        assertEquals(NEWS, decoded.getEventType());
+        assertEquals(message, decoded.getMessage());
+        assertEquals(attribute, decoded.getAttributes().get("body"));
+    }
+
+    @Test
+    void everyAttributeTypeRoundTrips() {
+        Map<String, Object> attributes = Map.of("text", "hello", "flag", true, "count", 3, "total", 5L,
+                "ratio", 0.5, "severity", Severity.HIGH);
+
+        PublishEventCommand decoded = roundTrip(new PublishEventCommand(manager, NEWS, null, attributes, DISCARD));
+
+        assertNull(decoded.getMessage());
+        assertEquals(attributes, decoded.getAttributes());
+    }
+
+    @Test
+    void versionOneRecordIsStillRead() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(1);
+            out.writeUTF(NEWS.getName());
+            out.writeBoolean(true);
+            out.writeUTF("old message");
+            out.writeInt(1);
+            out.writeUTF("text");
+            out.writeByte('s');
+            out.writeUTF("old value");
+        }
+
+        PublishEventCommand decoded = (PublishEventCommand) codec.decode(bytes.toByteArray());
+
+        assertEquals("old message", decoded.getMessage());
+        assertEquals(Map.of("text", "old value"), decoded.getAttributes());
+    }
+
+    @Test
+    void truncatedRecordIsNotDecoded() {
+        byte[] payload = codec.encode(new PublishEventCommand(manager, NEWS, "message", Map.of(), DISCARD));
+
+        assertNull(codec.decode(Arrays.copyOf(payload, payload.length - 3)));
+    }
+
+    private PublishEventCommand roundTrip(PublishEventCommand command) {
+        return (PublishEventCommand) codec.decode(codec.encode(command));
+    }
+}
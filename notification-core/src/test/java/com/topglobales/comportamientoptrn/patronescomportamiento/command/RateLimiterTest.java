@@ -0,0 +1,125 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.command;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.ClientUser;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventType;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+    private static final LogSink DISCARD = text -> { };
+    private static final EventType LIMITED = EventType.of("test.limiter.limited");
+    private static final EventType UNLIMITED = EventType.of("test.limiter.unlimited");
+
+    private final RateLimiter limiter = new RateLimiter();
+    private final NotificationStrategy channel = (user, message) -> "sent";
+
+    @Test
+    void recipientLimitIsPerRecipient() {
+        limiter.limitRecipients(LIMITED, new RateLimit(2, Duration.ofMinutes(1), RateLimit.OverLimit.DROP));
+        User first = user("first");
+        User second = user("second");
+
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(first, LIMITED)));
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(first, LIMITED)));
+        assertEquals(RateLimiter.DROPPED, limiter.acquire(send(first, LIMITED)));
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(second, LIMITED)));
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(first, UNLIMITED)));
+    }
+
+    @Test
+    void deferLimitReturnsTheWaitForTheNextToken() {
+        limiter.limitRecipients(LIMITED, new RateLimit(1, Duration.ofMillis(100), RateLimit.OverLimit.DEFER));
+        User recipient = user("deferred");
+
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(recipient, LIMITED)));
+        long wait = limiter.acquire(send(recipient, LIMITED));
+
+        assertTrue(wait > 0 && wait <= Duration.ofMillis(100).toNanos(), "wait was " + wait);
+    }
+
+    @Test
+    void channelLimitGivesTheRecipientTokenBack() {
+        limiter.limitRecipients(LIMITED, new RateLimit(1, Duration.ofMinutes(1), RateLimit.OverLimit.DROP));
+        limiter.limitChannel(channel, new RateLimit(1, Duration.ofMinutes(1), RateLimit.OverLimit.DROP));
+        User recipient = user("second in line");
+
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(user("first in line"), LIMITED)));
+        assertEquals(RateLimiter.DROPPED, limiter.acquire(send(recipient, LIMITED))); // Over the channel's limit
+        limiter.limitChannel(channel, null);
+
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(recipient, LIMITED)));
+    }
+
+    @Test
+    void onlyRecipientsOfLimitedTypesAreTracked() {
+        limiter.limitRecipients(LIMITED, new RateLimit(1, Duration.ofMinutes(1), RateLimit.OverLimit.DROP));
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(send(user("user" + i), UNLIMITED));
+        }
+
+        assertEquals(0, limiter.getRecipientCount());
+    }
+
+    @Test
+    void idleRecipientsAreEvicted() throws InterruptedException {
+        limiter.limitRecipients(LIMITED, new RateLimit(1, Duration.ofMillis(50), RateLimit.OverLimit.DROP));
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(send(user("user" + i), LIMITED));
+        }
+        assertEquals(100, limiter.getRecipientCount());
+        assertEquals(0, limiter.evictIdle()); // Their buckets are still refilling
+
+        Thread.sleep(100);
+
+        assertEquals(100, limiter.evictIdle());
+        assertEquals(0, limiter.getRecipientCount());
+    }
+
+    @Test
+    void sendsShareTheSweepOut() throws InterruptedException {
+        RateLimiter sweeping = new RateLimiter(Duration.ofMillis(50));
+        sweeping.limitRecipients(LIMITED, new RateLimit(1, Duration.ofMillis(200), RateLimit.OverLimit.DROP));
+        for (int i = 0; i < 1000; i++) {
+            sweeping.acquire(send(user("user" + i), LIMITED));
+        }
+        Thread.sleep(300); // Every bucket full again, and a sweep is due
+        User sender = user("sender");
+
+        sweeping.acquire(send(sender, LIMITED));
+        int afterOneSend = sweeping.getRecipientCount();
+        for (int i = 0; i < 100; i++) {
+            sweeping.acquire(send(sender, LIMITED)); // Dropped, but still takes its slice
+        }
+
+        assertTrue(afterOneSend > 900, "One send evicted " + (1001 - afterOneSend) + " recipients");
+        assertEquals(1, sweeping.getRecipientCount()); // Only the sender, its bucket is refilling
+    }
+
+    @Test
+    void evictedRecipientStartsWithAFullBucket() throws InterruptedException {
+        limiter.limitRecipients(LIMITED, new RateLimit(1, Duration.ofMillis(50), RateLimit.OverLimit.DROP));
+        User recipient = user("returning");
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(recipient, LIMITED)));
+        Thread.sleep(100);
+        limiter.evictIdle();
+
+        assertEquals(RateLimiter.ALLOWED, limiter.acquire(send(recipient, LIMITED)));
+        assertEquals(RateLimiter.DROPPED, limiter.acquire(send(recipient, LIMITED)));
+    }
+
+    private User user(String name) {
+        return new ClientUser(name, name + "@example.com", "555-0100", channel);
+    }
+
+    private SendNotificationCommand send(User recipient, EventType eventType) {
+        return new SendNotificationCommand(recipient, "message", channel, eventType, DISCARD);
+    }
+}
@@ -0,0 +1,121 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRingBufferTest {
+    private static final int PRODUCERS = 4;
+    private static final int ENTRIES_PER_PRODUCER = 50_000;
+
+    @Test
+    void entriesComeOutInOrderAcrossManyLaps() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+
+        for (int i = 0; i < 40; i++) {
+            assertTrue(buffer.offer("entry " + i));
+            assertEquals("entry " + i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, fillCount(new LogRingBuffer(5)));
+        assertEquals(8, fillCount(new LogRingBuffer(8)));
+        assertEquals(2, fillCount(new LogRingBuffer(1))); // One slot can't tell full from empty
+        assertEquals(2, fillCount(new LogRingBuffer(2)));
+    }
+
+    @Test
+    void capacityThatCantBeRoundedIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer(0));
+        assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer((1 << 30) + 1));
+        assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void fullBufferDropsAndCountsNewEntries() {
+        LogRingBuffer buffer = new LogRingBuffer(2);
+        buffer.offer("first");
+        buffer.offer("second");
+
+        assertFalse(buffer.offer("third"));
+        assertFalse(buffer.offer("fourth"));
+
+        assertEquals(2, buffer.takeDroppedCount());
+        assertEquals(0, buffer.takeDroppedCount());
+        assertEquals("first", buffer.poll());
+        assertTrue(buffer.offer("fifth")); // The polled slot is free again
+        assertEquals("second", buffer.poll());
+        assertEquals("fifth", buffer.poll());
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws InterruptedException {
+        LogRingBuffer buffer = new LogRingBuffer(PRODUCERS * ENTRIES_PER_PRODUCER); // Never full
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < ENTRIES_PER_PRODUCER; i++) {
+                    if (!buffer.offer(producer + ":" + i)) {
+                        failures.add(new AssertionError("Entry dropped while the buffer had room"));
+                    }
+                }
+            });
+            thread.setUncaughtExceptionHandler((t, e) -> failures.add(e));
+            thread.start();
+            producers.add(thread);
+        }
+
+        int[] next = new int[PRODUCERS]; // Next index expected from each producer
+        int received = 0;
+        start.countDown();
+        while (received < PRODUCERS * ENTRIES_PER_PRODUCER && failures.isEmpty()) {
+            String entry = buffer.poll();
+            if (entry == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            int producer = Integer.parseInt(entry.substring(0, separator));
+            int index = Integer.parseInt(entry.substring(separator + 1));
+            assertEquals(next[producer], index, "Entry of producer " + producer + " lost, duplicated or out of order");
+            next[producer]++;
+            received++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> "Producer failed: " + failures.peek());
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.takeDroppedCount());
+    }
+
+    private static int fillCount(LogRingBuffer buffer) {
+        int count = 0;
+        while (buffer.offer("entry")) {
+            count++;
+        }
+        return count;
+    }
+}
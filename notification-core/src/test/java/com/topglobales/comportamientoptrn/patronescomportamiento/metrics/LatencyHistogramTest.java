@@ -0,0 +1,98 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void valuesBelowSixteenHaveABucketEach() {
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(15, LatencyHistogram.bucketOf(15));
+        assertEquals(15, LatencyHistogram.upperBound(15));
+    }
+
+    @Test
+    void bucketBoundariesAroundThePowersOfTwo() {
+        assertEquals(16, LatencyHistogram.bucketOf(16));
+        assertEquals(16, LatencyHistogram.upperBound(16));
+        assertEquals(31, LatencyHistogram.bucketOf(31));
+        assertEquals(31, LatencyHistogram.upperBound(31));
+        assertEquals(32, LatencyHistogram.bucketOf(32)); // From here on buckets are two wide
+        assertEquals(32, LatencyHistogram.bucketOf(33));
+        assertEquals(33, LatencyHistogram.upperBound(32));
+        assertEquals(33, LatencyHistogram.bucketOf(34));
+    }
+
+    @Test
+    void longMaxValueFallsInTheLastBucket() {
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    void everyValueFallsInTheBucketBoundingIt() {
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            for (long v = value - 1; v <= value + 1; v++) {
+                int bucket = LatencyHistogram.bucketOf(v);
+                long upper = LatencyHistogram.upperBound(bucket);
+                long lower = bucket == 0 ? 0 : LatencyHistogram.upperBound(bucket - 1) + 1;
+                assertTrue(lower <= v && v <= upper, v + " in bucket " + bucket + " [" + lower + ", " + upper + "]");
+                assertTrue(upper - lower <= Math.max(0, lower / LatencyHistogram.SUB_BUCKETS), "bucket " + bucket + " too wide");
+            }
+        }
+    }
+
+    @Test
+    void quantilesOfAKnownDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 900; i++) {
+            histogram.record(10);
+        }
+        for (int i = 0; i < 100; i++) {
+            histogram.record(1000); // Bucket [992, 1023]
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(10, snapshot.getValueAtQuantile(0.5));
+        assertEquals(10, snapshot.getValueAtQuantile(0.9));
+        assertEquals(1023, snapshot.getValueAtQuantile(0.901));
+        assertEquals(1023, snapshot.getValueAtQuantile(1.0));
+        assertEquals(10, snapshot.getValueAtQuantile(0.0));
+        assertEquals(109.0, snapshot.getMeanNanos(), 1e-9);
+    }
+
+    @Test
+    void emptyAndNegativeRecordings() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getValueAtQuantile(0.99));
+
+        histogram.record(-5);
+
+        assertEquals(0, histogram.snapshot().getValueAtQuantile(1.0));
+        assertEquals(1, histogram.snapshot().getCount());
+    }
+
+    @Test
+    void sinceKeepsOnlyWhatWasRecordedInBetween() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(5000);
+        }
+        LatencyHistogram.Snapshot earlier = histogram.snapshot();
+        for (int i = 0; i < 10; i++) {
+            histogram.record(7);
+        }
+
+        LatencyHistogram.Snapshot window = histogram.snapshot().since(earlier);
+
+        assertEquals(10, window.getCount());
+        assertEquals(7.0, window.getMeanNanos(), 1e-9);
+        assertEquals(7, window.getValueAtQuantile(0.99)); // The older, slower values are gone
+        assertEquals(0, earlier.since(histogram.snapshot()).getCount()); // Never negative
+    }
+}
@@ -0,0 +1,120 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DigesterTest {
+    private static final LogSink DISCARD = text -> { };
+    private static final EventType PROMO = EventType.of("test.digest.promo");
+    private static final EventType NEWS = EventType.of("test.digest.news");
+
+    private final Digester digester = new Digester(Duration.ofHours(1), 8, DISCARD);
+    private final RecordingUser user = new RecordingUser();
+
+    @AfterEach
+    void tearDown() {
+        digester.close();
+    }
+
+    @Test
+    void concurrentUpdatesAtTheLimitLoseNothing() throws InterruptedException {
+        Digester.DigestListener listener = digester.digestFor(user);
+        int threads = 4;
+        int updates = 20_000;
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread publisher = new Thread(() -> {
+                for (int i = 0; i < updates; i++) {
+                    listener.update(PROMO, "promo");
+                }
+            });
+            publisher.setUncaughtExceptionHandler((thread, e) -> failures.add(e));
+            publisher.start();
+            publishers.add(publisher);
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        digester.close(); // Sends what's left, after the full digests already handed to the flush thread
+
+        assertTrue(failures.isEmpty(), () -> "Publisher failed: " + failures.peek());
+        assertEquals(threads * updates, user.events());
+    }
+
+    @Test
+    void fullDigestIsSentOnTheFlushThread() throws InterruptedException {
+        Digester.DigestListener listener = digester.digestFor(user);
+
+        for (int i = 0; i < 8; i++) {
+            listener.update(PROMO, "promo " + i);
+        }
+
+        assertTrue(user.received.await(2, TimeUnit.SECONDS), "Full digest was never sent");
+        assertEquals("digester-flush", user.senderThread);
+        assertEquals(0, listener.getBufferedCount());
+    }
+
+    @Test
+    void digestOfOneTypeKeepsItsType() {
+        Digester.DigestListener listener = digester.digestFor(user);
+        listener.update(PROMO, "first");
+        listener.update(PROMO, "second");
+
+        digester.flush();
+
+        assertEquals(PROMO, user.lastType);
+        assertTrue(user.lastMessage.startsWith("2 updates"), user.lastMessage);
+    }
+
+    @Test
+    void digestOfMixedTypesNamesEachEvent() {
+        Digester.DigestListener listener = digester.digestFor(user);
+        listener.update(PROMO, "sale");
+        listener.update(NEWS, "release");
+
+        digester.flush();
+
+        assertEquals("digest", user.lastType.getName());
+        assertTrue(user.lastMessage.contains("[test.digest.news] release"), user.lastMessage);
+    }
+
+    // Records the digests instead of sending them
+    private static class RecordingUser extends ClientUser {
+        private final CountDownLatch received = new CountDownLatch(1);
+        private int events; // Guarded by this
+        private volatile String senderThread;
+        private volatile EventType lastType;
+        private volatile String lastMessage;
+
+        RecordingUser() {
+            super("Digest", "digest@example.com", "555-0100", new EmailNotification());
+        }
+
+        @Override
+        public void update(EventType eventType, String message) {
+            synchronized (this) {
+                events += Integer.parseInt(message.substring(0, message.indexOf(' ')));
+            }
+            senderThread = Thread.currentThread().getName();
+            lastType = eventType;
+            lastMessage = message;
+            received.countDown();
+        }
+
+        synchronized int events() {
+            return events;
+        }
+    }
+}
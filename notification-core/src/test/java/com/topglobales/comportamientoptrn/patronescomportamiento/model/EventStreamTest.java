@@ -0,0 +1,129 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventStreamTest {
+    private static final LogSink DISCARD = text -> { };
+    private static final EventType AUDIT = EventType.of("test.stream.audit");
+
+    private final EventManager manager = new EventManager(null);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch releaseConsumer = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        releaseConsumer.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void subscribersGetTheEventTypeThatWasPublished() throws InterruptedException {
+        EventStream stream = manager.publisher(AUDIT, executor, 16);
+        ConcurrentLinkedQueue<StreamEvent> received = new ConcurrentLinkedQueue<>();
+        CountDownLatch delivered = new CountDownLatch(2);
+        stream.subscribe(EventStream.batchedSubscriber(event -> {
+            received.add(event);
+            delivered.countDown();
+        }, 1, DISCARD));
+
+        manager.notify(AUDIT, "first", Map.of(), DISCARD);
+        manager.notify(AUDIT, "second", Map.of(), DISCARD);
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        for (StreamEvent event : received) {
+            assertSame(AUDIT, event.eventType());
+        }
+        assertEquals("first", received.peek().message());
+    }
+
+    @Test
+    void failingConsumerIsReportedToTheLogSink() throws InterruptedException {
+        EventStream stream = manager.publisher(AUDIT, executor, 16);
+        ConcurrentLinkedQueue<String> log = new ConcurrentLinkedQueue<>();
+        CountDownLatch reported = new CountDownLatch(1);
+        LogSink sink = text -> {
+            log.add(text);
+            reported.countDown();
+        };
+        stream.subscribe(EventStream.batchedSubscriber(event -> {
+            throw new IllegalStateException("audit store down");
+        }, 4, sink));
+
+        manager.notify(AUDIT, "alert", Map.of(), DISCARD);
+
+        assertTrue(reported.await(2, TimeUnit.SECONDS), "Failure was never reported");
+        assertTrue(log.peek().contains("audit store down"), log.peek());
+    }
+
+    @Test
+    void eventReachingAClosedStreamIsIgnored() {
+        EventStream stream = manager.publisher(AUDIT, executor, 16);
+        stream.close();
+
+        stream.update(AUDIT, "late"); // As a notify that took its listener snapshot before the close
+
+        assertEquals(0, stream.getDroppedCount());
+    }
+
+    @Test
+    void closingTheStreamWhileEventsArePublishedDoesntStopTheOtherListeners() throws InterruptedException {
+        EventStream stream = manager.publisher(AUDIT, executor, 16);
+        stream.subscribe(EventStream.batchedSubscriber(event -> { }, 16, DISCARD));
+        AtomicInteger delivered = new AtomicInteger();
+        manager.subscribe(AUDIT, (type, message) -> delivered.incrementAndGet()); // After the stream
+        int events = 20_000;
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch publishing = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < events; i++) {
+                manager.notify(AUDIT, "event " + i, Map.of(), DISCARD);
+                publishing.countDown();
+            }
+        });
+        publisher.setUncaughtExceptionHandler((thread, e) -> failures.add(e));
+        publisher.start();
+
+        assertTrue(publishing.await(2, TimeUnit.SECONDS));
+        stream.close();
+        publisher.join();
+
+        assertTrue(failures.isEmpty(), () -> "Publisher failed: " + failures.peek());
+        assertEquals(events, delivered.get());
+    }
+
+    @Test
+    void fullBufferDropsForTheSlowSubscriberOnly() throws InterruptedException {
+        EventStream stream = manager.publisher(AUDIT, executor, 1);
+        CountDownLatch consuming = new CountDownLatch(1);
+        stream.subscribe(EventStream.batchedSubscriber(event -> {
+            consuming.countDown();
+            try {
+                releaseConsumer.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1, DISCARD));
+        manager.notify(AUDIT, "held", Map.of(), DISCARD);
+        assertTrue(consuming.await(2, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 10; i++) {
+            manager.notify(AUDIT, "burst " + i, Map.of(), DISCARD); // Never waits for the consumer
+        }
+
+        assertTrue(stream.getDroppedCount() >= 9, "dropped " + stream.getDroppedCount());
+    }
+}
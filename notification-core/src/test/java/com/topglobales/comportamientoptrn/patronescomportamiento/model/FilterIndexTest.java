@@ -0,0 +1,82 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilterIndexTest {
+    private final FilterIndex index = new FilterIndex();
+    private final EventListener highOrAbove = (type, message) -> { };
+    private final EventListener mediumOrBelow = (type, message) -> { };
+
+    @Test
+    void rangeFiltersReturnOnlyTheMatchingBounds() {
+        index.add(highOrAbove, SubscriptionFilter.atLeast("severity", Severity.HIGH));
+        index.add(mediumOrBelow, SubscriptionFilter.atMost("severity", Severity.MEDIUM));
+
+        assertEquals(Set.of(highOrAbove), collect("message", Map.of("severity", Severity.CRITICAL)));
+        assertEquals(Set.of(highOrAbove), collect("message", Map.of("severity", Severity.HIGH)));
+        assertEquals(Set.of(mediumOrBelow), collect("message", Map.of("severity", Severity.MEDIUM)));
+        assertEquals(Set.of(), collect("message", Map.of()));
+    }
+
+    @Test
+    void attributeOfAnotherTypeThanTheBoundsMatchesNothing() {
+        index.add(highOrAbove, SubscriptionFilter.atLeast("severity", Severity.HIGH));
+        index.add(mediumOrBelow, SubscriptionFilter.atMost("severity", Severity.MEDIUM));
+
+        assertEquals(Set.of(), collect("message", Map.of("severity", "HIGH")));
+        assertEquals(Set.of(), collect("message", Map.of("severity", 3)));
+    }
+
+    @Test
+    void equalityAndKeywordFiltersCheckTheirOtherConditions() {
+        EventListener euAlerts = (type, message) -> { };
+        EventListener outages = (type, message) -> { };
+        index.add(euAlerts, SubscriptionFilter.equalTo("region", "EU").and(SubscriptionFilter.atLeast("severity", Severity.HIGH)));
+        index.add(outages, SubscriptionFilter.keyword("outage"));
+
+        assertEquals(Set.of(euAlerts), collect("login failed", Map.of("region", "EU", "severity", Severity.CRITICAL)));
+        assertEquals(Set.of(), collect("login failed", Map.of("region", "EU", "severity", Severity.LOW)));
+        assertEquals(Set.of(outages), collect("Partial OUTAGE in US", Map.of("region", "US")));
+    }
+
+    @Test
+    void removeTakesTheOldestFilteredSubscription() {
+        index.add(highOrAbove, SubscriptionFilter.atLeast("severity", Severity.HIGH));
+        index.add(highOrAbove, SubscriptionFilter.atLeast("severity", Severity.LOW));
+
+        assertTrue(index.remove(highOrAbove));
+        assertEquals(Set.of(highOrAbove), collect("message", Map.of("severity", Severity.LOW)));
+        assertTrue(index.remove(highOrAbove));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    void notifyWithAMismatchedAttributeTypeDoesNotThrow() {
+        EventManager manager = new EventManager(null);
+        AtomicInteger delivered = new AtomicInteger();
+        EventType topic = EventType.of("test.filter.mismatch");
+        manager.subscribe(topic, (type, message) -> delivered.incrementAndGet(), SubscriptionFilter.atLeast("severity", Severity.HIGH));
+        LogSink discard = text -> { };
+
+        assertDoesNotThrow(() -> manager.notify(topic, "message", Map.of("severity", "HIGH"), discard));
+        assertEquals(0, delivered.get());
+        manager.notify(topic, "message", Map.of("severity", Severity.HIGH), discard);
+        assertEquals(1, delivered.get());
+    }
+
+    private Set<EventListener> collect(String message, Map<String, ?> attributes) {
+        Set<EventListener> out = new LinkedHashSet<>();
+        index.collect(new PublishedEvent(message, attributes), out);
+        return out;
+    }
+}
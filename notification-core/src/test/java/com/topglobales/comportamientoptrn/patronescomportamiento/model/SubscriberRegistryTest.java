@@ -0,0 +1,193 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubscriberRegistryTest {
+    private static final int CHURN_THREADS = 4;
+    private static final int CHURN_ROUNDS = 20_000;
+    private static final int PUBLISH_THREADS = 2;
+
+    private final SubscriberRegistry registry = new SubscriberRegistry();
+
+    @Test
+    void churnDuringPublishNeverLosesOrDuplicatesSubscribers() throws InterruptedException {
+        EventType topic = EventType.of("test.registry.churn");
+        EventListener stable = (type, message) -> { };
+        registry.add(topic, stable, null);
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean churning = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> churners = new ArrayList<>();
+        for (int t = 0; t < CHURN_THREADS; t++) {
+            churners.add(startThread(failures, () -> {
+                EventListener transient_ = (type, message) -> { };
+                await(start);
+                for (int i = 0; i < CHURN_ROUNDS; i++) {
+                    registry.add(topic, transient_, null);
+                    if (!registry.remove(topic, transient_)) {
+                        failures.add("Subscription vanished before its own unsubscribe");
+                    }
+                }
+            }));
+        }
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < PUBLISH_THREADS; t++) {
+            publishers.add(startThread(failures, () -> {
+                await(start);
+                while (churning.get()) {
+                    EventListener[] recipients = registry.publish(topic, "message", Map.of());
+                    int stableCount = 0;
+                    for (int i = 0; i < recipients.length; i++) {
+                        if (recipients[i] == stable) {
+                            stableCount++;
+                        }
+                        for (int j = i + 1; j < recipients.length; j++) {
+                            if (recipients[i] == recipients[j]) {
+                                failures.add("Listener delivered twice in one publish");
+                            }
+                        }
+                    }
+                    if (stableCount != 1) {
+                        failures.add("Stable subscriber seen " + stableCount + " times");
+                    }
+                    if (recipients.length > 1 + CHURN_THREADS) {
+                        failures.add("Publish saw " + recipients.length + " recipients");
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Thread churner : churners) {
+            churner.join();
+        }
+        churning.set(false);
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " failures, first: " + failures.peek());
+        assertEquals(1, registry.subscriptionCount());
+        assertArrayEquals(new EventListener[]{stable}, registry.publish(topic, "message", Map.of()));
+    }
+
+    @Test
+    void publishedSnapshotIsNotAffectedByLaterSubscriptions() {
+        EventType topic = EventType.of("test.registry.snapshot");
+        EventListener first = (type, message) -> { };
+        EventListener second = (type, message) -> { };
+        registry.add(topic, first, null);
+
+        EventListener[] snapshot = registry.publish(topic, "message", Map.of());
+        registry.add(topic, second, null);
+        registry.remove(topic, first);
+
+        assertArrayEquals(new EventListener[]{first}, snapshot);
+        assertArrayEquals(new EventListener[]{second}, registry.publish(topic, "message", Map.of()));
+    }
+
+    @Test
+    void removeTakesOneSubscriptionAtATime() {
+        EventType topic = EventType.of("test.registry.remove");
+        EventListener listener = (type, message) -> { };
+        registry.add(topic, listener, null);
+        registry.add(topic, listener, null);
+
+        assertTrue(registry.remove(topic, listener));
+        assertEquals(1, registry.publish(topic, "message", Map.of()).length);
+        assertTrue(registry.remove(topic, listener));
+        assertEquals(0, registry.publish(topic, "message", Map.of()).length);
+        assertEquals(0, registry.subscriptionCount());
+    }
+
+    @Test
+    void wildcardSubscriptionInvalidatesEveryCachedTopicItMatches() {
+        EventType login = EventType.of("test.registry.wildcard.login");
+        EventType logout = EventType.of("test.registry.wildcard.logout");
+        EventType other = EventType.of("test.registry.other");
+        EventListener exact = (type, message) -> { };
+        EventListener wildcard = (type, message) -> { };
+        registry.add(login, exact, null);
+        registry.publish(login, "message", Map.of()); // Cached
+        registry.publish(logout, "message", Map.of());
+        registry.publish(other, "message", Map.of());
+
+        registry.add(EventType.of("test.registry.wildcard.*"), wildcard, null);
+
+        assertArrayEquals(new EventListener[]{exact, wildcard}, registry.publish(login, "message", Map.of()));
+        assertArrayEquals(new EventListener[]{wildcard}, registry.publish(logout, "message", Map.of()));
+        assertEquals(0, registry.publish(other, "message", Map.of()).length);
+
+        registry.remove(EventType.of("test.registry.wildcard.*"), wildcard);
+        assertArrayEquals(new EventListener[]{exact}, registry.publish(login, "message", Map.of()));
+        assertEquals(0, registry.publish(logout, "message", Map.of()).length);
+    }
+
+    @Test
+    void listenerMatchedByExactAndWildcardSubscriptionsIsNotifiedOnce() {
+        EventType topic = EventType.of("test.registry.once.login");
+        EventListener listener = (type, message) -> { };
+        registry.add(topic, listener, null);
+        registry.add(EventType.of("test.registry.once.*"), listener, null);
+        registry.add(EventType.of("test.registry.#"), listener, null);
+
+        assertArrayEquals(new EventListener[]{listener}, registry.publish(topic, "message", Map.of()));
+    }
+
+    @Test
+    void wildcardChurnDuringPublishKeepsTheCacheConsistent() throws InterruptedException {
+        EventType topic = EventType.of("test.registry.wildchurn.login");
+        EventType pattern = EventType.of("test.registry.wildchurn.#");
+        EventListener stable = (type, message) -> { };
+        registry.add(topic, stable, null);
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        AtomicBoolean churning = new AtomicBoolean(true);
+
+        Thread publisher = startThread(failures, () -> {
+            while (churning.get()) {
+                List<EventListener> recipients = List.of(registry.publish(topic, "message", Map.of()));
+                if (!recipients.contains(stable) || recipients.size() > 2) {
+                    failures.add(recipients.size() + " recipients");
+                }
+            }
+        });
+        EventListener transient_ = (type, message) -> { };
+        for (int i = 0; i < CHURN_ROUNDS; i++) {
+            registry.add(pattern, transient_, null);
+            registry.remove(pattern, transient_);
+        }
+        churning.set(false);
+        publisher.join();
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " failures, first: " + failures.peek());
+        // No stale fan-out survived the last unsubscribe
+        assertArrayEquals(new EventListener[]{stable}, registry.publish(topic, "message", Map.of()));
+    }
+
+    // A thread whose uncaught exceptions count as failures
+    private static Thread startThread(ConcurrentLinkedQueue<String> failures, Runnable body) {
+        return Thread.ofPlatform()
+                .uncaughtExceptionHandler((thread, e) -> failures.add(e.toString()))
+                .start(body);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
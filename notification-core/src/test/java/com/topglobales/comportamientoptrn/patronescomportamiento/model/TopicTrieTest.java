@@ -0,0 +1,99 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicTrieTest {
+    private final TopicTrie trie = new TopicTrie();
+
+    @Test
+    void singleWildcardMatchesExactlyOneSegment() {
+        EventListener listener = (type, message) -> { };
+        trie.add(segments("security.*"), listener, null);
+
+        assertEquals(Set.of(listener), collect("security.login"));
+        assertEquals(Set.of(), collect("security"));
+        assertEquals(Set.of(), collect("security.login.failed"));
+        assertEquals(Set.of(), collect("billing.login"));
+    }
+
+    @Test
+    void multiWildcardMatchesZeroOrMoreSegments() {
+        EventListener listener = (type, message) -> { };
+        trie.add(segments("security.#"), listener, null);
+
+        assertEquals(Set.of(listener), collect("security"));
+        assertEquals(Set.of(listener), collect("security.login"));
+        assertEquals(Set.of(listener), collect("security.login.failed"));
+        assertEquals(Set.of(), collect("billing"));
+    }
+
+    @Test
+    void exactAndWildcardSubscriptionsAreCollectedTogether() {
+        EventListener exact = (type, message) -> { };
+        EventListener single = (type, message) -> { };
+        EventListener multi = (type, message) -> { };
+        trie.add(segments("security.login.failed"), exact, null);
+        trie.add(segments("security.*.failed"), single, null);
+        trie.add(segments("#"), multi, null);
+
+        assertEquals(Set.of(exact, single, multi), collect("security.login.failed"));
+        assertEquals(Set.of(single, multi), collect("security.mfa.failed"));
+        assertEquals(Set.of(multi), collect("billing"));
+    }
+
+    @Test
+    void removePrunesOnlyTheRemovedSubscription() {
+        EventListener first = (type, message) -> { };
+        EventListener second = (type, message) -> { };
+        trie.add(segments("security.*"), first, null);
+        trie.add(segments("security.login"), second, null);
+
+        assertTrue(trie.remove(segments("security.*"), first));
+        assertFalse(trie.remove(segments("security.*"), first));
+        assertFalse(trie.remove(segments("security.login.failed"), second));
+
+        assertEquals(Set.of(second), collect("security.login"));
+    }
+
+    @Test
+    void collectWalksTheSnapshotTakenBeforeLaterChanges() {
+        EventListener before = (type, message) -> { };
+        trie.add(segments("a.b"), before, null);
+        List<EventListener> firstWalk = new ArrayList<>();
+        trie.collect(segments("a.b"), firstWalk, new ArrayList<>());
+
+        trie.add(segments("a.*"), (type, message) -> { }, null);
+        trie.remove(segments("a.b"), before);
+
+        assertEquals(List.of(before), firstWalk);
+        assertEquals(1, collect("a.b").size());
+    }
+
+    @Test
+    void matchesFollowsTheSameRulesAsCollect() {
+        assertTrue(TopicTrie.matches(segments("a.*.c"), segments("a.b.c")));
+        assertFalse(TopicTrie.matches(segments("a.*.c"), segments("a.c")));
+        assertTrue(TopicTrie.matches(segments("a.#.c"), segments("a.c")));
+        assertTrue(TopicTrie.matches(segments("a.#.c"), segments("a.b.b.c")));
+        assertFalse(TopicTrie.matches(segments("a.#"), segments("b")));
+    }
+
+    private Set<EventListener> collect(String topic) {
+        Set<EventListener> out = new LinkedHashSet<>();
+        trie.collect(segments(topic), out, new ArrayList<>());
+        return out;
+    }
+
+    private static String[] segments(String topic) {
+        return EventType.of(topic).segments();
+    }
+}
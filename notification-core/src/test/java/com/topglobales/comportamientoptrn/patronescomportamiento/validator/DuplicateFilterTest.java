@@ -0,0 +1,126 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateFilterTest {
+    private static final Duration LONG_WINDOW = Duration.ofHours(1); // Never rolls over during a test
+
+    @Test
+    void duplicateWithinTheWindowIsRejected() {
+        DuplicateFilter filter = new DuplicateFilter(LONG_WINDOW, 1024);
+
+        assertTrue(filter.add(0x1234_5678_9ABC_DEF0L));
+        assertFalse(filter.add(0x1234_5678_9ABC_DEF0L));
+        assertTrue(filter.add(0x0FED_CBA9_8765_4321L));
+    }
+
+    @Test
+    void keyIsRememberedForTheWindowAndAcceptedAgainAfterIt() throws InterruptedException {
+        DuplicateFilter filter = new DuplicateFilter(Duration.ofMillis(300), 1024); // Epochs of 100 ms
+        long key = 0x1234_5678_9ABC_DEF0L;
+        assertTrue(filter.add(key));
+
+        Thread.sleep(150); // A later epoch, still within the window
+        assertFalse(filter.add(key));
+
+        Thread.sleep(600); // Past the window and the epoch it was recorded in
+        assertTrue(filter.add(key));
+        assertFalse(filter.add(key));
+    }
+
+    @Test
+    void onlyOneOfConcurrentAddsOfAKeyWins() throws Exception {
+        DuplicateFilter filter = new DuplicateFilter(LONG_WINDOW, 1 << 14);
+        int threads = 4;
+        int keys = 2000;
+        AtomicIntegerArray wins = new AtomicIntegerArray(keys);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> adders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread adder = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int k = 0; k < keys; k++) {
+                    if (filter.add(fingerprint(k))) {
+                        wins.incrementAndGet(k);
+                    }
+                }
+            });
+            adder.setUncaughtExceptionHandler((thread, e) -> failures.add(e));
+            adder.start();
+            adders.add(adder);
+        }
+        for (Thread adder : adders) {
+            adder.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> "Adder failed: " + failures.peek());
+        for (int k = 0; k < keys; k++) {
+            assertEquals(1, wins.get(k), "wins for key " + k);
+        }
+    }
+
+    @Test
+    void keyWhoseProbeRunIsFullGetsThroughButDoesntEvictOthers() {
+        DuplicateFilter filter = new DuplicateFilter(LONG_WINDOW, 16); // One run of 16 slots
+        for (int i = 0; i < 16; i++) {
+            assertTrue(filter.add(sameHome(i)));
+        }
+
+        assertTrue(filter.add(sameHome(16))); // Not remembered...
+        assertTrue(filter.add(sameHome(16))); // ...so it gets through twice
+        for (int i = 0; i < 16; i++) {
+            assertFalse(filter.add(sameHome(i)), "key " + i + " forgotten");
+        }
+    }
+
+    @Test
+    void removedKeyIsAcceptedAgainAndTheRestOfItsRunIsStillFound() {
+        DuplicateFilter filter = new DuplicateFilter(LONG_WINDOW, 16);
+        filter.add(sameHome(0));
+        filter.add(sameHome(1)); // Probed past the first one
+
+        assertTrue(filter.remove(sameHome(0)));
+        assertFalse(filter.remove(sameHome(0)));
+
+        assertFalse(filter.add(sameHome(1))); // Found past the tombstone
+        assertTrue(filter.add(sameHome(0)));
+        assertFalse(filter.add(sameHome(0)));
+    }
+
+    @Test
+    void invalidSizesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateFilter(Duration.ZERO, 16));
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateFilter(LONG_WINDOW, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateFilter(LONG_WINDOW, (1 << 28) + 1));
+        assertEquals(DuplicateFilter.GENERATIONS * 16L * Long.BYTES, new DuplicateFilter(LONG_WINDOW, 3).getFootprintBytes());
+    }
+
+    // Well mixed, as the filter expects
+    private static long fingerprint(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    // Distinct keys that all start probing at the same slot
+    private static long sameHome(int i) {
+        return (7L << 32) | ((long) (i + 1) << 16);
+    }
+}
@@ -0,0 +1,73 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.command.NotificationInvoker;
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.ClientUser;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventManager;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.NotificationStrategy;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateSuppressionValidatorTest {
+    private static final LogSink DISCARD = text -> { };
+    private static final String NEWS = "test.duplicates.news";
+
+    private final DuplicateSuppressionValidator validator = new DuplicateSuppressionValidator(Duration.ofMinutes(5), 1024);
+    private final User recipient = new ClientUser("Test", "test@example.com", "555-0100", (user, message) -> "sent");
+
+    @Test
+    void repeatIsSuppressedOnlyForTheSameRecipientTypeAndMessage() {
+        assertTrue(validate(recipient, NEWS, "release"));
+
+        assertFalse(validate(recipient, NEWS, "release"));
+        assertTrue(validate(recipient, NEWS, "another release"));
+        assertTrue(validate(recipient, "test.duplicates.other", "release"));
+        assertTrue(validate(new ClientUser("Other", "other@example.com", "555-0100", recipient.getPreferredStrategy()), NEWS, "release"));
+    }
+
+    @Test
+    void forgottenNotificationPassesAgain() {
+        assertTrue(validate(recipient, NEWS, "release"));
+
+        assertTrue(validator.forget(recipient, NEWS, "release"));
+
+        assertTrue(validate(recipient, NEWS, "release"));
+        assertFalse(validate(recipient, NEWS, "release"));
+        assertFalse(validator.forget(recipient, NEWS, "never sent"));
+    }
+
+    @Test
+    void failedSendDoesNotSuppressItsRepeat() {
+        AtomicInteger calls = new AtomicInteger();
+        NotificationStrategy failsOnce = (user, message) -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("provider down");
+            }
+            return "sent";
+        };
+        ClientUser user = new ClientUser("Flaky", "flaky@example.com", "555-0100", failsOnce);
+        NotificationInvoker invoker = new NotificationInvoker(DISCARD); // No retry policy: a failure is final
+        invoker.setUndeliveredHandler(send -> validator.forget(send.getRecipient(), send.getEventTypeName(), send.getSourceMessage()));
+        user.setInvoker(invoker);
+        user.setLogTarget(DISCARD);
+        EventManager manager = new EventManager(validator);
+        manager.subscribe(NEWS, user);
+
+        manager.notify(NEWS, "release", DISCARD); // Fails
+        manager.notify(NEWS, "release", DISCARD); // The repeat goes out
+        manager.notify(NEWS, "release", DISCARD); // Now it's a duplicate
+
+        assertEquals(2, calls.get());
+    }
+
+    private boolean validate(User user, String eventType, String message) {
+        return validator.validate(new NotificationContext(eventType, message, DISCARD, user), ValidationScope.RECIPIENT);
+    }
+}
@@ -0,0 +1,119 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfanityMatcherTest {
+    private static final LogSink DISCARD = text -> { };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void overlappingTermsAreFoundWhereTheyEnd() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("he", "she", "hers"), false);
+
+        assertEquals("she", matcher.findFirst("ushers")); // "she" and "he" end on the same char, the longer one first
+        assertEquals("he", matcher.findFirst("ahem"));
+        assertEquals("hers", ProfanityMatcher.compile(List.of("she", "hers"), false).findFirst("shhers")); // Through the failure link "sh" -> "h"
+        assertNull(matcher.findFirst("shh"));
+    }
+
+    @Test
+    void wholeWordMatchingSkipsOverlapsThatArePartOfAWord() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("he", "she", "hers"), true);
+
+        assertEquals("hers", matcher.findFirst("ushers hers")); // "he" ends first in both words, but never alone
+        assertNull(matcher.findFirst("ushers"));
+    }
+
+    @Test
+    void shorterTermInsideALongerOneIsFoundThroughTheOutputLink() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("hers", "er"), false);
+
+        assertEquals("er", matcher.findFirst("hero"));
+    }
+
+    @Test
+    void substringMatchingFindsWordsInsideOtherWords() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("ass"), false);
+
+        assertEquals("ass", matcher.findFirst("a classic mistake"));
+    }
+
+    @Test
+    void wholeWordMatchingIgnoresWordsInsideOtherWords() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("ass"), true);
+
+        assertNull(matcher.findFirst("a classic mistake"));
+        assertNull(matcher.findFirst("assassin"));
+        assertEquals("ass", matcher.findFirst("you ass!"));
+        assertEquals("ass", matcher.findFirst("ass"));
+    }
+
+    @Test
+    void wholeWordMatchingTriesTheShorterTermWhenTheLongerIsPartOfAWord() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("she", "he"), true);
+
+        assertNull(matcher.findFirst("shell"));
+        assertEquals("he", matcher.findFirst("s-he"));
+    }
+
+    @Test
+    void leetspeakAndCaseVariantsMatch() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("ass", "fernely"), true);
+
+        assertEquals("ass", matcher.findFirst("what an @$$"));
+        assertEquals("fernely", matcher.findFirst("F3RN3LY again"));
+        assertEquals("fernely", matcher.findFirst("FeRnElY"));
+        assertNull(matcher.findFirst("h3ll0 @$$et")); // "@$$et" is one word
+    }
+
+    @Test
+    void blankAndDuplicateEntriesAreIgnored() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("word", " ", "WORD", ""), false);
+
+        assertEquals(2, matcher.size()); // "WORD" is kept as an entry but never reported
+        assertEquals("word", matcher.findFirst("a WoRd"));
+        assertFalse(ProfanityMatcher.compile(List.of(), false).matches("anything"));
+    }
+
+    @Test
+    void reloadSwapsInTheNewDictionary() throws IOException {
+        ProfanityFilterValidator validator = new ProfanityFilterValidator(ProfanityMatcher.compile(List.of("old"), false), false);
+        Path dictionary = Files.writeString(dir.resolve("words.txt"), "# comment\n\nnew\n");
+
+        validator.reloadDictionary(dictionary);
+
+        assertTrue(validate(validator, "old stuff"));
+        assertFalse(validate(validator, "brand new"));
+    }
+
+    @Test
+    void failedReloadKeepsTheCurrentDictionary() throws IOException {
+        ProfanityFilterValidator validator = new ProfanityFilterValidator(ProfanityMatcher.compile(List.of("old"), false), false);
+        Path notUtf8 = Files.write(dir.resolve("latin1.txt"), new byte[] {'n', 'e', (byte) 0xE9, '\n'});
+
+        assertThrows(IOException.class, () -> validator.reloadDictionary(dir.resolve("missing.txt")));
+        assertThrows(IOException.class, () -> validator.reloadDictionary(notUtf8));
+
+        assertFalse(validate(validator, "old stuff"));
+        assertTrue(validate(validator, "brand new"));
+    }
+
+    private static boolean validate(ProfanityFilterValidator validator, String message) {
+        return validator.validate(new NotificationContext("test", message, DISCARD, null), ValidationScope.EVENT);
+    }
+}
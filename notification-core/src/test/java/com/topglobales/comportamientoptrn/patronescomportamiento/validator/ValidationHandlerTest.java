@@ -0,0 +1,127 @@
+package com.topglobales.comportamientoptrn.patronescomportamiento.validator;
+
+import com.topglobales.comportamientoptrn.patronescomportamiento.log.LogSink;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventListener;
+import com.topglobales.comportamientoptrn.patronescomportamiento.model.EventManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidationHandlerTest {
+    private static final LogSink DISCARD = text -> { };
+
+    @Test
+    void eachHandlerOfAChainRunsOnlyInItsOwnStage() {
+        CountingValidator eventCheck = new CountingValidator(ValidationScope.EVENT, true);
+        CountingValidator recipientCheck = new CountingValidator(ValidationScope.RECIPIENT, true);
+        eventCheck.setNext(recipientCheck);
+        NotificationContext context = new NotificationContext("test", "message", DISCARD, null);
+
+        assertTrue(eventCheck.validate(context, ValidationScope.EVENT));
+        assertEquals(1, eventCheck.calls.get());
+        assertEquals(0, recipientCheck.calls.get());
+
+        assertTrue(eventCheck.validate(context, ValidationScope.RECIPIENT));
+        assertEquals(1, eventCheck.calls.get());
+        assertEquals(1, recipientCheck.calls.get());
+    }
+
+    @Test
+    void handlerOfAnotherStageStillPassesTheRequestAlong() {
+        CountingValidator recipientCheck = new CountingValidator(ValidationScope.RECIPIENT, true);
+        CountingValidator rejectingEventCheck = new CountingValidator(ValidationScope.EVENT, false);
+        recipientCheck.setNext(rejectingEventCheck);
+
+        assertFalse(recipientCheck.validate(new NotificationContext("test", "message", DISCARD, null), ValidationScope.EVENT));
+        assertEquals(0, recipientCheck.calls.get());
+        assertEquals(1, rejectingEventCheck.calls.get());
+    }
+
+    @Test
+    void directImplementorRunsInTheStageOfItsScope() {
+        LegacyValidator legacy = new LegacyValidator();
+        NotificationContext context = new NotificationContext("test", "message", DISCARD, null);
+
+        assertTrue(legacy.validate(context, ValidationScope.EVENT));
+        assertEquals(0, legacy.calls.get());
+        assertTrue(legacy.validate(context, ValidationScope.RECIPIENT));
+        assertEquals(1, legacy.calls.get());
+    }
+
+    @Test
+    void eventScopedValidatorRunsOncePerNotifyWhateverTheRecipientCount() {
+        CountingValidator eventCheck = new CountingValidator(ValidationScope.EVENT, true);
+        CountingValidator recipientCheck = new CountingValidator(ValidationScope.RECIPIENT, true);
+        eventCheck.setNext(recipientCheck);
+        EventManager manager = new EventManager(eventCheck);
+        AtomicInteger delivered = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            EventListener listener = (type, message) -> delivered.incrementAndGet();
+            manager.subscribe("test.validation.scope", listener);
+        }
+
+        manager.notify("test.validation.scope", "message", DISCARD);
+
+        assertEquals(1, eventCheck.calls.get());
+        assertEquals(3, recipientCheck.calls.get());
+        assertEquals(3, delivered.get());
+    }
+
+    @Test
+    void eventLevelRejectionSkipsEveryRecipient() {
+        CountingValidator recipientCheck = new CountingValidator(ValidationScope.RECIPIENT, true);
+        MessageNotEmptyValidator notEmpty = new MessageNotEmptyValidator();
+        notEmpty.setNext(recipientCheck);
+        EventManager manager = new EventManager(notEmpty);
+        AtomicInteger delivered = new AtomicInteger();
+        manager.subscribe("test.validation.reject", (type, message) -> delivered.incrementAndGet());
+        manager.subscribe("test.validation.reject", (type, message) -> delivered.incrementAndGet());
+
+        manager.notify("test.validation.reject", " ", DISCARD);
+
+        assertEquals(0, recipientCheck.calls.get());
+        assertEquals(0, delivered.get());
+    }
+
+    private static final class CountingValidator extends AbstractValidationHandler {
+        final AtomicInteger calls = new AtomicInteger();
+        private final ValidationScope scope;
+        private final boolean accept;
+
+        CountingValidator(ValidationScope scope, boolean accept) {
+            this.scope = scope;
+            this.accept = accept;
+        }
+
+        @Override
+        protected boolean performValidation(NotificationContext context) {
+            calls.incrementAndGet();
+            return accept;
+        }
+
+        @Override
+        public ValidationScope getScope() {
+            return scope;
+        }
+    }
+
+    // Implements the interface directly, as handlers written before validation scopes did
+    private static final class LegacyValidator implements ValidationHandler {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public ValidationHandler setNext(ValidationHandler next) {
+            return next;
+        }
+
+        @Override
+        public boolean validate(NotificationContext context) {
+            calls.incrementAndGet();
+            return true;
+        }
+    }
+}